@@ -0,0 +1,148 @@
+package org.rudtyz.generate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * {@link InvokerBackend} generation cost vs steady state call
+ * <pre>
+ * {@code
+ *  gradle jmh -PjmhArgs="BackendBenchmark"
+ *
+ *  // generation only
+ *  gradle jmh -PjmhArgs="BackendBenchmark.spin"
+ * }
+ * </pre>
+ * <ul>
+ * <li>spin: generateFactory + first create, cache disabled, fresh class loader per iteration</li>
+ * <li>create: per receiver create of an existing factory</li>
+ * <li>call_i, call_ii: call through the created instance</li>
+ * </ul>
+ */
+public class BackendBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Spin {
+        @Param({"asm", "lambdaMetafactory", "methodHandle"})
+        public String backend;
+
+        private final BenchmarkTarget target = new BenchmarkTarget();
+        private Method myInt;
+
+        @Setup(Level.Trial)
+        public void setupTrial() throws NoSuchMethodException {
+            myInt = BenchmarkTarget.class.getMethod("myInt");
+            DynamicMethodFactory.setInvokerBackend(backendOf(backend));
+            DynamicMethodFactory.getGeneratedClassCache().setEnabled(false);
+        }
+
+        /**
+         * earlier generated classes can be unloaded
+         */
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+            DynamicMethodFactory.getGeneratedClassCache().setEnabled(true);
+            DynamicMethodFactory.setInvokerBackend(InvokerBackend.asm());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Call {
+        @Param({"asm", "lambdaMetafactory", "methodHandle"})
+        public String backend;
+
+        private final BenchmarkTarget target = new BenchmarkTarget();
+        private final int arg = 3;
+        private InvokerFactory<BenchmarkTarget, IntSupplier> factoryI;
+        private IntSupplier i;
+        private IntUnaryOperator ii;
+
+        @Setup(Level.Trial)
+        public void setup() throws NoSuchMethodException {
+            final InvokerBackend b = backendOf(backend);
+            factoryI = factory(b, BenchmarkTarget.class.getMethod("myInt"), IntSupplier.class);
+            i = factoryI.create(target);
+            ii = factory(b, BenchmarkTarget.class.getMethod("plus", int.class), IntUnaryOperator.class).create(target);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> InvokerFactory<BenchmarkTarget, T> factory(
+                final InvokerBackend backend,
+                final Method callMethod,
+                final Class<T> interfaceClass) {
+            return (InvokerFactory<BenchmarkTarget, T>) backend.factory(
+                    BindingSpec.of(BenchmarkTarget.class, callMethod, interfaceClass));
+        }
+    }
+
+    private static InvokerBackend backendOf(final String name) {
+        return switch (name) {
+            case "asm" -> InvokerBackend.asm();
+            case "lambdaMetafactory" -> InvokerBackend.lambdaMetafactory();
+            case "methodHandle" -> InvokerBackend.methodHandle();
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public IntSupplier spin(final Spin s) {
+        return DynamicMethodFactory.generateFactory(BenchmarkTarget.class, s.myInt, IntSupplier.class).create(s.target);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public IntSupplier create(final Call c) {
+        return c.factoryI.create(c.target);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public int call_i(final Call c) {
+        return c.i.getAsInt();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public int call_ii(final Call c) {
+        return c.ii.applyAsInt(c.arg);
+    }
+}
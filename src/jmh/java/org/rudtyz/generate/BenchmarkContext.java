@@ -0,0 +1,14 @@
+package org.rudtyz.generate;
+
+public class BenchmarkContext {
+    private int value = 1;
+    private int other = 2;
+
+    public int getValue() {
+        return value;
+    }
+
+    public int getOther() {
+        return other;
+    }
+}
@@ -0,0 +1,42 @@
+package org.rudtyz.generate;
+
+public class BenchmarkTarget {
+    private int value = 42;
+    private final String text = "42";
+
+    public int myInt() {
+        return value;
+    }
+
+    public int myInt1() {
+        return value + 1;
+    }
+
+    public int myInt2() {
+        return value + 2;
+    }
+
+    public int myInt3() {
+        return value + 3;
+    }
+
+    public static int staticMyInt() {
+        return 45;
+    }
+
+    public String myString() {
+        return text;
+    }
+
+    public int plus(int a) {
+        return value + a;
+    }
+
+    public int valueOf(BenchmarkContext context) {
+        return context.getValue() + value;
+    }
+
+    public int context(BenchmarkContext context, int other) {
+        return context.getValue() + other;
+    }
+}
@@ -0,0 +1,85 @@
+package org.rudtyz.generate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * outer loop over a shared interface call site vs {@link IntBulkInvoker} loop inside the generated class
+ * <pre>
+ * {@code
+ *  gradle jmh -PjmhArgs="BulkBenchmark"
+ * }
+ * </pre>
+ * the outer loop call site is made megamorphic by 3 other generated classes during setup
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkBenchmark {
+    private static final int SIZE = 1024;
+
+    private final BenchmarkTarget target = new BenchmarkTarget();
+    private final BenchmarkContext[] contexts = new BenchmarkContext[SIZE];
+    private final int[] results = new int[SIZE];
+    private ToIntFunction<BenchmarkContext> single;
+    private IntBulkInvoker<BenchmarkContext> bulk;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws ReflectiveOperationException {
+        Arrays.setAll(contexts, i -> new BenchmarkContext());
+        final Method valueOf = BenchmarkTarget.class.getMethod("valueOf", BenchmarkContext.class);
+        bulk = (IntBulkInvoker<BenchmarkContext>) DynamicMethodFactory.<BenchmarkContext>generateBulkClass(BenchmarkTarget.class, valueOf, ToIntFunction.class)
+                .getConstructor(BenchmarkTarget.class)
+                .newInstance(target);
+
+        // pollute the profile of the outer loop call site
+        for (final String name : new String[] {"myInt", "myInt1", "myInt2"}) {
+            final ToIntFunction<BenchmarkContext> other = DynamicMethodFactory.generateClass(
+                            BenchmarkTarget.class,
+                            BenchmarkTarget.class.getMethod(name),
+                            ToIntFunction.class)
+                    .getConstructor(BenchmarkTarget.class)
+                    .newInstance(target);
+            outerLoop(other);
+        }
+        single = (ToIntFunction<BenchmarkContext>) bulk;
+    }
+
+    private int outerLoop(final ToIntFunction<BenchmarkContext> f) {
+        for (int i = 0; i < SIZE; ++i) {
+            results[i] = f.applyAsInt(contexts[i]);
+        }
+        return results[SIZE - 1];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int outer_loop() {
+        return outerLoop(single);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int bulk() {
+        bulk.applyAllAsInt(contexts, 0, SIZE, results);
+        return results[SIZE - 1];
+    }
+}
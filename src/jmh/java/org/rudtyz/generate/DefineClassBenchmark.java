@@ -0,0 +1,127 @@
+package org.rudtyz.generate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * defineClass throughput under contention, class bytes are generated before the measurement
+ * <pre>
+ * {@code
+ *  // define throughput per thread count
+ *  gradle jmhClasses
+ *  java -cp [jmh runtime classpath] org.rudtyz.generate.DefineClassBenchmark
+ *
+ *  // single thread count
+ *  gradle jmh -PjmhArgs="DefineClassBenchmark -t 16"
+ * }
+ * </pre>
+ * <ul>
+ * <li>single = one parallel capable DynamicClassLoader, sharded = {@link ClassDefiner#sharded(int)},
+ * hidden = {@link ClassDefiner#hidden()}</li>
+ * <li>a class name is defined once, each thread defines {@link #BATCH} classes of unique names per iteration</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = DefineClassBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = DefineClassBenchmark.BATCH)
+@Fork(1)
+public class DefineClassBenchmark {
+    static final int BATCH = 2000;
+
+    private static final AtomicInteger poolNumber = new AtomicInteger();
+
+    @Param({"single", "sharded", "hidden"})
+    public String definer;
+
+    private ClassDefiner classDefiner;
+
+    /**
+     * fresh class loaders per iteration so earlier classes can be unloaded
+     */
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        classDefiner = switch (definer) {
+            case "sharded" -> ClassDefiner.sharded(Runtime.getRuntime().availableProcessors());
+            case "hidden" -> ClassDefiner.hidden();
+            default -> new DynamicMethodFactory.DynamicClassLoader();
+        };
+    }
+
+    /**
+     * class bytes of one thread for one iteration
+     */
+    @State(Scope.Thread)
+    public static class ClassPool {
+        final String[] names = new String[BATCH];
+        final byte[][] classData = new byte[BATCH][];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void generate() throws NoSuchMethodException {
+            final BindingKey key = new BindingKey(
+                    BenchmarkTarget.class,
+                    BenchmarkTarget.class.getMethod("myInt"),
+                    IntSupplier.class,
+                    null,
+                    null,
+                    null,
+                    DynamicMethodFactory.javaVersion,
+                    null);
+            final String prefix = BenchmarkTarget.class.getName() + "_define_" + poolNumber.incrementAndGet() + "_";
+            for (int i = 0; i < BATCH; ++i) {
+                final DynamicMethodFactory.GenerateResult r = DynamicMethodFactory.generate(key, prefix + i);
+                names[i] = r.className();
+                classData[i] = r.classData();
+            }
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public Class<?> defineClass(final ClassPool pool) {
+        final int i = pool.next++;
+        return classDefiner.defineClass(BenchmarkTarget.class, pool.names[i], pool.classData[i]);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final int[] threadCounts = {1, 2, 4, 8, 16, 32};
+        final StringBuilder table = new StringBuilder("threads\tdefiner\tdefines/ms\n");
+        for (final int threads : threadCounts) {
+            final Options options = new OptionsBuilder()
+                    .include(DefineClassBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            for (final RunResult r : new Runner(options).run()) {
+                table.append(threads)
+                        .append('\t')
+                        .append(r.getParams().getParam("definer"))
+                        .append('\t')
+                        // score = ms per batch of one thread, all threads define concurrently
+                        .append(String.format("%.1f", (double) BATCH * threads / r.getPrimaryResult().getScore()))
+                        .append('\n');
+            }
+        }
+        System.out.print(table);
+    }
+}
@@ -0,0 +1,278 @@
+package org.rudtyz.generate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * generated class vs Method.invoke vs MethodHandle.invokeExact vs LambdaMetafactory
+ * <pre>
+ * {@code
+ *  // ns/op and allocation rate
+ *  gradle jmh -PjmhArgs="InvokeBenchmark -prof gc"
+ * }
+ * </pre>
+ * <ul>
+ * <li>i: 0-arg instance int</li>
+ * <li>staticI: 0-arg static int</li>
+ * <li>s: 0-arg instance Object</li>
+ * <li>ii: 1-arg instance int</li>
+ * <li>context: context class + ParameterDispatcher</li>
+ * <li>mega: one call site over 4 receiver classes</li>
+ * </ul>
+ * method handles are kept in instance fields, not static final constants, as a binding framework would
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokeBenchmark {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final BenchmarkTarget target = new BenchmarkTarget();
+    private final BenchmarkContext context = new BenchmarkContext();
+    private int arg = 3;
+
+    private IntSupplier generatedI;
+    private IntSupplier generatedStaticI;
+    private Supplier<String> generatedS;
+    private IntUnaryOperator generatedII;
+    private ToIntFunction<BenchmarkContext> generatedContext;
+    private IntSupplier[] generatedMega;
+
+    private Method reflectionI;
+    private Method reflectionStaticI;
+    private Method reflectionS;
+    private Method reflectionII;
+    private Method reflectionContext;
+    private Method reflectionOther;
+
+    private MethodHandle handleI;
+    private MethodHandle handleStaticI;
+    private MethodHandle handleS;
+    private MethodHandle handleII;
+    private MethodHandle handleContext;
+    private MethodHandle handleOther;
+
+    private IntSupplier lambdaI;
+    private IntSupplier lambdaStaticI;
+    private Supplier<String> lambdaS;
+    private IntUnaryOperator lambdaII;
+    private ToIntFunction<BenchmarkContext> lambdaContext;
+    private IntSupplier[] lambdaMega;
+
+    @Setup
+    public void setup() throws Throwable {
+        reflectionI = BenchmarkTarget.class.getMethod("myInt");
+        reflectionStaticI = BenchmarkTarget.class.getMethod("staticMyInt");
+        reflectionS = BenchmarkTarget.class.getMethod("myString");
+        reflectionII = BenchmarkTarget.class.getMethod("plus", int.class);
+        reflectionContext = BenchmarkTarget.class.getMethod("context", BenchmarkContext.class, int.class);
+        reflectionOther = BenchmarkContext.class.getMethod("getOther");
+
+        generatedI = generate(reflectionI, IntSupplier.class);
+        generatedStaticI = generate(reflectionStaticI, IntSupplier.class);
+        generatedS = generate(reflectionS, Supplier.class);
+        generatedII = generate(reflectionII, IntUnaryOperator.class);
+        generatedContext = newInstance(DynamicMethodFactory.generateClass(
+                BenchmarkTarget.class,
+                reflectionContext,
+                ToIntFunction.class,
+                BenchmarkContext.class,
+                null,
+                (contextClass, callMethod, parameter, parameterIndex) -> reflectionOther));
+        generatedMega = new IntSupplier[] {
+                generate(reflectionI, IntSupplier.class),
+                generate(BenchmarkTarget.class.getMethod("myInt1"), IntSupplier.class),
+                generate(BenchmarkTarget.class.getMethod("myInt2"), IntSupplier.class),
+                generate(BenchmarkTarget.class.getMethod("myInt3"), IntSupplier.class)};
+
+        handleI = LOOKUP.unreflect(reflectionI);
+        handleStaticI = LOOKUP.unreflect(reflectionStaticI);
+        handleS = LOOKUP.unreflect(reflectionS);
+        handleII = LOOKUP.unreflect(reflectionII);
+        handleContext = LOOKUP.unreflect(reflectionContext);
+        handleOther = LOOKUP.unreflect(reflectionOther);
+
+        lambdaI = lambda(IntSupplier.class, "getAsInt", MethodType.methodType(int.class), handleI);
+        lambdaStaticI = lambda(IntSupplier.class, "getAsInt", MethodType.methodType(int.class), handleStaticI);
+        lambdaS = lambda(Supplier.class, "get", MethodType.methodType(Object.class), handleS);
+        lambdaII = lambda(IntUnaryOperator.class, "applyAsInt", MethodType.methodType(int.class, int.class), handleII);
+        final BenchmarkTarget t = target;
+        lambdaContext = c -> t.context(c, c.getOther());
+        lambdaMega = new IntSupplier[] {
+                t::myInt,
+                t::myInt1,
+                t::myInt2,
+                t::myInt3};
+    }
+
+    private <T> T generate(final Method callMethod, final Class<?> interfaceClass) {
+        return newInstance(DynamicMethodFactory.generateClass(BenchmarkTarget.class, callMethod, interfaceClass));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T newInstance(final Class<?> generateClass) {
+        try {
+            return (T) generateClass.getConstructor(BenchmarkTarget.class).newInstance(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lambda(
+            final Class<?> interfaceClass,
+            final String name,
+            final MethodType samType,
+            final MethodHandle handle) throws Throwable {
+        final boolean bound = handle.type().parameterCount() > samType.parameterCount();
+        final MethodType factoryType = bound
+                ? MethodType.methodType(interfaceClass, BenchmarkTarget.class)
+                : MethodType.methodType(interfaceClass);
+        final MethodType instantiatedType = bound ? handle.type().dropParameterTypes(0, 1) : handle.type();
+        final MethodHandle factory = LambdaMetafactory.metafactory(
+                LOOKUP, name, factoryType, samType, handle, instantiatedType).getTarget();
+        return (T) (bound ? factory.invoke(target) : factory.invoke());
+    }
+
+    @Benchmark
+    public int generated_i() {
+        return generatedI.getAsInt();
+    }
+
+    @Benchmark
+    public int reflection_i() throws Exception {
+        return (int) reflectionI.invoke(target);
+    }
+
+    @Benchmark
+    public int handle_i() throws Throwable {
+        return (int) handleI.invokeExact(target);
+    }
+
+    @Benchmark
+    public int lambda_i() {
+        return lambdaI.getAsInt();
+    }
+
+    @Benchmark
+    public int generated_staticI() {
+        return generatedStaticI.getAsInt();
+    }
+
+    @Benchmark
+    public int reflection_staticI() throws Exception {
+        return (int) reflectionStaticI.invoke(null);
+    }
+
+    @Benchmark
+    public int handle_staticI() throws Throwable {
+        return (int) handleStaticI.invokeExact();
+    }
+
+    @Benchmark
+    public int lambda_staticI() {
+        return lambdaStaticI.getAsInt();
+    }
+
+    @Benchmark
+    public String generated_s() {
+        return generatedS.get();
+    }
+
+    @Benchmark
+    public Object reflection_s() throws Exception {
+        return reflectionS.invoke(target);
+    }
+
+    @Benchmark
+    public String handle_s() throws Throwable {
+        return (String) handleS.invokeExact(target);
+    }
+
+    @Benchmark
+    public String lambda_s() {
+        return lambdaS.get();
+    }
+
+    @Benchmark
+    public int generated_ii() {
+        return generatedII.applyAsInt(arg);
+    }
+
+    @Benchmark
+    public int reflection_ii() throws Exception {
+        return (int) reflectionII.invoke(target, arg);
+    }
+
+    @Benchmark
+    public int handle_ii() throws Throwable {
+        return (int) handleII.invokeExact(target, arg);
+    }
+
+    @Benchmark
+    public int lambda_ii() {
+        return lambdaII.applyAsInt(arg);
+    }
+
+    @Benchmark
+    public int generated_context() {
+        return generatedContext.applyAsInt(context);
+    }
+
+    @Benchmark
+    public int reflection_context() throws Exception {
+        return (int) reflectionContext.invoke(target, context, reflectionOther.invoke(context));
+    }
+
+    @Benchmark
+    public int handle_context() throws Throwable {
+        return (int) handleContext.invokeExact(target, context, (int) handleOther.invokeExact(context));
+    }
+
+    @Benchmark
+    public int lambda_context() {
+        return lambdaContext.applyAsInt(context);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public int generated_mega() {
+        int sum = 0;
+        for (final IntSupplier s : generatedMega) {
+            sum += s.getAsInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public int lambda_mega() {
+        int sum = 0;
+        for (final IntSupplier s : lambdaMega) {
+            sum += s.getAsInt();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,121 @@
+package org.rudtyz.generate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * build time generation of {@link DynamicBinding} methods
+ * <pre>
+ * {@code
+ *  // classpath: scanned classes + runtime classpath
+ *  java org.rudtyz.generate.AheadOfTimeGenerator [outputDirectory] [classesDirectory...]
+ * }
+ * </pre>
+ * generated classes have {@link StableClassNames stable names},
+ * {@link DynamicMethodFactory#generateClass} loads them from the callObjectClass loader instead of generating
+ */
+public final class AheadOfTimeGenerator {
+    private AheadOfTimeGenerator() {
+        throw new AssertionError("static class");
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("usage: AheadOfTimeGenerator [outputDirectory] [classesDirectory...]");
+        }
+
+        final Path outputDirectory = Paths.get(args[0]);
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        int count = 0;
+        for (int i = 1; i < args.length; ++i) {
+            for (final String className : scanClassNames(Paths.get(args[i]))) {
+                final Class<?> c;
+                try {
+                    c = Class.forName(className, false, loader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    System.err.println("AheadOfTimeGenerator skip " + className + ": " + e);
+                    continue;
+                }
+
+                for (final DynamicMethodFactory.GenerateResult result : generate(c)) {
+                    write(outputDirectory, result);
+                    ++count;
+                }
+            }
+        }
+        System.out.println("AheadOfTimeGenerator generated " + count + " classes into " + outputDirectory);
+    }
+
+    /**
+     * @param callObjectClass class with {@link DynamicBinding} methods
+     * @return generated classes with stable names
+     */
+    public static List<DynamicMethodFactory.GenerateResult> generate(final Class<?> callObjectClass) {
+        final List<DynamicMethodFactory.GenerateResult> results = new ArrayList<>();
+        for (final Method m : callObjectClass.getDeclaredMethods()) {
+            final DynamicBinding binding = m.getAnnotation(DynamicBinding.class);
+            if (binding == null) {
+                continue;
+            }
+
+            final BindingKey key = new BindingKey(
+                    callObjectClass,
+                    m,
+                    binding.interfaceClass(),
+                    binding.contextClass() == void.class ? null : binding.contextClass(),
+                    binding.contextToCallObject() == ContextToCallObject.class
+                            ? null
+                            : newInstance(binding.contextToCallObject()),
+                    binding.parameterDispatcher() == ParameterDispatcher.class
+                            ? null
+                            : newInstance(binding.parameterDispatcher()),
+                    DynamicMethodFactory.javaVersion,
+                    null);
+            if (!StableClassNames.isStable(key)) {
+                throw new IllegalArgumentException(m + " contextToCallObject or parameterDispatcher has no stableId");
+            }
+            results.add(DynamicMethodFactory.generate(key, StableClassNames.of(key)));
+        }
+        return results;
+    }
+
+    private static <T> T newInstance(final Class<T> c) {
+        try {
+            return c.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(c + " must have public no argument constructor", e);
+        }
+    }
+
+    private static List<String> scanClassNames(final Path classesDirectory) throws IOException {
+        if (!Files.isDirectory(classesDirectory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.walk(classesDirectory)) {
+            return files.filter(p -> p.toString().endsWith(".class"))
+                    .map(p -> classesDirectory.relativize(p).toString())
+                    .map(p -> p.substring(0, p.length() - ".class".length()))
+                    .filter(p -> !p.endsWith("module-info") && !p.endsWith("package-info"))
+                    .map(p -> p.replace('\\', '/').replace('/', '.'))
+                    .toList();
+        }
+    }
+
+    static void write(final Path outputDirectory, final DynamicMethodFactory.GenerateResult result) {
+        final Path file = outputDirectory.resolve(result.className().replace('.', '/') + ".class");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, result.classData());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.rudtyz.generate;
+
+/**
+ * {@link InvokerBackend#asm()}
+ */
+final class AsmInvokerBackend implements InvokerBackend {
+    static final AsmInvokerBackend INSTANCE = new AsmInvokerBackend();
+
+    private AsmInvokerBackend() {
+    }
+
+    @Override
+    public InvokerFactory<?, ?> factory(final BindingSpec spec) {
+        return DynamicMethodFactory.generateAsmFactory(spec);
+    }
+
+    @Override
+    public String toString() {
+        return "asm";
+    }
+}
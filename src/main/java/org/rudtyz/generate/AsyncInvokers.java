@@ -0,0 +1,259 @@
+package org.rudtyz.generate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * runtime of async bindings, called by generated classes
+ * <pre>
+ * {@code
+ *  // async interface over a blocking call method
+ *  interface UserClient {                      class UserRepository {
+ *      CompletableFuture<User> find(long id);  ->    public User find(long id)
+ *  }                                           }
+ *
+ *  // sync interface over an async call method
+ *  interface UserClient {                      class UserRepository {
+ *      User find(long id);                     ->    public CompletionStage<User> find(long id)
+ *  }                                           }
+ * }
+ * </pre>
+ * the async direction runs the call on {@link #getExecutor()} as a {@link Task}, one future per call
+ * that runs its call once, the sync direction waits up to {@link #getTimeout()}
+ */
+public final class AsyncInvokers {
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+
+    private static volatile Executor executor = Executors.newCachedThreadPool(AsyncInvokers::newThread);
+
+    private static volatile Duration timeout;
+
+    private AsyncInvokers() {
+        throw new AssertionError("static class");
+    }
+
+    /**
+     * @return executor of async bindings, read on every call
+     */
+    public static Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  // java 21+
+     *  AsyncInvokers.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+     * }
+     * </pre>
+     * @param executor async binding executor, default cached pool of daemon platform threads
+     */
+    public static void setExecutor(final Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor is null");
+        }
+        AsyncInvokers.executor = executor;
+    }
+
+    private static Thread newThread(final Runnable task) {
+        final Thread thread = new Thread(task, "async-invoker-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * @return nullable, null = sync bindings wait without timeout
+     */
+    public static Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @param timeout nullable, sync binding wait limit, {@link CompletionException} of {@link TimeoutException} after
+     */
+    public static void setTimeout(final Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("timeout must be positive: " + timeout);
+        }
+        AsyncInvokers.timeout = timeout;
+    }
+
+    /**
+     * defines the task class of an async binding next to the generated class, called by its static initializer
+     * <pre>
+     * {@code
+     *  private static final MethodHandle TASK = AsyncInvokers.defineTask(MethodHandles.lookup(), "[task class bytes]");
+     * }
+     * </pre>
+     * <ul>
+     * <li>generated class: normal task class in the same class loader and package, created by name</li>
+     * <li>hidden generated class: hidden nestmate task class, a hidden class is not found by name,
+     * created by the returned constructor</li>
+     * </ul>
+     * @param caller lookup of the generated class
+     * @param taskClassData task class bytes, one char per byte
+     * @return null = the generated class creates tasks by name, task constructor of a hidden generated class
+     */
+    public static MethodHandle defineTask(final MethodHandles.Lookup caller, final String taskClassData) {
+        final byte[] classData = taskClassData.getBytes(StandardCharsets.ISO_8859_1);
+        try {
+            if (!caller.lookupClass().isHidden()) {
+                caller.defineClass(classData);
+                return null;
+            }
+
+            final MethodHandles.Lookup task = caller.defineHiddenClass(classData,
+                    true,
+                    MethodHandles.Lookup.ClassOption.NESTMATE);
+            final MethodHandle constructor = task.unreflectConstructor(task.lookupClass().getDeclaredConstructors()[0]);
+            return constructor.asType(constructor.type().changeReturnType(Task.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("async task define fail: " + caller.lookupClass(), e);
+        }
+    }
+
+    /**
+     * sync binding over a CompletionStage call method
+     * @param stage call method result
+     * @return result
+     */
+    public static Object await(final CompletionStage<?> stage) {
+        if (stage == null) {
+            return null;
+        }
+        return await((Future<?>) stage.toCompletableFuture());
+    }
+
+    /**
+     * sync binding over a Future call method,
+     * unchecked failure is thrown as is, checked failure, interrupt and timeout as {@link CompletionException}
+     * @param future call method result
+     * @return result
+     */
+    public static Object await(final Future<?> future) {
+        if (future == null) {
+            return null;
+        }
+
+        final Duration t = timeout;
+        try {
+            if (t == null) {
+                return future.get();
+            }
+            return future.get(t.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException r) {
+                throw r;
+            }
+            if (cause instanceof Error r) {
+                throw r;
+            }
+            throw new CompletionException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (TimeoutException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * @param returnType interface method return type
+     * @return true = the generated method returns its own {@link CompletableFuture}
+     */
+    static boolean isFutureType(final Class<?> returnType) {
+        return returnType == CompletableFuture.class
+                || returnType == CompletionStage.class
+                || returnType == Future.class;
+    }
+
+    /**
+     * @param implementReturnType interface method return type
+     * @param callReturnType call method return type
+     * @return true = generated method returns a future and calls callMethod on the executor
+     */
+    static boolean isAsync(final Class<?> implementReturnType, final Class<?> callReturnType) {
+        return isFutureType(implementReturnType) && !isAsyncType(callReturnType);
+    }
+
+    /**
+     * @param implementReturnType interface method return type
+     * @param callReturnType call method return type
+     * @return true = generated method waits for the future callMethod returns, void methods do not wait
+     */
+    static boolean isAwait(final Class<?> implementReturnType, final Class<?> callReturnType) {
+        return implementReturnType != void.class
+                && !implementReturnType.isAssignableFrom(callReturnType)
+                && isAsyncType(callReturnType);
+    }
+
+    private static boolean isAsyncType(final Class<?> c) {
+        return Future.class.isAssignableFrom(c) || CompletionStage.class.isAssignableFrom(c);
+    }
+
+    /**
+     * future and executor task of one call, extended by the task class generated per async binding.
+     * the call runs at most once however often run is called
+     * <pre>
+     * {@code
+     *  final class [GeneratedClass]$Task extends AsyncInvokers.Task {
+     *      private final T instance;
+     *      private final long a0;
+     *
+     *      protected Object call() {
+     *          return this.instance.callMethod(this.a0);
+     *      }
+     *  }
+     * }
+     * </pre>
+     */
+    public abstract static class Task extends CompletableFuture<Object> implements Runnable {
+        private static final AtomicIntegerFieldUpdater<Task> STARTED =
+                AtomicIntegerFieldUpdater.newUpdater(Task.class, "started");
+
+        private volatile int started;
+
+        protected Task() {
+        }
+
+        /**
+         * @return call method result, null for a void call method
+         */
+        protected abstract Object call() throws Throwable;
+
+        /**
+         * run on {@link #getExecutor()}
+         * @return this
+         */
+        public final CompletableFuture<Object> submit() {
+            executor.execute(this);
+            return this;
+        }
+
+        @Override
+        public final void run() {
+            if (isDone() || !STARTED.compareAndSet(this, 0, 1)) {
+                return;
+            }
+            try {
+                complete(call());
+            } catch (Throwable t) {
+                completeExceptionally(t);
+            }
+        }
+    }
+}
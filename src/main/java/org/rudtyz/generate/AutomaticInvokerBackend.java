@@ -0,0 +1,34 @@
+package org.rudtyz.generate;
+
+/**
+ * {@link InvokerBackend#automatic()}
+ * <ul>
+ * <li>direct binding: LambdaMetafactory, cheaper to spin, same steady state calls as a generated class</li>
+ * <li>context, ParameterDispatcher, argument matching by type, invoker metrics: ASM</li>
+ * <li>LambdaMetafactory rejects the binding (module access, void to reference return): ASM</li>
+ * </ul>
+ * the method handle backend is never picked, call frequency is not part of the binding shape
+ */
+final class AutomaticInvokerBackend implements InvokerBackend {
+    static final AutomaticInvokerBackend INSTANCE = new AutomaticInvokerBackend();
+
+    private AutomaticInvokerBackend() {
+    }
+
+    @Override
+    public InvokerFactory<?, ?> factory(final BindingSpec spec) {
+        if (!DynamicMethodFactory.isInvokerMetrics() && DirectBindings.implementMethod(spec) != null) {
+            try {
+                return LambdaInvokerBackend.INSTANCE.factory(spec);
+            } catch (IllegalArgumentException ignored) {
+                // ASM adapts more shapes
+            }
+        }
+        return AsmInvokerBackend.INSTANCE.factory(spec);
+    }
+
+    @Override
+    public String toString() {
+        return "automatic";
+    }
+}
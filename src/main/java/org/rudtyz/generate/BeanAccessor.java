@@ -0,0 +1,66 @@
+package org.rudtyz.generate;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * every property of a bean in one generated class, a property is selected by index
+ * <pre>
+ * {@code
+ *  BeanAccessor<User> accessor = DynamicMethodFactory.generateBeanAccessor(User.class);
+ *  int age = accessor.indexOf("age");  // resolve once
+ *  ...
+ *  accessor.setInt(user, age, 20);
+ *  Object value = accessor.get(user, age);
+ * }
+ * </pre>
+ * properties are the public instance fields of the bean and its superclasses.
+ * typed methods convert like the generated invokers, a property of another type throws {@link IllegalArgumentException},
+ * an index out of range {@link IndexOutOfBoundsException}
+ * @param <T> bean type
+ * @see DynamicMethodFactory#generateBeanAccessor
+ */
+public interface BeanAccessor<T> {
+
+    /**
+     * @return properties ordered by name, index of a property is its position
+     */
+    List<Field> properties();
+
+    /**
+     * @param name property name
+     * @return index, -1 = no property
+     */
+    default int indexOf(final String name) {
+        final List<Field> properties = properties();
+        for (int i = 0; i < properties.size(); ++i) {
+            if (properties.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return boxed property value
+     */
+    Object get(T bean, int index);
+
+    /**
+     * @param value unboxed for a primitive property
+     * @throws IllegalArgumentException final property
+     */
+    void set(T bean, int index, Object value);
+
+    int getInt(T bean, int index);
+
+    void setInt(T bean, int index, int value);
+
+    long getLong(T bean, int index);
+
+    void setLong(T bean, int index, long value);
+
+    double getDouble(T bean, int index);
+
+    void setDouble(T bean, int index, double value);
+}
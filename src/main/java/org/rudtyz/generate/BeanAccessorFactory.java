@@ -0,0 +1,280 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * one class for every property of a bean, the property index selects the field by tableswitch
+ * <pre>
+ * {@code
+ * public final class [GeneratedClass] implements BeanAccessor {
+ *      private final List properties;
+ *
+ *      public int getInt(Object bean, int index) {
+ *          Bean b = (Bean) bean;
+ *          switch (index) {
+ *              case 0:
+ *                  return b.age;
+ *              case 1:
+ *                  throw new IllegalArgumentException("Bean.name is not int");
+ *              default:
+ *                  throw new IndexOutOfBoundsException(index);
+ *          }
+ *      }
+ *      ...
+ * }
+ * }
+ * </pre>
+ */
+class BeanAccessorFactory {
+    private static final String FIELD_NAME = "properties";
+    private static final Class<?>[] valueClasses = {Object.class, int.class, long.class, double.class};
+
+    private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+    private final Class<?> beanClass;
+    private final List<Field> properties;
+    private final String className;
+
+    BeanAccessorFactory(final Class<?> beanClass) {
+        this.beanClass = beanClass;
+        this.properties = propertiesOf(beanClass);
+        this.className = beanClass.getName() + "_accessor_" + DefaultDynamicMethodFactory.nextClassNumber();
+    }
+
+    /**
+     * public instance fields of beanClass and its superclasses, a subclass field hides the superclass field
+     * @param beanClass public class
+     * @return properties ordered by name
+     */
+    static List<Field> propertiesOf(final Class<?> beanClass) {
+        if (beanClass.isInterface() || beanClass.isPrimitive() || beanClass.isArray()
+                || !Modifier.isPublic(beanClass.getModifiers())) {
+            throw new IllegalArgumentException(beanClass + " is not a public class");
+        }
+
+        final TreeMap<String, Field> properties = new TreeMap<>();
+        for (Class<?> c = beanClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (final Field f : c.getDeclaredFields()) {
+                final int modifiers = f.getModifiers();
+                if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && !f.isSynthetic()) {
+                    properties.putIfAbsent(f.getName(), f);
+                }
+            }
+        }
+        return List.copyOf(properties.values());
+    }
+
+    byte[] generate() {
+        classWriter.visit(DynamicMethodFactory.javaVersion,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                getInternalClassName(),
+                null,
+                "java/lang/Object",
+                new String[] {Type.getInternalName(BeanAccessor.class)});
+
+        declareConstructor();
+        declareProperties();
+        for (final Class<?> valueClass : valueClasses) {
+            declareGet(valueClass);
+            declareSet(valueClass);
+        }
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    List<Field> getProperties() {
+        return properties;
+    }
+
+    private String getInternalClassName() {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public <init>(List properties) {
+     *      super();
+     *      this.properties = properties;
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareConstructor() {
+        classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, FIELD_NAME, Type.getDescriptor(List.class), null, null);
+
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                "<init>",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(List.class)),
+                null,
+                null);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, getInternalClassName(), FIELD_NAME, Type.getDescriptor(List.class));
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void declareProperties() {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                FIELD_NAME,
+                Type.getMethodDescriptor(Type.getType(List.class)),
+                null,
+                null);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, getInternalClassName(), FIELD_NAME, Type.getDescriptor(List.class));
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public [V] get[V](Object bean, int index) {
+     *      Bean b = (Bean) bean;
+     *      switch (index) {
+     *          case 0: return ([V]) b.[property0];
+     *          ...
+     *      }
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareGet(final Class<?> valueClass) {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                methodName("get", valueClass),
+                Type.getMethodDescriptor(Type.getType(valueClass), Type.getType(Object.class), Type.INT_TYPE),
+                null,
+                null);
+        final int beanLocal = 3;
+        final Label[] cases = switchProperty(mv, beanLocal);
+        for (int i = 0; i < cases.length; ++i) {
+            final Field property = properties.get(i);
+            mv.visitLabel(cases[i]);
+            if (!TypeConversions.isConvertible(valueClass, property.getType())) {
+                throwIllegalArgument(mv, property, "is not " + valueClass.getName());
+                continue;
+            }
+            mv.visitVarInsn(Opcodes.ALOAD, beanLocal);
+            FieldAccessorFactory.fieldInsn(mv, Opcodes.GETFIELD, beanClass, property);
+            TypeConversions.convert(mv, valueClass, property.getType());
+            mv.visitInsn(Type.getType(valueClass).getOpcode(Opcodes.IRETURN));
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public void set[V](Object bean, int index, [V] value) {
+     *      Bean b = (Bean) bean;
+     *      switch (index) {
+     *          case 0: b.[property0] = ([Property0Type]) value; return;
+     *          ...
+     *      }
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareSet(final Class<?> valueClass) {
+        final Type valueType = Type.getType(valueClass);
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                methodName("set", valueClass),
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.INT_TYPE, valueType),
+                null,
+                null);
+        final int valueSlot = 3;
+        final int beanLocal = valueSlot + valueType.getSize();
+        final Label[] cases = switchProperty(mv, beanLocal);
+        for (int i = 0; i < cases.length; ++i) {
+            final Field property = properties.get(i);
+            final Class<?> propertyType = property.getType();
+            mv.visitLabel(cases[i]);
+            if (Modifier.isFinal(property.getModifiers())) {
+                throwIllegalArgument(mv, property, "is final");
+                continue;
+            }
+            if (!TypeConversions.isConvertible(propertyType, valueClass)
+                    || (!valueClass.isPrimitive() && !FieldAccessorFactory.isLinkable(propertyType))) {
+                throwIllegalArgument(mv, property, "does not accept " + valueClass.getName());
+                continue;
+            }
+            mv.visitVarInsn(Opcodes.ALOAD, beanLocal);
+            mv.visitVarInsn(valueType.getOpcode(Opcodes.ILOAD), valueSlot);
+            TypeConversions.convert(mv, propertyType, valueClass);
+            FieldAccessorFactory.fieldInsn(mv, Opcodes.PUTFIELD, beanClass, property);
+            mv.visitInsn(Opcodes.RETURN);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * bean cast once to beanLocal, then tableswitch on the index argument, default throws
+     * @return case label per property
+     */
+    private Label[] switchProperty(final MethodVisitor mv, final int beanLocal) {
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(beanClass));
+        mv.visitVarInsn(Opcodes.ASTORE, beanLocal);
+
+        final Label outOfRange = new Label();
+        final Label[] cases = new Label[properties.size()];
+        for (int i = 0; i < cases.length; ++i) {
+            cases[i] = new Label();
+        }
+        if (cases.length > 0) {
+            mv.visitVarInsn(Opcodes.ILOAD, 2);
+            mv.visitTableSwitchInsn(0, cases.length - 1, outOfRange, cases);
+        }
+
+        mv.visitLabel(outOfRange);
+        mv.visitTypeInsn(Opcodes.NEW, "java/lang/IndexOutOfBoundsException");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitVarInsn(Opcodes.ILOAD, 2);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/IndexOutOfBoundsException", "<init>", "(I)V", false);
+        mv.visitInsn(Opcodes.ATHROW);
+        return cases;
+    }
+
+    private void throwIllegalArgument(final MethodVisitor mv, final Field property, final String message) {
+        mv.visitTypeInsn(Opcodes.NEW, "java/lang/IllegalArgumentException");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitLdcInsn(beanClass.getSimpleName() + "." + property.getName() + " " + message);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                "java/lang/IllegalArgumentException",
+                "<init>",
+                "(Ljava/lang/String;)V",
+                false);
+        mv.visitInsn(Opcodes.ATHROW);
+    }
+
+    /**
+     * get, Object -&gt; get, int -&gt; getInt
+     */
+    private static String methodName(final String prefix, final Class<?> valueClass) {
+        if (valueClass == Object.class) {
+            return prefix;
+        }
+        final String name = valueClass.getName();
+        return prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
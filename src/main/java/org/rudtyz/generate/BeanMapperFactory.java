@@ -0,0 +1,408 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * straight line property copy from a source class to a target class
+ * <pre>
+ * {@code
+ * public final class [GeneratedClass] implements BiConsumer, Function {
+ *      public void accept(Object source, Object target) {
+ *          UserDto s = (UserDto) source;
+ *          User t = (User) target;
+ *          t.setAge((long) s.getAge());
+ *          t.setName(s.getName());
+ *      }
+ *
+ *      public Object apply(Object source) {
+ *          User t = new User();
+ *          accept(source, t);
+ *          return t;
+ *      }
+ * }
+ *
+ * // record target, Function only
+ * public Object apply(Object source) {
+ *      UserDto s = (UserDto) source;
+ *      return new UserRecord(s.getName(), (long) s.getAge(), null);
+ * }
+ * }
+ * </pre>
+ * source properties are getters (getX, isX) or record components, target properties are setters or
+ * record components. a property matches by name when {@link TypeConversions} converts the source type
+ */
+class BeanMapperFactory {
+    private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+    private final Class<?> sourceClass;
+    private final Class<?> targetClass;
+
+    /**
+     * target property -&gt; source getter, in target property order
+     */
+    private final Map<String, Method> matched = new LinkedHashMap<>();
+    private final Map<String, Method> writers;
+    private final Constructor<?> targetConstructor;
+    private final String className;
+
+    BeanMapperFactory(final Class<?> sourceClass, final Class<?> targetClass, final UnmatchedPropertyPolicy policy) {
+        checkPublic(sourceClass);
+        checkPublic(targetClass);
+
+        final Map<String, Method> readers = readersOf(sourceClass);
+        final Map<String, Class<?>> targetTypes = new LinkedHashMap<>();
+        if (targetClass.isRecord()) {
+            this.writers = Map.of();
+            for (final RecordComponent c : targetClass.getRecordComponents()) {
+                targetTypes.put(c.getName(), c.getType());
+            }
+        } else {
+            this.writers = writersOf(targetClass, readers);
+            for (final Map.Entry<String, Method> w : writers.entrySet()) {
+                targetTypes.put(w.getKey(), w.getValue().getParameterTypes()[0]);
+            }
+        }
+
+        final List<String> unmatched = new ArrayList<>();
+        for (final Map.Entry<String, Class<?>> t : targetTypes.entrySet()) {
+            final Method reader = readers.get(t.getKey());
+            if (reader != null && TypeConversions.isConvertible(t.getValue(), reader.getReturnType())) {
+                matched.put(t.getKey(), reader);
+            } else if (policy != UnmatchedPropertyPolicy.IGNORE) {
+                unmatched.add(targetClass.getSimpleName() + "." + t.getKey());
+            }
+        }
+        if (policy == UnmatchedPropertyPolicy.FAIL) {
+            for (final String name : readers.keySet()) {
+                if (!matched.containsKey(name)) {
+                    unmatched.add(sourceClass.getSimpleName() + "." + name);
+                }
+            }
+        }
+        if (!unmatched.isEmpty()) {
+            throw new IllegalArgumentException("unmatched properties " + unmatched + ", policy " + policy);
+        }
+
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.targetConstructor = targetConstructorOf(targetClass, targetTypes);
+        this.className = targetClass.getName()
+                + "_from_" + sourceClass.getSimpleName()
+                + "_" + DefaultDynamicMethodFactory.nextClassNumber();
+    }
+
+    private static void checkPublic(final Class<?> c) {
+        if (c.isPrimitive() || c.isArray() || !Modifier.isPublic(c.getModifiers())) {
+            throw new IllegalArgumentException(c + " is not a public class");
+        }
+    }
+
+    /**
+     * @return name -&gt; getter or record accessor, ordered by name
+     */
+    static Map<String, Method> readersOf(final Class<?> sourceClass) {
+        final Map<String, Method> readers = new TreeMap<>();
+        if (sourceClass.isRecord()) {
+            for (final RecordComponent c : sourceClass.getRecordComponents()) {
+                readers.put(c.getName(), c.getAccessor());
+            }
+            return readers;
+        }
+
+        for (final Method m : sourceClass.getMethods()) {
+            if (Modifier.isStatic(m.getModifiers()) || m.getParameterCount() != 0
+                    || m.isBridge() || m.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            final String name = m.getName();
+            if (name.startsWith("get") && name.length() > 3 && m.getReturnType() != void.class) {
+                readers.put(propertyName(name.substring(3)), m);
+            } else if (name.startsWith("is") && name.length() > 2 && m.getReturnType() == boolean.class) {
+                readers.put(propertyName(name.substring(2)), m);
+            }
+        }
+        return readers;
+    }
+
+    /**
+     * @param readers overloaded setters prefer the exact source type, then the first convertible
+     * @return name -&gt; setter, ordered by name
+     */
+    private static Map<String, Method> writersOf(final Class<?> targetClass, final Map<String, Method> readers) {
+        final Map<String, Method> writers = new TreeMap<>();
+        for (final Method m : targetClass.getMethods()) {
+            final String name = m.getName();
+            if (Modifier.isStatic(m.getModifiers()) || m.getParameterCount() != 1
+                    || !name.startsWith("set") || name.length() == 3) {
+                continue;
+            }
+
+            final String property = propertyName(name.substring(3));
+            final Method reader = readers.get(property);
+            final Method previous = writers.get(property);
+            if (previous == null || (reader != null && isBetterWriter(m, previous, reader.getReturnType()))) {
+                writers.put(property, m);
+            }
+        }
+        return writers;
+    }
+
+    private static boolean isBetterWriter(final Method m, final Method previous, final Class<?> sourceType) {
+        final Class<?> type = m.getParameterTypes()[0];
+        final Class<?> previousType = previous.getParameterTypes()[0];
+        if (previousType == sourceType) {
+            return false;
+        }
+        return type == sourceType
+                || (!TypeConversions.isConvertible(previousType, sourceType) && TypeConversions.isConvertible(type, sourceType));
+    }
+
+    /**
+     * Name -&gt; name, URL -&gt; URL, like java.beans.Introspector.decapitalize
+     */
+    static String propertyName(final String s) {
+        if (s.length() > 1 && Character.isUpperCase(s.charAt(0)) && Character.isUpperCase(s.charAt(1))) {
+            return s;
+        }
+        return Character.toLowerCase(s.charAt(0)) + s.substring(1);
+    }
+
+    /**
+     * @return nullable, record canonical constructor or public no argument constructor, null = no Function
+     */
+    private static Constructor<?> targetConstructorOf(final Class<?> targetClass, final Map<String, Class<?>> targetTypes) {
+        if (Modifier.isAbstract(targetClass.getModifiers())) {
+            return null;
+        }
+        try {
+            return targetClass.isRecord()
+                    ? targetClass.getConstructor(targetTypes.values().toArray(new Class<?>[0]))
+                    : targetClass.getConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    byte[] generate() {
+        final List<String> interfaces = new ArrayList<>();
+        if (isCopier()) {
+            interfaces.add(Type.getInternalName(BiConsumer.class));
+        }
+        if (isMapper()) {
+            interfaces.add(Type.getInternalName(Function.class));
+        }
+        if (interfaces.isEmpty()) {
+            throw new IllegalArgumentException(targetClass + " record without public canonical constructor");
+        }
+
+        classWriter.visit(DynamicMethodFactory.javaVersion,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                getInternalClassName(),
+                null,
+                "java/lang/Object",
+                interfaces.toArray(new String[0]));
+
+        FieldAccessorFactory.declareConstructor(classWriter);
+        if (isCopier()) {
+            declareAccept();
+        }
+        if (isMapper()) {
+            if (targetClass.isRecord()) {
+                declareApplyRecord();
+            } else {
+                declareApply();
+            }
+        }
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * @return true = implements BiConsumer, target properties are setters
+     */
+    boolean isCopier() {
+        return !targetClass.isRecord();
+    }
+
+    /**
+     * @return true = implements Function, target has a public constructor
+     */
+    boolean isMapper() {
+        return targetConstructor != null;
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    private String getInternalClassName() {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public void accept(Object source, Object target) {
+     *      S s = (S) source;
+     *      T t = (T) target;
+     *      t.set[Property](([PropertyType]) s.get[Property]());
+     *      ...
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareAccept() {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                "accept",
+                "(Ljava/lang/Object;Ljava/lang/Object;)V",
+                null,
+                null);
+        final int sourceLocal = 3;
+        final int targetLocal = 4;
+        castToLocal(mv, 1, sourceClass, sourceLocal);
+        castToLocal(mv, 2, targetClass, targetLocal);
+
+        for (final Map.Entry<String, Method> m : matched.entrySet()) {
+            final Method writer = writers.get(m.getKey());
+            mv.visitVarInsn(Opcodes.ALOAD, targetLocal);
+            loadProperty(mv, sourceLocal, m.getValue(), writer.getParameterTypes()[0]);
+            invoke(mv, targetClass, writer);
+            TypeConversions.convert(mv, void.class, writer.getReturnType());
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public Object apply(Object source) {
+     *      T t = new T();
+     *      this.accept(source, t);
+     *      return t;
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareApply() {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                "apply",
+                "(Ljava/lang/Object;)Ljava/lang/Object;",
+                null,
+                null);
+        final String targetName = Type.getInternalName(targetClass);
+        mv.visitTypeInsn(Opcodes.NEW, targetName);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, targetName, "<init>", "()V", false);
+        mv.visitVarInsn(Opcodes.ASTORE, 2);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                getInternalClassName(),
+                "accept",
+                "(Ljava/lang/Object;Ljava/lang/Object;)V",
+                false);
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public Object apply(Object source) {
+     *      S s = (S) source;
+     *      return new T(([Component0Type]) s.get[Component0](), 0, null);
+     *  }
+     * }
+     * </pre>
+     * unmatched components get the default value of their type
+     */
+    private void declareApplyRecord() {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                "apply",
+                "(Ljava/lang/Object;)Ljava/lang/Object;",
+                null,
+                null);
+        final int sourceLocal = 2;
+        castToLocal(mv, 1, sourceClass, sourceLocal);
+
+        final String targetName = Type.getInternalName(targetClass);
+        mv.visitTypeInsn(Opcodes.NEW, targetName);
+        mv.visitInsn(Opcodes.DUP);
+        for (final RecordComponent c : targetClass.getRecordComponents()) {
+            final Method reader = matched.get(c.getName());
+            if (reader != null) {
+                loadProperty(mv, sourceLocal, reader, c.getType());
+            } else {
+                loadDefault(mv, c.getType());
+            }
+        }
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                targetName,
+                "<init>",
+                Type.getConstructorDescriptor(targetConstructor),
+                false);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void castToLocal(final MethodVisitor mv, final int slot, final Class<?> c, final int local) {
+        mv.visitVarInsn(Opcodes.ALOAD, slot);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(c));
+        mv.visitVarInsn(Opcodes.ASTORE, local);
+    }
+
+    /**
+     * ([propertyType]) s.get[Property]()
+     */
+    private void loadProperty(final MethodVisitor mv, final int sourceLocal, final Method reader, final Class<?> propertyType) {
+        mv.visitVarInsn(Opcodes.ALOAD, sourceLocal);
+        invoke(mv, sourceClass, reader);
+        TypeConversions.convert(mv, propertyType, reader.getReturnType());
+    }
+
+    /**
+     * @param owner public class the method is resolved from
+     */
+    private static void invoke(final MethodVisitor mv, final Class<?> owner, final Method m) {
+        mv.visitMethodInsn(owner.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL,
+                Type.getInternalName(owner),
+                m.getName(),
+                Type.getMethodDescriptor(m),
+                owner.isInterface());
+    }
+
+    private static void loadDefault(final MethodVisitor mv, final Class<?> c) {
+        if (c == long.class) {
+            mv.visitInsn(Opcodes.LCONST_0);
+        } else if (c == float.class) {
+            mv.visitInsn(Opcodes.FCONST_0);
+        } else if (c == double.class) {
+            mv.visitInsn(Opcodes.DCONST_0);
+        } else if (c.isPrimitive()) {
+            mv.visitInsn(Opcodes.ICONST_0);
+        } else {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+        }
+    }
+}
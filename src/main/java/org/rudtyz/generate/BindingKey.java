@@ -0,0 +1,113 @@
+package org.rudtyz.generate;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * generated class identity
+ * <pre>
+ * {@code
+ *  (callObjectClass, callMethod, interfaceClass, contextClass, contextToCallObject, parameterDispatcher)
+ * }
+ * </pre>
+ * contextToCallObject and parameterDispatcher are compared by their own equals (identity by default)
+ * @param javaVersion generated class file version
+ * @param classDefiner generated class definer
+ * @param methods nullable, interface method -&gt; call method of a multi method binding, callMethod is the first value
+ * @param invokerMetrics generated methods update {@link InvokerMetrics}
+ * @param invokerFactory key of the {@link InvokerFactoryClassFactory factory class} of the binding, not of the generated class
+ * @param bulk generated class implements {@link BulkInvoker}
+ * @param receiverClasses nullable, exact receiver classes called directly before the virtual call,
+ *                        not null = the virtual call records {@link ReceiverTypeProfile}
+ */
+record BindingKey(
+        Class<?> callObjectClass,
+        Method callMethod,
+        Class<?> interfaceClass,
+        Class<?> contextClass,
+        ContextToCallObject contextToCallObject,
+        ParameterDispatcher parameterDispatcher,
+        int javaVersion,
+        ClassDefiner classDefiner,
+        Map<Method, Method> methods,
+        boolean invokerMetrics,
+        boolean invokerFactory,
+        boolean bulk,
+        List<Class<?>> receiverClasses) implements CacheKey {
+
+    BindingKey(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<?> interfaceClass,
+            final Class<?> contextClass,
+            final ContextToCallObject contextToCallObject,
+            final ParameterDispatcher parameterDispatcher,
+            final int javaVersion,
+            final ClassDefiner classDefiner) {
+        this(callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                javaVersion,
+                classDefiner,
+                null,
+                false,
+                false,
+                false,
+                null);
+    }
+
+    BindingKey withInvokerFactory() {
+        return new BindingKey(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                javaVersion,
+                classDefiner,
+                methods,
+                invokerMetrics,
+                true,
+                bulk,
+                receiverClasses);
+    }
+
+    BindingKey withBulk() {
+        return new BindingKey(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                javaVersion,
+                classDefiner,
+                methods,
+                invokerMetrics,
+                invokerFactory,
+                true,
+                receiverClasses);
+    }
+
+    BindingKey withReceiverClasses(final List<Class<?>> receiverClasses) {
+        return new BindingKey(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                javaVersion,
+                classDefiner,
+                methods,
+                invokerMetrics,
+                invokerFactory,
+                bulk,
+                List.copyOf(receiverClasses));
+    }
+}
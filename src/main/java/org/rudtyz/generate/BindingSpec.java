@@ -0,0 +1,62 @@
+package org.rudtyz.generate;
+
+import java.lang.reflect.Method;
+
+/**
+ * arguments of {@link DynamicMethodFactory#generateClass} as a value, for {@link DynamicMethodFactory#generateAll}
+ * <pre>
+ * {@code
+ *  BindingSpec.of(Example.class, myInt, IntSupplier.class)
+ * }
+ * </pre>
+ * @param callObjectClass call class
+ * @param callMethod call method
+ * @param interfaceClass generated class implements interface
+ * @param contextClass nullable, parameter class
+ * @param contextToCallObject nullable, context to call object
+ * @param parameterDispatcher nullable, parameter to method
+ */
+public record BindingSpec(
+        Class<?> callObjectClass,
+        Method callMethod,
+        Class<?> interfaceClass,
+        Class<?> contextClass,
+        ContextToCallObject contextToCallObject,
+        ParameterDispatcher parameterDispatcher) {
+
+    public BindingSpec {
+        if (callObjectClass == null) {
+            throw new IllegalArgumentException("callObjectClass is null");
+        }
+        if (callMethod == null) {
+            throw new IllegalArgumentException("callMethod is null");
+        }
+        if (interfaceClass == null) {
+            throw new IllegalArgumentException("interfaceClass is null");
+        }
+    }
+
+    public static BindingSpec of(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<?> interfaceClass) {
+        return new BindingSpec(callObjectClass, callMethod, interfaceClass, null, null, null);
+    }
+
+    BindingKey toKey(final int javaVersion, final ClassDefiner classDefiner, final boolean invokerMetrics) {
+        return new BindingKey(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                javaVersion,
+                classDefiner,
+                null,
+                invokerMetrics,
+                false,
+                false,
+                null);
+    }
+}
@@ -0,0 +1,45 @@
+package org.rudtyz.generate;
+
+import java.util.List;
+
+/**
+ * loops over many contexts inside the generated class, the call method call site sees one target
+ * <pre>
+ * {@code
+ *  // Consumer<MyContext> -> void handle(MyContext context)
+ *  BulkInvoker<MyContext> bulk = DynamicMethodFactory.generateBulkClass(Handler.class, handle, Consumer.class)
+ *          .getConstructor(Handler.class)
+ *          .newInstance(handler);
+ *  bulk.acceptAll(contexts, 0, contexts.length);
+ *
+ *  // generated
+ *  public void acceptAll(Object[] contexts, int from, int to) {
+ *      Objects.checkFromToIndex(from, to, contexts.length);
+ *      for (int i = from; i < to; ++i) {
+ *          this.instance.handle((MyContext) contexts[i]);
+ *      }
+ *  }
+ * }
+ * </pre>
+ * the interface method must take one reference argument, each element is passed as that argument.
+ * a call method result that converts to int or long adds {@link IntBulkInvoker} or {@link LongBulkInvoker}.
+ * bulk methods are not instrumented by {@link InvokerMetrics}
+ * @param <C> context, element type
+ * @see DynamicMethodFactory#generateBulkClass
+ */
+public interface BulkInvoker<C> {
+
+    /**
+     * call for contexts[from] .. contexts[to - 1], call method results are dropped
+     * @param contexts contexts
+     * @param from inclusive
+     * @param to exclusive
+     */
+    void acceptAll(C[] contexts, int from, int to);
+
+    /**
+     * index loop for {@link java.util.RandomAccess} lists, else iterator
+     * @param contexts contexts
+     */
+    void acceptAll(List<? extends C> contexts);
+}
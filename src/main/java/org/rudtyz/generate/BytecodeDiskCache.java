@@ -0,0 +1,482 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.ClassWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32C;
+
+/**
+ * generated class bytes kept across JVM restarts
+ * <pre>
+ * {@code
+ *  // single append only file, shared by processes
+ *  [int MAGIC][int VERSION]
+ *  [int recordLength][int crc][long fingerprint][int bindingLength][binding][int nameLength][className][int dataLength][classData]
+ *  ...
+ * }
+ * </pre>
+ * <ul>
+ * <li>the file is memory mapped, cached bytes are defined from the mapping without copy</li>
+ * <li>binding = {@link StableClassNames#bindingOf}, the last record of a binding wins</li>
+ * <li>fingerprint = class file bytes of the binding classes and of every {@link #EMITTERS emitter},
+ * a record with another fingerprint is stale and generated again</li>
+ * <li>cached classes have {@link StableClassNames stable names}, bindings without a stable name are generated and not cached</li>
+ * <li>crc = CRC32C from fingerprint to the end of the record, reading stops at the first record that does not match</li>
+ * <li>appends hold an exclusive {@link FileLock}, first index records of other processes, then write after the last
+ * valid record. the file is never truncated, a torn record of a crashed process is overwritten by the next append</li>
+ * </ul>
+ */
+public final class BytecodeDiskCache implements AutoCloseable {
+    private static final int MAGIC = 0x444d4243;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * file locks are held per JVM, caches of the same file in one JVM take turns on this monitor first
+     */
+    private static final ConcurrentHashMap<Path, Object> fileMonitors = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Long> classFingerprints = new ClassValue<>() {
+        @Override
+        protected Long computeValue(final Class<?> type) {
+            return classFingerprint(type);
+        }
+    };
+
+    /**
+     * classes that emit or shape generated bytecode, with their nested classes.
+     * a change of any of them makes every record stale
+     */
+    static final List<Class<?>> EMITTERS = List.of(
+            DynamicMethodFactory.class,
+            DefaultDynamicMethodFactory.class,
+            SingleParameterDynamicMethodFactory.class,
+            ConstructorDynamicMethodFactory.class,
+            FieldAccessorFactory.class,
+            BeanAccessorFactory.class,
+            BeanMapperFactory.class,
+            RouterFactory.class,
+            InvokerFactoryClassFactory.class,
+            TypeConversions.class,
+            SpecializedInterfaces.class,
+            MethodBindings.class,
+            ReceiverTypeProfile.class,
+            StableClassNames.class,
+            AsyncInvokers.class,
+            InvokerMetrics.class,
+            // asm version
+            ClassWriter.class);
+
+    private static final long currentGeneratorFingerprint = generatorFingerprint(classFingerprints::get);
+
+    public record Stats(long hits, long misses, long stale, int entries, long fileSize) {
+    }
+
+    private record Entry(long fingerprint, String className, int dataOffset, int dataLength) {
+    }
+
+    private final Path path;
+    private final long generatorFingerprint;
+    private final Object fileMonitor;
+    private final FileChannel channel;
+    private final ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    private volatile MappedByteBuffer mapped;
+
+    /**
+     * end of the last valid record read or written, next append position
+     */
+    private long end = HEADER_SIZE;
+
+    private BytecodeDiskCache(final Path path, final long generatorFingerprint, final FileChannel channel) {
+        this.path = path;
+        this.generatorFingerprint = generatorFingerprint;
+        this.fileMonitor = fileMonitors.computeIfAbsent(path.toAbsolutePath().normalize(), p -> new Object());
+        this.channel = channel;
+    }
+
+    /**
+     * open or create cache file
+     * @param path cache file
+     * @return cache
+     */
+    public static BytecodeDiskCache open(final Path path) {
+        return open(path, currentGeneratorFingerprint);
+    }
+
+    /**
+     * @param path cache file
+     * @param generatorFingerprint {@link #generatorFingerprint} of the library that reads and writes
+     * @return cache
+     */
+    static BytecodeDiskCache open(final Path path, final long generatorFingerprint) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            final BytecodeDiskCache cache = new BytecodeDiskCache(path, generatorFingerprint, channel);
+            cache.load();
+            return cache;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("bytecode cache open fail: " + path, e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private synchronized void load() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            synchronized (fileMonitor) {
+                final FileLock lock = channel.lock();
+                try {
+                    // another process may have created it meanwhile
+                    if (channel.size() < HEADER_SIZE) {
+                        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                        channel.write(header, 0);
+                        channel.force(false);
+                    }
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+
+        final MappedByteBuffer buffer = remap();
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("not a bytecode cache file: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("bytecode cache version " + buffer.getInt(4) + " is not " + VERSION + ": " + path);
+        }
+        readRecords();
+    }
+
+    /**
+     * index valid records from end, records of other processes appended since the last read
+     */
+    private void readRecords() {
+        MappedByteBuffer buffer = mapped;
+        try {
+            if (buffer.capacity() < channel.size()) {
+                buffer = remap();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("bytecode cache read fail: " + path, e);
+        }
+
+        long position = end;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            final int p0 = (int) position;
+            final int recordLength = buffer.getInt(p0);
+            final long recordEnd = position + Integer.BYTES + recordLength;
+            if (recordLength < Integer.BYTES + Long.BYTES + 3 * Integer.BYTES || recordEnd > buffer.capacity()) {
+                // torn write of a crashed process or a record still being written
+                break;
+            }
+
+            final int crcStart = p0 + RECORD_HEADER_SIZE;
+            final CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(crcStart, (int) recordEnd - crcStart));
+            if ((int) crc.getValue() != buffer.getInt(p0 + Integer.BYTES)) {
+                break;
+            }
+
+            int p = crcStart;
+            final long fingerprint = buffer.getLong(p);
+            p += Long.BYTES;
+            final String binding = readString(buffer, p);
+            p += Integer.BYTES + buffer.getInt(p);
+            final String className = readString(buffer, p);
+            p += Integer.BYTES + buffer.getInt(p);
+            final int dataLength = buffer.getInt(p);
+            p += Integer.BYTES;
+
+            index.put(binding, new Entry(fingerprint, className, p, dataLength));
+            position = recordEnd;
+        }
+        end = position;
+    }
+
+    /**
+     * cached bytes or generate, append and define
+     * @param key binding
+     * @return defined class
+     */
+    Class<?> generateAndDefine(final BindingKey key) {
+        if (!StableClassNames.isStable(key)) {
+            return DynamicMethodFactory.generateAndDefine(key);
+        }
+
+        final String binding = StableClassNames.bindingOf(key);
+        final long fingerprint = fingerprint(key);
+        final Entry entry = index.get(binding);
+        if (entry != null) {
+            if (entry.fingerprint() == fingerprint) {
+                hits.increment();
+                return DynamicMethodFactory.define(key.classDefiner(), key.callObjectClass(), entry.className(), read(entry));
+            }
+            stale.increment();
+        } else {
+            misses.increment();
+        }
+
+        final DynamicMethodFactory.GenerateResult result = DynamicMethodFactory.generate(key, StableClassNames.of(key));
+        append(binding, fingerprint, result);
+        return DynamicMethodFactory.define(key.classDefiner(), key.callObjectClass(), result.className(), result.classData());
+    }
+
+    /**
+     * @param key binding
+     * @return true = {@link #generateAndDefine} defines cached bytes without generation
+     */
+    boolean contains(final BindingKey key) {
+        if (!StableClassNames.isStable(key)) {
+            return false;
+        }
+        final Entry entry = index.get(StableClassNames.bindingOf(key));
+        return entry != null && entry.fingerprint() == fingerprint(key);
+    }
+
+    /**
+     * generate without append, thread safe. {@link #appendAndDefine} stores the result
+     * @param key binding, not {@link #contains cached}
+     * @return generated class, stable name when the binding is stable
+     */
+    static DynamicMethodFactory.GenerateResult generate(final BindingKey key) {
+        if (!StableClassNames.isStable(key)) {
+            return DynamicMethodFactory.generateNamed(key);
+        }
+        return DynamicMethodFactory.generate(key, StableClassNames.of(key));
+    }
+
+    /**
+     * append bytes of {@link #generate} and define
+     * @param key binding
+     * @param result generated class of key
+     * @return defined class
+     */
+    Class<?> appendAndDefine(final BindingKey key, final DynamicMethodFactory.GenerateResult result) {
+        if (!StableClassNames.isStable(key)) {
+            return DynamicMethodFactory.defineGenerated(key, result);
+        }
+
+        final String binding = StableClassNames.bindingOf(key);
+        final long fingerprint = fingerprint(key);
+        if (index.containsKey(binding)) {
+            stale.increment();
+        } else {
+            misses.increment();
+        }
+        append(binding, fingerprint, result);
+        return DynamicMethodFactory.define(key.classDefiner(), key.callObjectClass(), result.className(), result.classData());
+    }
+
+    synchronized void append(final String binding, final long fingerprint, final DynamicMethodFactory.GenerateResult result) {
+        final byte[] bindingBytes = binding.getBytes(StandardCharsets.UTF_8);
+        final byte[] nameBytes = result.className().getBytes(StandardCharsets.UTF_8);
+        final byte[] data = result.classData();
+        final int recordLength = Integer.BYTES
+                + Long.BYTES
+                + Integer.BYTES + bindingBytes.length
+                + Integer.BYTES + nameBytes.length
+                + Integer.BYTES + data.length;
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + recordLength)
+                .putInt(recordLength)
+                .putInt(0)
+                .putLong(fingerprint)
+                .putInt(bindingBytes.length).put(bindingBytes)
+                .putInt(nameBytes.length).put(nameBytes)
+                .putInt(data.length).put(data)
+                .flip();
+        final CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(RECORD_HEADER_SIZE, buffer.limit() - RECORD_HEADER_SIZE));
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+
+        synchronized (fileMonitor) {
+            try {
+                final FileLock lock = channel.lock();
+                try {
+                    readRecords();
+                    final long position = end;
+                    if (position + buffer.remaining() > Integer.MAX_VALUE) {
+                        throw new IllegalStateException("bytecode cache is full: " + path);
+                    }
+
+                    long written = 0;
+                    while (buffer.hasRemaining()) {
+                        written += channel.write(buffer, position + written);
+                    }
+
+                    end = position + written;
+                    final int dataOffset = (int) (end - data.length);
+                    index.put(binding, new Entry(fingerprint, result.className(), dataOffset, data.length));
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("bytecode cache write fail: " + path, e);
+            }
+        }
+    }
+
+    private ByteBuffer read(final Entry entry) {
+        MappedByteBuffer buffer = mapped;
+        if (entry.dataOffset() + entry.dataLength() > buffer.capacity()) {
+            buffer = remap();
+        }
+        return buffer.slice(entry.dataOffset(), entry.dataLength());
+    }
+
+    private synchronized MappedByteBuffer remap() {
+        try {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped = buffer;
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("bytecode cache map fail: " + path, e);
+        }
+    }
+
+    public Stats stats() {
+        long fileSize;
+        try {
+            fileSize = channel.size();
+        } catch (IOException e) {
+            fileSize = -1;
+        }
+        return new Stats(hits.sum(), misses.sum(), stale.sum(), index.size(), fileSize);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("bytecode cache close fail: " + path, e);
+        }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // open already failed
+        }
+    }
+
+    /**
+     * @param key binding
+     * @return hash of every class file the generated bytes depend on
+     */
+    long fingerprint(final BindingKey key) {
+        long hash = generatorFingerprint;
+        hash = fnv(hash, classFingerprints.get(key.callObjectClass()));
+        hash = fnv(hash, classFingerprints.get(key.callMethod().getDeclaringClass()));
+        if (key.methods() != null) {
+            for (final Method m : key.methods().values()) {
+                hash = fnv(hash, classFingerprints.get(m.getDeclaringClass()));
+            }
+        }
+        if (key.receiverClasses() != null) {
+            for (final Class<?> c : key.receiverClasses()) {
+                hash = fnv(hash, classFingerprints.get(c));
+            }
+        }
+        hash = fnv(hash, classFingerprints.get(key.interfaceClass()));
+        if (key.contextClass() != null) {
+            hash = fnv(hash, classFingerprints.get(key.contextClass()));
+        }
+        if (key.contextToCallObject() != null) {
+            hash = fnv(hash, classFingerprints.get(key.contextToCallObject().getClass()));
+        }
+        if (key.parameterDispatcher() != null) {
+            hash = fnv(hash, classFingerprints.get(key.parameterDispatcher().getClass()));
+        }
+        return hash;
+    }
+
+    /**
+     * @param classFingerprint fingerprint of one class
+     * @return hash of {@link #EMITTERS} and their nested classes
+     */
+    static long generatorFingerprint(final ToLongFunction<Class<?>> classFingerprint) {
+        long hash = FNV_OFFSET;
+        for (final Class<?> emitter : EMITTERS) {
+            hash = fnv(hash, classFingerprint.applyAsLong(emitter));
+            for (final Class<?> nested : emitter.getDeclaredClasses()) {
+                hash = fnv(hash, classFingerprint.applyAsLong(nested));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * class file bytes, class name when the class file is not readable
+     */
+    static long classFingerprint(final Class<?> type) {
+        final String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.isHidden() ? null : type.getResourceAsStream(resource)) {
+            if (in == null) {
+                final byte[] name = type.getName().getBytes(StandardCharsets.UTF_8);
+                return fnv(FNV_OFFSET, name);
+            }
+            return fnv(FNV_OFFSET, in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("class file read fail: " + type, e);
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer, final int position) {
+        final int length = buffer.getInt(position);
+        final byte[] bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long fnv(long hash, final byte[] bytes) {
+        for (final byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long fnv(long hash, final long value) {
+        for (int i = 0; i < Long.BYTES; ++i) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
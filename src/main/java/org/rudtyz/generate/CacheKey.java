@@ -0,0 +1,19 @@
+package org.rudtyz.generate;
+
+/**
+ * binding record of a {@link GeneratedClassCache} entry, compared by equals
+ * <pre>
+ * {@code
+ *  BindingKey          generated invoker class
+ *  FieldBinding        field accessor
+ *  ConstructorBinding  constructor class
+ * }
+ * </pre>
+ */
+interface CacheKey {
+
+    /**
+     * @return not null, the entry lives in a {@link ClassValue} of this class
+     */
+    Class<?> callObjectClass();
+}
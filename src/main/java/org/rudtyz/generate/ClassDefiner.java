@@ -0,0 +1,91 @@
+package org.rudtyz.generate;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+
+/**
+ * define generated class bytes
+ * <ul>
+ * <li>{@link DynamicMethodFactory.DynamicClassLoader#INSTANCE} global class loader (default)</li>
+ * <li>{@link #hidden()} unloadable hidden class</li>
+ * <li>{@link #hiddenStrong()} hidden class, lives as long as callObjectClass loader</li>
+ * <li>{@link #sharded(int)} class loaders striped by class name</li>
+ * <li>{@link #nestmate(MethodHandles.Lookup)} hidden nestmate, private call methods</li>
+ * <li>{@link #samePackage(MethodHandles.Lookup)} class in the callObjectClass package, package private call methods</li>
+ * </ul>
+ * the class loader definers link only public call classes and methods
+ */
+public interface ClassDefiner {
+
+    /**
+     * @param callObjectClass call class
+     * @param className generated class name
+     * @param classData generated class bytes
+     * @return defined class
+     */
+    Class<?> defineClass(Class<?> callObjectClass, String className, byte[] classData);
+
+    /**
+     * class loader definers read the buffer without copy
+     * @param callObjectClass call class
+     * @param className generated class name
+     * @param classData generated class bytes, position to limit
+     * @return defined class
+     */
+    default Class<?> defineClass(Class<?> callObjectClass, String className, ByteBuffer classData) {
+        final byte[] bytes = new byte[classData.remaining()];
+        classData.duplicate().get(bytes);
+        return defineClass(callObjectClass, className, bytes);
+    }
+
+    /**
+     * hidden class in the callObjectClass package, collected when unreachable
+     * @return hidden class definer
+     */
+    static ClassDefiner hidden() {
+        return HiddenClassDefiner.WEAK;
+    }
+
+    /**
+     * hidden class in the callObjectClass package, ACC_STRONG
+     * @return hidden class definer
+     */
+    static ClassDefiner hiddenStrong() {
+        return HiddenClassDefiner.STRONG;
+    }
+
+    /**
+     * concurrent define scales with shard count
+     * @param shardCount class loader count
+     * @return class loader picked by generated class name hash
+     */
+    static ClassDefiner sharded(final int shardCount) {
+        return new ShardedClassDefiner(shardCount, ClassDefiner.class.getClassLoader());
+    }
+
+    /**
+     * hidden class in the nest of callObjectClass, calls private methods of the nest without reflection
+     * <pre>
+     * {@code
+     *  DynamicMethodFactory.setClassDefiner(ClassDefiner.nestmate(MethodHandles.lookup()));
+     *  // private void handle(Request request)
+     *  DynamicMethodFactory.generateClass(Handler.class, handle, Consumer.class);
+     * }
+     * </pre>
+     * @param lookup lookup of the caller, {@link MethodHandles#privateLookupIn} to callObjectClass
+     * @return hidden nestmate definer
+     */
+    static ClassDefiner nestmate(final MethodHandles.Lookup lookup) {
+        return new LookupClassDefiner(lookup, true);
+    }
+
+    /**
+     * normal class in the callObjectClass package by {@link MethodHandles.Lookup#defineClass},
+     * calls package private classes and methods
+     * @param lookup lookup of the caller, {@link MethodHandles#privateLookupIn} to callObjectClass
+     * @return same package definer
+     */
+    static ClassDefiner samePackage(final MethodHandles.Lookup lookup) {
+        return new LookupClassDefiner(lookup, false);
+    }
+}
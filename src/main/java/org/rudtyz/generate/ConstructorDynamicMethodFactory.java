@@ -0,0 +1,128 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * constructor as the call target
+ * <pre>
+ * {@code
+ * public final class [GeneratedClass] implements Function {
+ *      public Object apply(Object a) {
+ *          return new [CallObjectClass]((String) a);
+ *      }
+ * }
+ *
+ * // context interface, contextClass = Row
+ * public final class [GeneratedClass] implements Function {
+ *      public Object apply(Object o) {
+ *          Row row = (Row) o;
+ *          return new User(row.getName(), row.getAge());
+ *      }
+ * }
+ * }
+ * </pre>
+ * parameters are loaded like method parameters, see {@link SingleParameterDynamicMethodFactory}
+ */
+class ConstructorDynamicMethodFactory {
+    private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+    private final Constructor<?> callConstructor;
+    private final Class<?> interfaceClass;
+    private final Method implementMethod;
+    private final SingleParameterDynamicMethodFactory parameters;
+    private final String className;
+
+    ConstructorDynamicMethodFactory(
+            final Constructor<?> callConstructor,
+            final Class<?> interfaceClass,
+            final Class<?> contextClass,
+            final ConstructorParameterDispatcher parameterDispatcher) {
+        final Class<?> callObjectClass = callConstructor.getDeclaringClass();
+        if (!Modifier.isPublic(callConstructor.getModifiers()) || !Modifier.isPublic(callObjectClass.getModifiers())) {
+            throw new IllegalArgumentException(callConstructor + " is not public");
+        }
+        if (Modifier.isAbstract(callObjectClass.getModifiers())) {
+            throw new IllegalArgumentException(callObjectClass + " is abstract");
+        }
+        if (!interfaceClass.isInterface()) {
+            throw new IllegalArgumentException(interfaceClass + " is not interface");
+        }
+
+        this.callConstructor = callConstructor;
+        this.interfaceClass = interfaceClass;
+        this.implementMethod = DefaultDynamicMethodFactory.findImplementMethod(interfaceClass);
+        if (!TypeConversions.isConvertible(implementMethod.getReturnType(), callObjectClass)) {
+            throw new IllegalArgumentException(interfaceClass + " method " + implementMethod.getName()
+                    + " can not return " + callObjectClass);
+        }
+
+        this.parameters = new SingleParameterDynamicMethodFactory(
+                callObjectClass,
+                interfaceClass,
+                contextClass,
+                parameterDispatcher);
+        this.className = callObjectClass.getName() + "_new_" + DefaultDynamicMethodFactory.nextClassNumber();
+    }
+
+    byte[] generate() {
+        classWriter.visit(DynamicMethodFactory.javaVersion,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                getInternalClassName(),
+                null,
+                "java/lang/Object",
+                new String[] {Type.getInternalName(interfaceClass)});
+
+        FieldAccessorFactory.declareConstructor(classWriter);
+        declareNew();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    private String getInternalClassName() {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public [R] [method](...) {
+     *      return ([R]) new [CallObjectClass](...);
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareNew() {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                implementMethod.getName(),
+                Type.getMethodDescriptor(implementMethod),
+                null,
+                null);
+        final Class<?> callObjectClass = callConstructor.getDeclaringClass();
+        final String callObjectName = Type.getInternalName(callObjectClass);
+        mv.visitTypeInsn(Opcodes.NEW, callObjectName);
+        mv.visitInsn(Opcodes.DUP);
+        parameters.loadAllParameters(mv, callConstructor, DefaultDynamicMethodFactory.Arguments.of(implementMethod));
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                callObjectName,
+                "<init>",
+                Type.getConstructorDescriptor(callConstructor),
+                false);
+
+        final Class<?> returnType = implementMethod.getReturnType();
+        TypeConversions.convert(mv, returnType, callObjectClass);
+        mv.visitInsn(Type.getType(returnType).getOpcode(Opcodes.IRETURN));
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+}
@@ -0,0 +1,37 @@
+package org.rudtyz.generate;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * {@link ParameterDispatcher} of method and constructor targets, the call target is passed as an {@link Executable}
+ * <pre>
+ * {@code
+ *  // new User(row.getName(), row.getAge())
+ *  ConstructorParameterDispatcher d = (contextClass, callExecutable, parameter, parameterIndex) ->
+ *          contextClass.getMethod("get" + capitalize(parameter.getName()));
+ *  DynamicMethodFactory.generateConstructorClass(constructor, Function.class, Row.class, d);
+ * }
+ * </pre>
+ * @see DynamicMethodFactory#generateConstructorClass
+ */
+@FunctionalInterface
+public interface ConstructorParameterDispatcher extends ParameterDispatcher {
+
+    /**
+     * @param callExecutable call method or constructor
+     * @return no argument method of contextClass
+     */
+    Method parameterDispatch(Class<?> contextClass, Executable callExecutable, Parameter parameter, int parameterIndex)
+            throws NoSuchMethodException;
+
+    @Override
+    default Method parameterDispatch(
+            final Class<?> contextClass,
+            final Method callMethod,
+            final Parameter parameter,
+            final int parameterIndex) throws NoSuchMethodException {
+        return parameterDispatch(contextClass, (Executable) callMethod, parameter, parameterIndex);
+    }
+}
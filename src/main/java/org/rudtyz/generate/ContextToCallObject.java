@@ -4,4 +4,12 @@ import java.lang.reflect.Method;
 
 public interface ContextToCallObject {
     Method getCallObjectMethod(Class<?> contextClass) throws NoSuchMethodException;
+
+    /**
+     * identity in {@link StableClassNames stable class names}, see {@link ParameterDispatcher#stableId()}
+     * @return nullable, null = bindings of this instance get counter names
+     */
+    default String stableId() {
+        return null;
+    }
 }
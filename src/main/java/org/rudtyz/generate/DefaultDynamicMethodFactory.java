@@ -1,14 +1,28 @@
 package org.rudtyz.generate;
 
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Generate dynamic class
@@ -24,13 +38,39 @@ import java.util.concurrent.atomic.AtomicInteger;
  *      public void [interfaceClass.methodName](String s) {
  *          this.instance.invokeMethod(s); // callMethod
  *      }
+ *
+ *      public int [interfaceClass.otherMethodName]() { // multi method binding
+ *          return this.instance.otherMethod();
+ *      }
  * }
  * }
  * </pre>
+ * an interface method returning CompletableFuture over a blocking callMethod makes the class an async binding,
+ * see {@link AsyncInvokers}
  */
 class DefaultDynamicMethodFactory {
     private static final String FIELD_NAME = "instance";
+    private static final String TASK_CLASS_SUFFIX = "$Task";
+    private static final String TASK_ARGUMENT_PREFIX = "a";
+    private static final String TASK = "TASK";
+    private static final String METRIC_CALLS = "CALLS";
+    private static final String METRIC_ERRORS = "ERRORS";
+    private static final String METRIC_LATENCY = "LATENCY";
+    private static final String RECEIVER_PROFILE = "PROFILE";
+    private static final int CLASS_NAME_BLOCK_SIZE = 64;
     private static final AtomicInteger classNameCounter = new AtomicInteger(0);
+
+    /**
+     * [next, end) class name numbers reserved by the thread, the shared counter is touched once per block
+     */
+    private static final ThreadLocal<int[]> classNameBlock = ThreadLocal.withInitial(() -> new int[2]);
+
+    private static final ClassValue<Method> implementMethods = new ClassValue<>() {
+        @Override
+        protected Method computeValue(final Class<?> interfaceClass) {
+            return lookupImplementMethod(interfaceClass);
+        }
+    };
     private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
     protected final Type callObjectType;
     protected final Class<?> callObjectClass;
@@ -43,6 +83,11 @@ class DefaultDynamicMethodFactory {
 
     protected final Method interfaceImplementMethod;
 
+    /**
+     * interface method -> call method, interfaceImplementMethod -> callMethod for a single method binding
+     */
+    protected final Map<Method, Method> methods;
+
     /**
      * org.hello.MyGenClass
      */
@@ -53,6 +98,41 @@ class DefaultDynamicMethodFactory {
      */
     private final boolean generateField;
 
+    /**
+     * instrument generated methods, see {@link InvokerMetrics}
+     */
+    private boolean invokerMetrics;
+
+    /**
+     * generated class also implements {@link BulkInvoker}
+     */
+    private boolean bulk;
+
+    /**
+     * nullable, exact receiver classes called directly, see {@link ReceiverTypeProfile}
+     */
+    private List<Class<?>> receiverClasses;
+
+    /**
+     * nullable, interface method returning a future over a blocking call method
+     */
+    private final Method asyncMethod;
+
+    /**
+     * task class bytes of the async method, one char per byte, see {@link #generateTask}
+     */
+    private String taskClassData;
+
+    /**
+     * internal name of the task class while its call is generated, null = the generated class
+     */
+    private String taskClassName;
+
+    /**
+     * next free local variable of the method being generated, -1 = after the arguments
+     */
+    private int nextLocal = -1;
+
     protected DefaultDynamicMethodFactory(
             final Class<?> callObjectClass,
             final Method callMethod,
@@ -65,43 +145,99 @@ class DefaultDynamicMethodFactory {
             final Method callMethod,
             final Class<?> interfaceClass,
             final boolean generateField) {
+        this(callObjectClass, Map.of(findImplementMethod(interfaceClass), callMethod), interfaceClass, generateField);
+    }
+
+    /**
+     * parameter loading without a call method, a constructor target
+     * @param callObjectClass constructor declaring class
+     * @param interfaceClass arguments of its single abstract method
+     */
+    protected DefaultDynamicMethodFactory(final Class<?> callObjectClass, final Class<?> interfaceClass) {
         this.callObjectClass = callObjectClass;
         this.callObjectType = Type.getType(callObjectClass);
-        this.callMethod = callMethod;
+        this.callMethod = null;
         this.interfaceClass = interfaceClass;
-        this.generateField = generateField && !Modifier.isStatic(callMethod.getModifiers());
         this.interfaceImplementMethod = findImplementMethod(interfaceClass);
+        this.methods = Map.of();
+        this.generateField = false;
+        this.asyncMethod = null;
     }
 
+    /**
+     * @param methods every abstract method of interfaceClass -&gt; call method, see {@link MethodBindings}
+     */
+    protected DefaultDynamicMethodFactory(
+            final Class<?> callObjectClass,
+            final Map<Method, Method> methods,
+            final Class<?> interfaceClass,
+            final boolean generateField) {
+        final Map.Entry<Method, Method> first = methods.entrySet().iterator().next();
+        this.callObjectClass = callObjectClass;
+        this.callObjectType = Type.getType(callObjectClass);
+        this.callMethod = first.getValue();
+        this.interfaceClass = interfaceClass;
+        this.interfaceImplementMethod = first.getKey();
+        this.methods = methods;
+
+        boolean anyInstanceMethod = false;
+        Method asyncMethod = null;
+        for (final Map.Entry<Method, Method> m : methods.entrySet()) {
+            anyInstanceMethod |= !Modifier.isStatic(m.getValue().getModifiers());
+            if (AsyncInvokers.isAsync(m.getKey().getReturnType(), m.getValue().getReturnType())) {
+                asyncMethod = m.getKey();
+            }
+        }
+        if (asyncMethod != null && methods.size() > 1) {
+            throw new IllegalArgumentException(interfaceClass + " async binding supports one interface method");
+        }
+        this.generateField = generateField && anyInstanceMethod;
+        this.asyncMethod = asyncMethod;
+    }
+
+
     public final byte[] generate() {
+        if (methods.isEmpty()) {
+            throw new IllegalStateException(callObjectClass + " parameter loading only, no call method");
+        }
+        if (asyncMethod != null) {
+            taskClassData = new String(generateTask(asyncMethod, methods.get(asyncMethod)), StandardCharsets.ISO_8859_1);
+        }
         declareClass();
+        declareStaticInit();
         declareConstructor();
-        declareMethod(interfaceImplementMethod);
+        for (final Map.Entry<Method, Method> m : methods.entrySet()) {
+            if (m.getKey() == asyncMethod) {
+                declareSubmit(m.getKey());
+            } else {
+                declareMethod(m.getKey(), m.getValue());
+            }
+        }
+        if (bulk) {
+            declareBulk();
+        }
 
         return classWriter.toByteArray();
     }
 
+    /**
+     * @param interfaceClass interface
+     * @return abstract method, looked up once per interface
+     */
     protected static Method findImplementMethod(Class<?> interfaceClass) {
-        final Method[] methodCandidate = interfaceClass.getMethods();
-        Method implementMethod = null;
-        if (methodCandidate.length == 0) {
-            throw new IllegalArgumentException("interface must have one method");
-        } else if (methodCandidate.length == 1) {
-            implementMethod = methodCandidate[0];
-        } else {
-            for (final Method m : methodCandidate) {
-                if (m.isDefault()) {
-                    continue;
-                }
-
-                implementMethod = m;
-            }
+        return implementMethods.get(interfaceClass);
+    }
 
-            if (implementMethod == null) {
-                throw new IllegalArgumentException("interface must have abstract method");
-            }
+    private static Method lookupImplementMethod(final Class<?> interfaceClass) {
+        final List<Method> abstractMethods = MethodBindings.abstractMethods(interfaceClass);
+        if (abstractMethods.isEmpty()) {
+            throw new IllegalArgumentException("interface must have abstract method");
+        }
+        if (abstractMethods.size() > 1) {
+            throw new IllegalArgumentException(interfaceClass + " has " + abstractMethods.size()
+                    + " abstract methods, bind every method with DynamicMethodFactory.generateClass(callObjectClass, interfaceClass)");
         }
-        return implementMethod;
+        return abstractMethods.get(0);
     }
 
     /**
@@ -120,13 +256,77 @@ class DefaultDynamicMethodFactory {
      * }
      * </pre>
      */
-    private void declareMethod(final Method implementMethod) {
+    private void declareMethod(final Method implementMethod, final Method callMethod) {
         final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
                 implementMethod.getName(),
                 Type.getMethodDescriptor(implementMethod),
                 null,
                 null);
 
+        final Label tryStart = new Label();
+        final Label tryEnd = new Label();
+        final Label catchHandler = new Label();
+        nextLocal = -1;
+        final int startLocal = invokerMetrics ? newLocal(Arguments.of(implementMethod), long.class) : -1;
+        if (invokerMetrics) {
+            // CALLS.increment(); long start = System.nanoTime(); try {
+            mv.visitTryCatchBlock(tryStart, tryEnd, catchHandler, null);
+            incrementMetric(mv, METRIC_CALLS);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+            mv.visitVarInsn(Opcodes.LSTORE, startLocal);
+            mv.visitLabel(tryStart);
+        }
+
+        invokeCallMethod(mv, callMethod, Arguments.of(implementMethod));
+
+        if (AsyncInvokers.isAwait(implementMethod.getReturnType(), callMethod.getReturnType())) {
+            // AsyncInvokers.await(future)
+            final Class<?> awaitType = Future.class.isAssignableFrom(callMethod.getReturnType())
+                    ? Future.class
+                    : CompletionStage.class;
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC,
+                    Type.getInternalName(AsyncInvokers.class),
+                    "await",
+                    Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(awaitType)),
+                    false);
+            tryCast(mv, implementMethod.getReturnType(), Object.class);
+        } else {
+            tryCast(mv,
+                    implementMethod.getReturnType(),
+                    callMethod.getReturnType());
+        }
+
+        if (invokerMetrics) {
+            // } catch (Throwable t) { ERRORS.increment(); LATENCY.record(...); throw t; }
+            mv.visitLabel(tryEnd);
+            recordLatency(mv, startLocal);
+            returnInsn(mv, implementMethod);
+
+            mv.visitLabel(catchHandler);
+            incrementMetric(mv, METRIC_ERRORS);
+            recordLatency(mv, startLocal);
+            mv.visitInsn(Opcodes.ATHROW);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            return;
+        }
+
+        returnMethod(mv, implementMethod);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  this.instance.callMethod(...) // parameters from the arguments
+     * }
+     * </pre>
+     */
+    private void invokeCallMethod(final MethodVisitor mv, final Method callMethod, final Arguments arguments) {
+        if (receiverClasses != null) {
+            invokeInlineCache(mv, callMethod, arguments);
+            return;
+        }
+
         final int opCode;
         if (Modifier.isStatic(callMethod.getModifiers())) {
             opCode = Opcodes.INVOKESTATIC;
@@ -138,72 +338,821 @@ class DefaultDynamicMethodFactory {
         }
 
         // load method parameter
-        loadAllParameters(mv, callMethod, implementMethod);
+        loadAllParameters(mv, callMethod, arguments);
 
         mv.visitMethodInsn(opCode,
                 callObjectType.getInternalName(),
                 callMethod.getName(),
                 Type.getMethodDescriptor(callMethod),
                 false);
+    }
 
-        tryCast(mv,
-                implementMethod.getReturnType(),
-                callMethod.getReturnType());
+    /**
+     * <pre>
+     * {@code
+     *  T receiver = this.instance;
+     *  Class<?> receiverClass = receiver.getClass();
+     *  if (receiverClass == A.class) {
+     *      ((A) receiver).callMethod(...);    // exact type, inlined
+     *  } else if (receiverClass == B.class) {
+     *      ((B) receiver).callMethod(...);
+     *  } else {
+     *      PROFILE.record(receiver);
+     *      receiver.callMethod(...);          // virtual
+     *  }
+     * }
+     * </pre>
+     * parameters are loaded in every branch, the result of each branch is left on the stack
+     */
+    private void invokeInlineCache(final MethodVisitor mv, final Method callMethod, final Arguments arguments) {
+        final String descriptor = Type.getMethodDescriptor(callMethod);
+        final int receiverLocal = newLocal(arguments, callObjectClass);
+        final int classLocal = newLocal(arguments, Class.class);
+        loadInstance(mv);
+        storeLocal(mv, receiverLocal, callObjectClass);
+        loadArgument(mv, receiverLocal, callObjectClass);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Object", "getClass", "()Ljava/lang/Class;", false);
+        mv.visitVarInsn(Opcodes.ASTORE, classLocal);
+
+        final Label done = new Label();
+        for (final Class<?> receiverClass : receiverClasses) {
+            final Label next = new Label();
+            final String receiverName = Type.getInternalName(receiverClass);
+            mv.visitVarInsn(Opcodes.ALOAD, classLocal);
+            mv.visitLdcInsn(Type.getType(receiverClass));
+            mv.visitJumpInsn(Opcodes.IF_ACMPNE, next);
+            loadArgument(mv, receiverLocal, callObjectClass);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, receiverName);
+            loadAllParameters(mv, callMethod, arguments);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, receiverName, callMethod.getName(), descriptor, false);
+            mv.visitJumpInsn(Opcodes.GOTO, done);
+            mv.visitLabel(next);
+        }
+
+        loadShared(mv, RECEIVER_PROFILE, Type.getDescriptor(ReceiverTypeProfile.class));
+        loadArgument(mv, receiverLocal, callObjectClass);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                Type.getInternalName(ReceiverTypeProfile.class),
+                "record",
+                "(Ljava/lang/Object;)V",
+                false);
+        loadArgument(mv, receiverLocal, callObjectClass);
+        loadAllParameters(mv, callMethod, arguments);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, callObjectType.getInternalName(), callMethod.getName(), descriptor, false);
+        mv.visitLabel(done);
+    }
 
+    /**
+     * one task per call, its class is generated per binding by {@link #generateTask}
+     * <pre>
+     * {@code
+     *  public CompletableFuture [methodName](A a) {
+     *      if (TASK != null) {
+     *          // hidden generated class, the task class is not found by name
+     *          return ((AsyncInvokers.Task) TASK.invokeExact(this.instance, a)).submit();
+     *      }
+     *      return new [GeneratedClass]$Task(this.instance, a).submit();
+     *  }
+     * }
+     * </pre>
+     * TASK is a static final constant, the branch not taken is dropped by the JIT
+     * @see AsyncInvokers#defineTask
+     */
+    private void declareSubmit(final Method implementMethod) {
+        final Arguments arguments = Arguments.of(implementMethod);
+        final List<TaskField> fields = taskFields(implementMethod);
+        final String taskName = getInternalClassName() + TASK_CLASS_SUFFIX;
+        final String baseName = Type.getInternalName(AsyncInvokers.Task.class);
+        final String submitDescriptor = Type.getMethodDescriptor(Type.getType(CompletableFuture.class));
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                implementMethod.getName(),
+                Type.getMethodDescriptor(implementMethod),
+                null,
+                null);
+
+        final Label byName = new Label();
+        mv.visitFieldInsn(Opcodes.GETSTATIC, getInternalClassName(), TASK, Type.getDescriptor(MethodHandle.class));
+        mv.visitJumpInsn(Opcodes.IFNULL, byName);
+        mv.visitFieldInsn(Opcodes.GETSTATIC, getInternalClassName(), TASK, Type.getDescriptor(MethodHandle.class));
+        loadTaskFields(mv, fields, arguments);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                Type.getInternalName(MethodHandle.class),
+                "invokeExact",
+                Type.getMethodDescriptor(Type.getType(AsyncInvokers.Task.class), taskFieldTypes(fields)),
+                false);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, baseName, "submit", submitDescriptor, false);
+        mv.visitInsn(Opcodes.ARETURN);
+
+        mv.visitLabel(byName);
+        mv.visitTypeInsn(Opcodes.NEW, taskName);
+        mv.visitInsn(Opcodes.DUP);
+        loadTaskFields(mv, fields, arguments);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                taskName,
+                "<init>",
+                Type.getMethodDescriptor(Type.VOID_TYPE, taskFieldTypes(fields)),
+                false);
+        // the task class is not loaded to verify this class, it is defined by the static initializer
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, taskName, "submit", submitDescriptor, false);
         returnMethod(mv, implementMethod);
     }
 
+    /**
+     * constructor arguments of the task in field order
+     */
+    private void loadTaskFields(final MethodVisitor mv, final List<TaskField> fields, final Arguments arguments) {
+        for (final TaskField field : fields) {
+            if (field.argument() >= 0) {
+                loadArgument(mv, arguments.slot(field.argument()), field.type());
+            } else if (field.name().equals(FIELD_NAME)) {
+                loadInstance(mv);
+            } else {
+                loadShared(mv, field.name(), Type.getDescriptor(field.type()));
+            }
+        }
+    }
+
+    /**
+     * receiver, static fields of the generated class the call reads, then the interface arguments
+     */
+    private List<TaskField> taskFields(final Method implementMethod) {
+        final List<TaskField> fields = new ArrayList<>();
+        if (generateField) {
+            fields.add(new TaskField(FIELD_NAME, callObjectClass, -1));
+        }
+        if (invokerMetrics) {
+            fields.add(new TaskField(METRIC_CALLS, LongAdder.class, -1));
+            fields.add(new TaskField(METRIC_ERRORS, LongAdder.class, -1));
+            fields.add(new TaskField(METRIC_LATENCY, LatencyHistogram.class, -1));
+        }
+        if (receiverClasses != null) {
+            fields.add(new TaskField(RECEIVER_PROFILE, ReceiverTypeProfile.class, -1));
+        }
+        final Class<?>[] argumentTypes = implementMethod.getParameterTypes();
+        for (int i = 0; i < argumentTypes.length; ++i) {
+            fields.add(new TaskField(TASK_ARGUMENT_PREFIX + i, argumentTypes[i], i));
+        }
+        return fields;
+    }
+
+    private static Type[] taskFieldTypes(final List<TaskField> fields) {
+        final Type[] types = new Type[fields.size()];
+        for (int i = 0; i < types.length; ++i) {
+            types[i] = Type.getType(fields.get(i).type());
+        }
+        return types;
+    }
+
+    /**
+     * field of the task class
+     * @param argument interface argument index, -1 = field of the generated class
+     */
+    private record TaskField(String name, Class<?> type, int argument) {
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  final class [GeneratedClass]$Task extends AsyncInvokers.Task {
+     *      private final T instance;       // instance callMethod
+     *      private final LongAdder CALLS;  // invoker metrics, copied from the generated class
+     *      private final A a0;
+     *
+     *      [GeneratedClass]$Task(T instance, A a0) {
+     *          super();
+     *          this.instance = instance;
+     *          this.a0 = a0;
+     *      }
+     *
+     *      protected Object call() {
+     *          A a = this.a0;
+     *          return this.instance.callMethod(a); // null for a void callMethod
+     *      }
+     *  }
+     * }
+     * </pre>
+     * the task does not name the generated class, a hidden generated class defines it as hidden nestmate.
+     * invoker metrics measure the call on the executor, not the submit, and are recorded before completion
+     * @return task class bytes
+     */
+    private byte[] generateTask(final Method implementMethod, final Method callMethod) {
+        final ClassWriter taskWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        final String taskName = getInternalClassName() + TASK_CLASS_SUFFIX;
+        final String baseName = Type.getInternalName(AsyncInvokers.Task.class);
+        final List<TaskField> fields = taskFields(implementMethod);
+        taskWriter.visit(DynamicMethodFactory.javaVersion,
+                Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                taskName,
+                null,
+                baseName,
+                null);
+        for (final TaskField field : fields) {
+            taskWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+                    field.name(),
+                    Type.getDescriptor(field.type()),
+                    null,
+                    null);
+        }
+
+        final MethodVisitor init = taskWriter.visitMethod(0,
+                "<init>",
+                Type.getMethodDescriptor(Type.VOID_TYPE, taskFieldTypes(fields)),
+                null,
+                null);
+        loadThis(init);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, baseName, "<init>", "()V", false);
+        int slot = 1;
+        for (final TaskField field : fields) {
+            loadThis(init);
+            loadArgument(init, slot, field.type());
+            init.visitFieldInsn(Opcodes.PUTFIELD, taskName, field.name(), Type.getDescriptor(field.type()));
+            slot += Type.getType(field.type()).getSize();
+        }
+        returnMethod(init, null);
+
+        taskClassName = taskName;
+        try {
+            declareTaskCall(taskWriter, fields, implementMethod, callMethod);
+        } finally {
+            taskClassName = null;
+        }
+        taskWriter.visitEnd();
+        return taskWriter.toByteArray();
+    }
+
+    /**
+     * arguments are read into the locals of the interface method, the call is generated as in the generated class
+     */
+    private void declareTaskCall(
+            final ClassWriter taskWriter,
+            final List<TaskField> fields,
+            final Method implementMethod,
+            final Method callMethod) {
+        final MethodVisitor mv = taskWriter.visitMethod(Opcodes.ACC_PROTECTED,
+                "call",
+                Type.getMethodDescriptor(Type.getType(Object.class)),
+                null,
+                null);
+        final Arguments arguments = Arguments.of(implementMethod);
+        for (final TaskField field : fields) {
+            if (field.argument() >= 0) {
+                loadThis(mv);
+                mv.visitFieldInsn(Opcodes.GETFIELD, taskClassName, field.name(), Type.getDescriptor(field.type()));
+                storeLocal(mv, arguments.slot(field.argument()), field.type());
+            }
+        }
+
+        final Label tryStart = new Label();
+        final Label tryEnd = new Label();
+        final Label catchHandler = new Label();
+        nextLocal = -1;
+        final int startLocal = invokerMetrics ? newLocal(arguments, long.class) : -1;
+        if (invokerMetrics) {
+            mv.visitTryCatchBlock(tryStart, tryEnd, catchHandler, null);
+            incrementMetric(mv, METRIC_CALLS);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+            mv.visitVarInsn(Opcodes.LSTORE, startLocal);
+            mv.visitLabel(tryStart);
+        }
+
+        invokeCallMethod(mv, callMethod, arguments);
+        if (callMethod.getReturnType() == void.class) {
+            // a void call completes the future with null
+            mv.visitInsn(Opcodes.ACONST_NULL);
+        } else {
+            tryCast(mv, Object.class, callMethod.getReturnType());
+        }
+
+        if (invokerMetrics) {
+            mv.visitLabel(tryEnd);
+            recordLatency(mv, startLocal);
+            mv.visitInsn(Opcodes.ARETURN);
+
+            mv.visitLabel(catchHandler);
+            incrementMetric(mv, METRIC_ERRORS);
+            recordLatency(mv, startLocal);
+            mv.visitInsn(Opcodes.ATHROW);
+        } else {
+            mv.visitInsn(Opcodes.ARETURN);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * {@link BulkInvoker} methods, the loop body is the single interface method body with the element as argument
+     */
+    private void declareBulk() {
+        if (methods.size() != 1 || asyncMethod != null) {
+            throw new IllegalArgumentException(interfaceClass + " bulk binding supports one sync interface method");
+        }
+        final Class<?>[] argumentTypes = interfaceImplementMethod.getParameterTypes();
+        if (argumentTypes.length != 1 || argumentTypes[0].isPrimitive()) {
+            throw new IllegalArgumentException(interfaceClass + " bulk binding needs one reference argument");
+        }
+
+        declareBulkArray("acceptAll", void.class);
+        declareBulkList();
+        if (isBulkResult(int.class)) {
+            declareBulkArray("applyAllAsInt", int.class);
+        }
+        if (isBulkResult(long.class)) {
+            declareBulkArray("applyAllAsLong", long.class);
+        }
+    }
+
+    /**
+     * @param resultClass int, long
+     * @return true = callMethod result converts to resultClass, generated class implements {@link IntBulkInvoker}
+     * or {@link LongBulkInvoker}
+     */
+    private boolean isBulkResult(final Class<?> resultClass) {
+        final Class<?> returnType = callMethod.getReturnType();
+        return returnType != void.class && TypeConversions.isConvertible(resultClass, returnType);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public void applyAllAsInt(Object[] contexts, int from, int to, int[] results) {
+     *      Objects.checkFromToIndex(from, to, contexts.length);
+     *      for (int i = from; i < to; ++i) {
+     *          C context = (C) contexts[i];
+     *          results[i] = this.instance.callMethod(context);
+     *      }
+     *  }
+     * }
+     * </pre>
+     * @param resultClass void = acceptAll, int, long
+     */
+    private void declareBulkArray(final String name, final Class<?> resultClass) {
+        final Type arrayType = Type.getType(Object[].class);
+        final String descriptor = resultClass == void.class
+                ? Type.getMethodDescriptor(Type.VOID_TYPE, arrayType, Type.INT_TYPE, Type.INT_TYPE)
+                : Type.getMethodDescriptor(Type.VOID_TYPE, arrayType, Type.INT_TYPE, Type.INT_TYPE,
+                        Type.getType(resultClass.arrayType()));
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC, name, descriptor, null, null);
+        final int contextsLocal = 1;
+        final int fromLocal = 2;
+        final int toLocal = 3;
+        final int resultsLocal = 4;
+        final int indexLocal = resultClass == void.class ? 4 : 5;
+        final int elementLocal = indexLocal + 1;
+
+        // Objects.checkFromToIndex(from, to, contexts.length);
+        mv.visitVarInsn(Opcodes.ILOAD, fromLocal);
+        mv.visitVarInsn(Opcodes.ILOAD, toLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, contextsLocal);
+        mv.visitInsn(Opcodes.ARRAYLENGTH);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects", "checkFromToIndex", "(III)I", false);
+        mv.visitInsn(Opcodes.POP);
+
+        final Label loop = new Label();
+        final Label end = new Label();
+        mv.visitVarInsn(Opcodes.ILOAD, fromLocal);
+        mv.visitVarInsn(Opcodes.ISTORE, indexLocal);
+        mv.visitLabel(loop);
+        mv.visitVarInsn(Opcodes.ILOAD, indexLocal);
+        mv.visitVarInsn(Opcodes.ILOAD, toLocal);
+        mv.visitJumpInsn(Opcodes.IF_ICMPGE, end);
+
+        if (resultClass != void.class) {
+            mv.visitVarInsn(Opcodes.ALOAD, resultsLocal);
+            mv.visitVarInsn(Opcodes.ILOAD, indexLocal);
+        }
+        mv.visitVarInsn(Opcodes.ALOAD, contextsLocal);
+        mv.visitVarInsn(Opcodes.ILOAD, indexLocal);
+        mv.visitInsn(Opcodes.AALOAD);
+        bulkCall(mv, elementLocal, resultClass);
+        if (resultClass == int.class) {
+            mv.visitInsn(Opcodes.IASTORE);
+        } else if (resultClass == long.class) {
+            mv.visitInsn(Opcodes.LASTORE);
+        }
+
+        mv.visitIincInsn(indexLocal, 1);
+        mv.visitJumpInsn(Opcodes.GOTO, loop);
+        mv.visitLabel(end);
+        returnMethod(mv, null);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public void acceptAll(List contexts) {
+     *      if (contexts instanceof RandomAccess) {
+     *          for (int i = 0, n = contexts.size(); i < n; ++i) {
+     *              this.instance.callMethod((C) contexts.get(i));
+     *          }
+     *      } else {
+     *          for (Iterator it = contexts.iterator(); it.hasNext();) {
+     *              this.instance.callMethod((C) it.next());
+     *          }
+     *      }
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareBulkList() {
+        final String listName = Type.getInternalName(List.class);
+        final String iteratorName = Type.getInternalName(Iterator.class);
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                "acceptAll",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(List.class)),
+                null,
+                null);
+        final int listLocal = 1;
+        final int sizeLocal = 2;
+        final int indexLocal = 3;
+        final int iteratorLocal = 2;
+        final int elementLocal = 4;
+        final Label iterate = new Label();
+        final Label loop = new Label();
+        final Label end = new Label();
+
+        mv.visitVarInsn(Opcodes.ALOAD, listLocal);
+        mv.visitTypeInsn(Opcodes.INSTANCEOF, Type.getInternalName(RandomAccess.class));
+        mv.visitJumpInsn(Opcodes.IFEQ, iterate);
+        mv.visitVarInsn(Opcodes.ALOAD, listLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, listName, "size", "()I", true);
+        mv.visitVarInsn(Opcodes.ISTORE, sizeLocal);
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitVarInsn(Opcodes.ISTORE, indexLocal);
+        mv.visitLabel(loop);
+        mv.visitVarInsn(Opcodes.ILOAD, indexLocal);
+        mv.visitVarInsn(Opcodes.ILOAD, sizeLocal);
+        mv.visitJumpInsn(Opcodes.IF_ICMPGE, end);
+        mv.visitVarInsn(Opcodes.ALOAD, listLocal);
+        mv.visitVarInsn(Opcodes.ILOAD, indexLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, listName, "get", "(I)Ljava/lang/Object;", true);
+        bulkCall(mv, elementLocal, void.class);
+        mv.visitIincInsn(indexLocal, 1);
+        mv.visitJumpInsn(Opcodes.GOTO, loop);
+
+        final Label next = new Label();
+        mv.visitLabel(iterate);
+        mv.visitVarInsn(Opcodes.ALOAD, listLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, listName, "iterator", "()L" + iteratorName + ";", true);
+        mv.visitVarInsn(Opcodes.ASTORE, iteratorLocal);
+        mv.visitLabel(next);
+        mv.visitVarInsn(Opcodes.ALOAD, iteratorLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, iteratorName, "hasNext", "()Z", true);
+        mv.visitJumpInsn(Opcodes.IFEQ, end);
+        mv.visitVarInsn(Opcodes.ALOAD, iteratorLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, iteratorName, "next", "()Ljava/lang/Object;", true);
+        bulkCall(mv, elementLocal, void.class);
+        mv.visitJumpInsn(Opcodes.GOTO, next);
+
+        mv.visitLabel(end);
+        returnMethod(mv, null);
+    }
+
+    /**
+     * element on the stack -&gt; local, then the call with the element as the interface argument
+     * @param elementLocal local of the element, the arguments loadAllParameters reads
+     * @param resultClass call result converted to, void = dropped
+     */
+    private void bulkCall(final MethodVisitor mv, final int elementLocal, final Class<?> resultClass) {
+        final Class<?> elementClass = interfaceImplementMethod.getParameterTypes()[0];
+        if (elementClass != Object.class) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(elementClass));
+        }
+        mv.visitVarInsn(Opcodes.ASTORE, elementLocal);
+
+        nextLocal = -1;
+        final Arguments arguments = new Arguments(new Class<?>[] {elementClass}, new int[] {elementLocal});
+        invokeCallMethod(mv, callMethod, arguments);
+        tryCast(mv, resultClass, callMethod.getReturnType());
+    }
+
+    /**
+     * static fields of {@link #declareMetrics}, {@link #declareProfile} and {@link #declareTask}
+     * in one static initializer
+     */
+    private void declareStaticInit() {
+        if (!invokerMetrics && receiverClasses == null && asyncMethod == null) {
+            return;
+        }
+
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        if (invokerMetrics) {
+            declareMetrics(mv);
+        }
+        if (receiverClasses != null) {
+            declareProfile(mv);
+        }
+        if (asyncMethod != null) {
+            declareTask(mv);
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  private static final LongAdder CALLS;
+     *  private static final LongAdder ERRORS;
+     *  private static final LatencyHistogram LATENCY;
+     *  static {
+     *      InvokerMetrics m = InvokerMetrics.register([GeneratedClass].class, "[target]");
+     *      CALLS = m.getCalls();
+     *      ERRORS = m.getErrors();
+     *      LATENCY = m.getLatency();
+     *  }
+     * }
+     * </pre>
+     * @param mv static initializer
+     * @see InvokerMetrics
+     */
+    private void declareMetrics(final MethodVisitor mv) {
+        final String adderDescriptor = Type.getDescriptor(LongAdder.class);
+        final String histogramDescriptor = Type.getDescriptor(LatencyHistogram.class);
+        final String metricsName = Type.getInternalName(InvokerMetrics.class);
+        final int access = Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL;
+        classWriter.visitField(access, METRIC_CALLS, adderDescriptor, null, null);
+        classWriter.visitField(access, METRIC_ERRORS, adderDescriptor, null, null);
+        classWriter.visitField(access, METRIC_LATENCY, histogramDescriptor, null, null);
+
+        mv.visitLdcInsn(Type.getObjectType(getInternalClassName()));
+        mv.visitLdcInsn(metricsTarget());
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC,
+                metricsName,
+                "register",
+                Type.getMethodDescriptor(Type.getType(InvokerMetrics.class), Type.getType(Class.class), Type.getType(String.class)),
+                false);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, metricsName, "getCalls", "()" + adderDescriptor, false);
+        mv.visitFieldInsn(Opcodes.PUTSTATIC, getInternalClassName(), METRIC_CALLS, adderDescriptor);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, metricsName, "getErrors", "()" + adderDescriptor, false);
+        mv.visitFieldInsn(Opcodes.PUTSTATIC, getInternalClassName(), METRIC_ERRORS, adderDescriptor);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, metricsName, "getLatency", "()" + histogramDescriptor, false);
+        mv.visitFieldInsn(Opcodes.PUTSTATIC, getInternalClassName(), METRIC_LATENCY, histogramDescriptor);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  private static final ReceiverTypeProfile PROFILE = ReceiverTypeProfile.register("[callObjectClass].[callMethod]");
+     * }
+     * </pre>
+     * @param mv static initializer
+     */
+    private void declareProfile(final MethodVisitor mv) {
+        final String profileDescriptor = Type.getDescriptor(ReceiverTypeProfile.class);
+        classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                RECEIVER_PROFILE,
+                profileDescriptor,
+                null,
+                null);
+        mv.visitLdcInsn(ReceiverTypeProfile.targetOf(callObjectClass, callMethod));
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC,
+                Type.getInternalName(ReceiverTypeProfile.class),
+                "register",
+                Type.getMethodDescriptor(Type.getType(ReceiverTypeProfile.class), Type.getType(String.class)),
+                false);
+        mv.visitFieldInsn(Opcodes.PUTSTATIC, getInternalClassName(), RECEIVER_PROFILE, profileDescriptor);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  private static final MethodHandle TASK = AsyncInvokers.defineTask(MethodHandles.lookup(), "[task class bytes]");
+     * }
+     * </pre>
+     * the task class bytes travel in the constant pool, cached and ahead of time generated classes define it too
+     * @param mv static initializer
+     */
+    private void declareTask(final MethodVisitor mv) {
+        final String handleDescriptor = Type.getDescriptor(MethodHandle.class);
+        classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                TASK,
+                handleDescriptor,
+                null,
+                null);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC,
+                Type.getInternalName(MethodHandles.class),
+                "lookup",
+                Type.getMethodDescriptor(Type.getType(MethodHandles.Lookup.class)),
+                false);
+        mv.visitLdcInsn(taskClassData);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC,
+                Type.getInternalName(AsyncInvokers.class),
+                "defineTask",
+                Type.getMethodDescriptor(Type.getType(MethodHandle.class),
+                        Type.getType(MethodHandles.Lookup.class),
+                        Type.getType(String.class)),
+                false);
+        mv.visitFieldInsn(Opcodes.PUTSTATIC, getInternalClassName(), TASK, handleDescriptor);
+    }
+
+    /**
+     * [callObjectClass].[callMethod], [callObjectClass] as [interfaceClass] for a multi method binding
+     */
+    private String metricsTarget() {
+        if (methods.size() == 1) {
+            return callObjectClass.getName() + "." + callMethod.getName();
+        }
+        return callObjectClass.getName() + " as " + interfaceClass.getName();
+    }
+
+    private void incrementMetric(final MethodVisitor mv, final String fieldName) {
+        loadShared(mv, fieldName, Type.getDescriptor(LongAdder.class));
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(LongAdder.class), "increment", "()V", false);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  LATENCY.record(System.nanoTime() - start);
+     * }
+     * </pre>
+     */
+    private void recordLatency(final MethodVisitor mv, final int startLocal) {
+        loadShared(mv, METRIC_LATENCY, Type.getDescriptor(LatencyHistogram.class));
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+        mv.visitVarInsn(Opcodes.LLOAD, startLocal);
+        mv.visitInsn(Opcodes.LSUB);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(LatencyHistogram.class), "record", "(J)V", false);
+    }
+
     protected void loadAllParameters(MethodVisitor mv, Method callMethod, Method implementMethod) {
+        loadAllParameters(mv, callMethod, Arguments.of(implementMethod));
+    }
+
+    /**
+     * callMethod parameter from
+     * <ol>
+     * <li>argument at the same position: same type, widening, boxing, unboxing or upcast</li>
+     * <li>first unused argument of the same type</li>
+     * <li>first unused argument assignable to the parameter</li>
+     * <li>argument of the same type passed to another parameter</li>
+     * <li>{@link #loadParameter} (context, ParameterDispatcher)</li>
+     * <li>erased argument at the same position: CHECKCAST (Object -&gt; String)</li>
+     * </ol>
+     */
+    protected void loadAllParameters(MethodVisitor mv, Executable callMethod, Arguments arguments) {
         final Parameter[] parameters = callMethod.getParameters();
+        final boolean[] used = new boolean[arguments.size()];
         for (int i = 0; i < parameters.length; ++i) {
             final Parameter parameter = parameters[i];
             final Class<?> parameterType = parameter.getType();
-            if (implementMethod.getParameterCount() == 1 &&
-                    parameterType == implementMethod.getParameterTypes()[0]) {
-                loadArgument(mv, 1, parameterType);
-            } else {
-                if (!loadParameter(mv, callMethod, parameter, i, implementMethod)) {
+            final int argumentIndex = findArgument(parameterType, i, arguments, used);
+            if (argumentIndex >= 0) {
+                used[argumentIndex] = true;
+                final Class<?> argumentType = arguments.type(argumentIndex);
+                loadArgument(mv, arguments.slot(argumentIndex), argumentType);
+                tryCast(mv, parameterType, argumentType);
+            } else if (!loadParameter(mv, callMethod, parameter, i, arguments)) {
+                if (i < arguments.size() && isDowncast(parameterType, arguments.type(i))) {
+                    loadArgument(mv, arguments.slot(i), arguments.type(i));
+                    tryCast(mv, parameterType, arguments.type(i));
+                } else {
                     throw new IllegalArgumentException("method: " + callMethod.getName() + "parameter not found: " + parameter);
                 }
             }
         }
     }
 
+    private static int findArgument(
+            final Class<?> parameterType,
+            final int parameterIndex,
+            final Arguments arguments,
+            final boolean[] used) {
+        final int size = arguments.size();
+        if (parameterIndex < size && !used[parameterIndex]) {
+            final Class<?> argumentType = arguments.type(parameterIndex);
+            if (isDirectArgument(parameterType, argumentType) || isUpcast(parameterType, argumentType)) {
+                return parameterIndex;
+            }
+        }
+
+        for (int i = 0; i < size; ++i) {
+            if (!used[i] && arguments.type(i) == parameterType) {
+                return i;
+            }
+        }
+
+        for (int i = 0; i < size; ++i) {
+            if (!used[i] && isUpcast(parameterType, arguments.type(i))) {
+                return i;
+            }
+        }
+
+        for (int i = 0; i < size; ++i) {
+            if (arguments.type(i) == parameterType) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isDowncast(final Class<?> parameterType, final Class<?> argumentType) {
+        return !parameterType.isPrimitive()
+                && !argumentType.isPrimitive()
+                && argumentType.isAssignableFrom(parameterType);
+    }
+
+    private static boolean isUpcast(final Class<?> parameterType, final Class<?> argumentType) {
+        return !parameterType.isPrimitive()
+                && !argumentType.isPrimitive()
+                && parameterType.isAssignableFrom(argumentType);
+    }
+
+    /**
+     * interface argument passed to the parameter as is, widened, boxed or unboxed
+     * <pre>
+     * {@code
+     *  int <- int, long <- int, Integer <- int, long <- Integer
+     * }
+     * </pre>
+     * an Object argument is not unboxed here, it may be a context
+     */
+    protected static boolean isDirectArgument(final Class<?> parameterType, final Class<?> argumentType) {
+        if (parameterType == argumentType) {
+            return true;
+        }
+        if (!argumentType.isPrimitive() && !TypeConversions.isWrapper(argumentType)) {
+            return false;
+        }
+        if (!parameterType.isPrimitive() && !TypeConversions.isWrapper(parameterType)) {
+            return false;
+        }
+        return TypeConversions.isConvertible(parameterType, argumentType);
+    }
+
     protected boolean loadParameter(
             MethodVisitor mv,
-            Method callMethod,
+            Executable callMethod,
             Parameter parameter,
             int parameterIndex,
-            Method implementMethod) {
+            Arguments arguments) {
         return false;
     }
 
+    /**
+     * values the generated method can pass to callMethod
+     * <pre>
+     * {@code
+     *  void accept(Request request, long deadline, Session session)
+     *  types = [Request, long, Session], slots = [1, 2, 4]
+     * }
+     * </pre>
+     * @param types argument types
+     * @param slots argument local variable index, long and double take 2 slots
+     */
+    protected record Arguments(Class<?>[] types, int[] slots) {
+        static Arguments of(final Method implementMethod) {
+            final Class<?>[] types = implementMethod.getParameterTypes();
+            final int[] slots = new int[types.length];
+            int slot = 1;
+            for (int i = 0; i < types.length; ++i) {
+                slots[i] = slot;
+                slot += Type.getType(types[i]).getSize();
+            }
+            return new Arguments(types, slots);
+        }
+
+        int size() {
+            return types.length;
+        }
+
+        /**
+         * @return first local variable index after the arguments
+         */
+        int nextSlot() {
+            if (types.length == 0) {
+                return 1;
+            }
+            final int last = types.length - 1;
+            return slots[last] + Type.getType(types[last]).getSize();
+        }
+
+        Class<?> type(final int index) {
+            return types[index];
+        }
+
+        int slot(final int index) {
+            return slots[index];
+        }
+    }
+
     /**
      * <pre>
      * {@code
      *    (castClass) stackClass
      * }
      * </pre>
+     * reference cast, primitive widening, boxing and unboxing
      * @param mv method visitor
      * @param castClass cast class
      * @param stackClass current stack class
+     * @see TypeConversions
      */
-    @SuppressWarnings("StatementWithEmptyBody")
     protected final void tryCast(MethodVisitor mv, Class<?> castClass, Class<?> stackClass) {
-        if (castClass != stackClass) {
-            if (castClass.isPrimitive() || stackClass.isPrimitive()) {
-                throw new IllegalArgumentException(
-                        "return type not match " + castClass + " " + stackClass + " not support primitive cast");
-            }
-
-            if (castClass.isAssignableFrom(stackClass)) {
-                // do nothing
-            } else if (stackClass.isAssignableFrom(castClass)) {
-                mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(castClass));
-            } else {
-                throw new IllegalArgumentException("return type not match" + castClass + " " + stackClass);
-            }
-        }
+        TypeConversions.convert(mv, castClass, stackClass);
     }
 
     /**
@@ -223,12 +1172,23 @@ class DefaultDynamicMethodFactory {
      * </pre>
      */
     private void declareClass() {
+        final List<String> interfaces = new ArrayList<>();
+        interfaces.add(Type.getInternalName(interfaceClass));
+        if (bulk) {
+            interfaces.add(Type.getInternalName(BulkInvoker.class));
+            if (isBulkResult(int.class)) {
+                interfaces.add(Type.getInternalName(IntBulkInvoker.class));
+            }
+            if (isBulkResult(long.class)) {
+                interfaces.add(Type.getInternalName(LongBulkInvoker.class));
+            }
+        }
         classWriter.visit(DynamicMethodFactory.javaVersion,
                 Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
                 getInternalClassName(),
                 null,
-                "java/lang/Object",
-                new String[] {Type.getInternalName(interfaceClass)});
+                Type.getInternalName(Object.class),
+                interfaces.toArray(new String[0]));
     }
 
     /**
@@ -326,12 +1286,21 @@ class DefaultDynamicMethodFactory {
     private String autoClassName() {
         final String className = callObjectType.getClassName();
         final String name = callMethod.getName();
-        return className + "_" + name + "_" + classNameCounter.getAndIncrement();
+        return className + "_" + name + "_" + nextClassNumber();
+    }
+
+    static int nextClassNumber() {
+        final int[] block = classNameBlock.get();
+        if (block[0] == block[1]) {
+            block[0] = classNameCounter.getAndAdd(CLASS_NAME_BLOCK_SIZE);
+            block[1] = block[0] + CLASS_NAME_BLOCK_SIZE;
+        }
+        return block[0]++;
     }
 
     private void loadInstance(MethodVisitor mv) {
         loadThis(mv);
-        final String className = getInternalClassName();
+        final String className = taskClassName != null ? taskClassName : getInternalClassName();
         mv.visitFieldInsn(
                 Opcodes.GETFIELD,
                 className,
@@ -339,6 +1308,56 @@ class DefaultDynamicMethodFactory {
                 callObjectType.getDescriptor());
     }
 
+    /**
+     * static field of the generated class, its copy in the task while the task call is generated
+     */
+    private void loadShared(final MethodVisitor mv, final String fieldName, final String descriptor) {
+        if (taskClassName != null) {
+            loadThis(mv);
+            mv.visitFieldInsn(Opcodes.GETFIELD, taskClassName, fieldName, descriptor);
+        } else {
+            mv.visitFieldInsn(Opcodes.GETSTATIC, getInternalClassName(), fieldName, descriptor);
+        }
+    }
+
+    /**
+     * @param arguments arguments of the method being generated
+     * @param type local type, long and double take 2 slots
+     * @return unused local variable index
+     */
+    protected final int newLocal(final Arguments arguments, final Class<?> type) {
+        if (nextLocal < arguments.nextSlot()) {
+            nextLocal = arguments.nextSlot();
+        }
+        final int local = nextLocal;
+        nextLocal += Type.getType(type).getSize();
+        return local;
+    }
+
+    protected void storeLocal(
+            final MethodVisitor mv,
+            final int index,
+            final Class<?> localClass) {
+        final int opCode;
+        if (localClass == int.class ||
+                localClass == byte.class ||
+                localClass == char.class ||
+                localClass == short.class ||
+                localClass == boolean.class) {
+            opCode = Opcodes.ISTORE;
+        } else if (localClass == long.class) {
+            opCode = Opcodes.LSTORE;
+        } else if (localClass == float.class) {
+            opCode = Opcodes.FSTORE;
+        } else if (localClass == double.class) {
+            opCode = Opcodes.DSTORE;
+        } else {
+            opCode = Opcodes.ASTORE;
+        }
+
+        mv.visitVarInsn(opCode, index);
+    }
+
     protected void loadThis(MethodVisitor mv) {
         loadArgument(mv, 0);
     }
@@ -373,6 +1392,12 @@ class DefaultDynamicMethodFactory {
     }
 
     private void returnMethod(MethodVisitor mv, Method m) {
+        returnInsn(mv, m);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void returnInsn(MethodVisitor mv, Method m) {
         if (m == null) {
             mv.visitInsn(Opcodes.RETURN);
         } else {
@@ -396,9 +1421,6 @@ class DefaultDynamicMethodFactory {
                 mv.visitInsn(Opcodes.ARETURN);
             }
         }
-
-        mv.visitMaxs(0, 0);
-        mv.visitEnd();
     }
 
     public String getClassName() {
@@ -412,4 +1434,35 @@ class DefaultDynamicMethodFactory {
     public void setGenerateClassName(final String generateClassName) {
         this.generateClassName = generateClassName;
     }
+
+    /**
+     * @param invokerMetrics true = generated methods update {@link InvokerMetrics}, false = no instrumentation
+     */
+    public void setInvokerMetrics(final boolean invokerMetrics) {
+        this.invokerMetrics = invokerMetrics;
+    }
+
+    /**
+     * @param receiverClasses nullable, exact receiver classes called before the virtual call, most called first
+     */
+    public void setReceiverClasses(final List<Class<?>> receiverClasses) {
+        if (receiverClasses != null) {
+            if (!generateField || methods.size() != 1 || Modifier.isStatic(callMethod.getModifiers())) {
+                throw new IllegalArgumentException("inline cache supports one instance method called on the receiver field");
+            }
+            for (final Class<?> c : receiverClasses) {
+                if (!callObjectClass.isAssignableFrom(c) || c.isInterface() || !Modifier.isPublic(c.getModifiers())) {
+                    throw new IllegalArgumentException(c + " is not a public class of " + callObjectClass);
+                }
+            }
+        }
+        this.receiverClasses = receiverClasses;
+    }
+
+    /**
+     * @param bulk true = generated class also implements {@link BulkInvoker}
+     */
+    public void setBulk(final boolean bulk) {
+        this.bulk = bulk;
+    }
 }
@@ -0,0 +1,76 @@
+package org.rudtyz.generate;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * bindings the {@link java.lang.invoke} backends can express:
+ * every argument goes to the parameter at the same position
+ * <pre>
+ * {@code
+ *  LongBinaryOperator.applyAsLong(long, long) -> long plus(long a, Long b)  // direct
+ *  BiFunction.apply(Object, Object)           -> call(String s)             // not direct, arity
+ *  Function.apply(Object)                     -> call(String s)             // direct, CHECKCAST
+ * }
+ * </pre>
+ * for these bindings the argument matching of {@link DefaultDynamicMethodFactory} is positional too,
+ * so every backend calls the method with the same values
+ */
+final class DirectBindings {
+    private DirectBindings() {
+        throw new AssertionError("static class");
+    }
+
+    /**
+     * @param spec binding
+     * @return the abstract method of interfaceClass, null = not a direct binding
+     */
+    static Method implementMethod(final BindingSpec spec) {
+        if (spec.contextClass() != null || spec.contextToCallObject() != null || spec.parameterDispatcher() != null) {
+            return null;
+        }
+
+        final Class<?> interfaceClass = spec.interfaceClass();
+        if (!interfaceClass.isInterface()) {
+            return null;
+        }
+
+        final List<Method> abstractMethods = MethodBindings.abstractMethods(interfaceClass);
+        if (abstractMethods.size() != 1) {
+            return null;
+        }
+
+        final Method implementMethod = abstractMethods.get(0);
+        final Method callMethod = spec.callMethod();
+        final Class<?>[] parameterTypes = callMethod.getParameterTypes();
+        final Class<?>[] argumentTypes = implementMethod.getParameterTypes();
+        if (parameterTypes.length != argumentTypes.length) {
+            return null;
+        }
+
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            if (!isPositional(parameterTypes[i], argumentTypes[i], argumentTypes.length)) {
+                return null;
+            }
+        }
+
+        if (!TypeConversions.isConvertible(implementMethod.getReturnType(), callMethod.getReturnType())) {
+            return null;
+        }
+        return implementMethod;
+    }
+
+    private static boolean isPositional(final Class<?> parameterType, final Class<?> argumentType, final int arity) {
+        if (DefaultDynamicMethodFactory.isDirectArgument(parameterType, argumentType)) {
+            return true;
+        }
+        if (parameterType.isPrimitive() || argumentType.isPrimitive()) {
+            return false;
+        }
+        if (parameterType.isAssignableFrom(argumentType)) {
+            return true;
+        }
+        // erased argument, the only argument ASM could pass
+        return arity == 1 && argumentType.isAssignableFrom(parameterType);
+    }
+}
@@ -0,0 +1,41 @@
+package org.rudtyz.generate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * binding generated ahead of time by {@link AheadOfTimeGenerator}
+ * <pre>
+ * {@code
+ *  public class Example {
+ *      @DynamicBinding(interfaceClass = Runnable.class)
+ *      public void instanceMethod() {
+ *      }
+ *  }
+ * }
+ * </pre>
+ * contextToCallObject and parameterDispatcher must have a public no argument constructor and a
+ * {@link ParameterDispatcher#stableId() stableId}, the runtime binding finds the class only with an equal stableId
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DynamicBinding {
+    Class<?> interfaceClass();
+
+    /**
+     * void.class = not set
+     */
+    Class<?> contextClass() default void.class;
+
+    /**
+     * ContextToCallObject.class = not set
+     */
+    Class<? extends ContextToCallObject> contextToCallObject() default ContextToCallObject.class;
+
+    /**
+     * ParameterDispatcher.class = not set
+     */
+    Class<? extends ParameterDispatcher> parameterDispatcher() default ParameterDispatcher.class;
+}
@@ -2,14 +2,146 @@ package org.rudtyz.generate;
 
 import org.objectweb.asm.Opcodes;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
 
 public final class DynamicMethodFactory {
     static int javaVersion = Opcodes.V21;
 
+    private static final GeneratedClassCache generatedClassCache = new GeneratedClassCache();
+
+    private static final GenerationMetrics generationMetrics = new GenerationMetrics();
+
+    private static volatile ClassDefiner classDefiner = DynamicClassLoader.INSTANCE;
+
+    private static volatile boolean precompiledClassLookup = true;
+
+    private static volatile boolean stableClassNames;
+
+    private static volatile Path classExportDirectory;
+
+    private static volatile BytecodeDiskCache bytecodeDiskCache;
+
+    private static volatile boolean invokerMetrics;
+
+    private static volatile InvokerBackend invokerBackend = InvokerBackend.asm();
+
+    /**
+     * factory class -&gt; factory instance, hidden generated class -&gt; constructor handle factory
+     */
+    private static final ClassValue<InvokerFactory<?, ?>> invokerFactories = new ClassValue<>() {
+        @Override
+        protected InvokerFactory<?, ?> computeValue(final Class<?> type) {
+            return newFactoryInstance(type);
+        }
+    };
+
+    /**
+     * callObjectClass -&gt; stable class names without a precompiled class file
+     */
+    private static final ClassValue<Set<String>> precompiledMisses = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(final Class<?> type) {
+            return ConcurrentHashMap.newKeySet();
+        }
+    };
+
+    /**
+     * {@link #generateFieldAccessor} cache key
+     */
+    private record FieldBinding(
+            Field field,
+            Class<?> interfaceClass,
+            int javaVersion,
+            ClassDefiner classDefiner) implements CacheKey {
+
+        @Override
+        public Class<?> callObjectClass() {
+            return field.getDeclaringClass();
+        }
+    }
+
+    /**
+     * {@link #generateBeanAccessor} cache key
+     */
+    private record BeanBinding(
+            Class<?> beanClass,
+            int javaVersion,
+            ClassDefiner classDefiner) implements CacheKey {
+
+        @Override
+        public Class<?> callObjectClass() {
+            return beanClass;
+        }
+    }
+
+    /**
+     * {@link #generateBeanMapper} and {@link #generateBeanCopier} cache key
+     */
+    private record BeanMapperBinding(
+            Class<?> sourceClass,
+            Class<?> targetClass,
+            UnmatchedPropertyPolicy policy,
+            int javaVersion,
+            ClassDefiner classDefiner) implements CacheKey {
+
+        @Override
+        public Class<?> callObjectClass() {
+            return sourceClass;
+        }
+    }
+
+    /**
+     * {@link #generateConstructorClass} cache key
+     */
+    private record ConstructorBinding(
+            Constructor<?> callConstructor,
+            Class<?> interfaceClass,
+            Class<?> contextClass,
+            ConstructorParameterDispatcher parameterDispatcher,
+            int javaVersion,
+            ClassDefiner classDefiner) implements CacheKey {
+
+        @Override
+        public Class<?> callObjectClass() {
+            return callConstructor.getDeclaringClass();
+        }
+    }
+
     public record GenerateResult(String className, byte[] classData) {
     }
 
+    /**
+     * @param spec binding
+     * @param generatedClass nullable, null = failure
+     * @param failure nullable, null = success
+     */
+    public record BindingResult(BindingSpec spec, Class<?> generatedClass, Throwable failure) {
+        public boolean isSuccess() {
+            return failure == null;
+        }
+    }
+
     private DynamicMethodFactory() {
         throw new AssertionError("static class");
     }
@@ -32,26 +164,18 @@ public final class DynamicMethodFactory {
      * @return generate class
      * @param <T> interface type
      */
-    @SuppressWarnings("unchecked")
     public static <T> Class<? extends T> generateClass(
             final Class<?> callObjectClass,
             final Method callMethod,
             final Class<T> interfaceClass) {
-        final GenerateResult result = generate(callObjectClass, callMethod, interfaceClass);
-        final Class<?> generateClass = DynamicClassLoader.INSTANCE.defineClass(
-                result.className(),
-                result.classData());
-        return (Class<? extends T>)generateClass;
+        return generateClass(callObjectClass, callMethod, interfaceClass, null, null, null);
     }
 
     public static <T> GenerateResult generate(
             final Class<?> callObjectClass,
             final Method callMethod,
             final Class<T> interfaceClass) {
-        final SingleParameterDynamicMethodFactory g = new SingleParameterDynamicMethodFactory(callObjectClass, callMethod, interfaceClass, null, null, null);
-        final byte[] generateClassData = g.generate();
-        final String generateClassName = g.getClassName();
-        return new GenerateResult(generateClassName, generateClassData);
+        return generate(callObjectClass, callMethod, interfaceClass, null, null, null);
     }
 
     /**
@@ -83,68 +207,1202 @@ public final class DynamicMethodFactory {
             final ContextToCallObject contextToCallObject,
             final ParameterDispatcher parameterDispatcher) {
 
-        final GenerateResult result = generate(
+        final BindingKey key = keyOf(
                 callObjectClass,
                 callMethod,
                 interfaceClass,
                 contextClass,
                 contextToCallObject,
                 parameterDispatcher);
-        final Class<?> generateClass = DynamicClassLoader.INSTANCE.defineClass(
-                result.className(),
-                result.classData());
+        final Class<?> generateClass = generatedClassCache.get(key, () -> resolve(key));
         return (Class<? extends T>) generateClass;
     }
 
-    public static GenerateResult generate(
+    /**
+     * {@link #generateInlineCacheClass(Class, Method, Class, Class, ParameterDispatcher, List)} without context
+     */
+    public static <T> Class<? extends T> generateInlineCacheClass(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<T> interfaceClass,
+            final List<Class<?>> receiverClasses) {
+        return generateInlineCacheClass(callObjectClass, callMethod, interfaceClass, null, null, receiverClasses);
+    }
+
+    /**
+     * generateClass with an exact class check per receiver class before the virtual call
+     * <pre>
+     * {@code
+     *  // AbstractSample.run, receivers are usually SampleA or SampleB
+     *  Class<? extends Runnable> c = DynamicMethodFactory.generateInlineCacheClass(
+     *          AbstractSample.class, run, Runnable.class, List.of(SampleA.class, SampleB.class));
+     * }
+     * </pre>
+     * one generated class shared by receivers of many classes makes the virtual call megamorphic,
+     * each checked class gets its own call site. other receivers are recorded in {@link ReceiverTypeProfile},
+     * an empty list records every receiver
+     * @param callObjectClass call class, base class of the receivers
+     * @param callMethod instance call method
+     * @param interfaceClass generated class implements interface, one abstract method
+     * @param contextClass nullable, parameter class
+     * @param parameterDispatcher nullable, parameter to method
+     * @param receiverClasses public subclasses of callObjectClass, most called first
+     * @return generate class
+     * @param <T> interface type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<? extends T> generateInlineCacheClass(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<T> interfaceClass,
+            final Class<?> contextClass,
+            final ParameterDispatcher parameterDispatcher,
+            final List<Class<?>> receiverClasses) {
+        if (receiverClasses == null) {
+            throw new IllegalArgumentException("receiverClasses is null");
+        }
+        final BindingKey key = keyOf(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                null,
+                parameterDispatcher).withReceiverClasses(receiverClasses);
+        final Class<?> generateClass = generatedClassCache.get(key, () -> resolve(key));
+        return (Class<? extends T>) generateClass;
+    }
+
+    /**
+     * {@link #generateBulkClass(Class, Method, Class, Class, ContextToCallObject, ParameterDispatcher)} without context
+     */
+    public static <C> Class<? extends BulkInvoker<C>> generateBulkClass(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<?> interfaceClass) {
+        return generateBulkClass(callObjectClass, callMethod, interfaceClass, null, null, null);
+    }
+
+    /**
+     * generateClass that also implements {@link BulkInvoker}, the loops call callMethod directly
+     * <pre>
+     * {@code
+     *  BulkInvoker<MyContext> bulk = DynamicMethodFactory.<MyContext>generateBulkClass(Handler.class, handle, Consumer.class)
+     *          .getConstructor(Handler.class)
+     *          .newInstance(handler);
+     *  bulk.acceptAll(contexts);
+     *  ((Consumer<MyContext>) bulk).accept(context);
+     * }
+     * </pre>
+     * @param callObjectClass call class
+     * @param callMethod call method
+     * @param interfaceClass generated class implements interface, one reference argument
+     * @param contextClass nullable, parameter class
+     * @param contextToCallObject nullable, context to call object
+     * @param parameterDispatcher nullable, parameter to method
+     * @return generate class implementing interfaceClass and BulkInvoker, {@link IntBulkInvoker} and {@link LongBulkInvoker} when the callMethod result converts
+     * @param <C> element type
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> Class<? extends BulkInvoker<C>> generateBulkClass(
             final Class<?> callObjectClass,
             final Method callMethod,
             final Class<?> interfaceClass,
             final Class<?> contextClass,
             final ContextToCallObject contextToCallObject,
             final ParameterDispatcher parameterDispatcher) {
-        final SingleParameterDynamicMethodFactory g = new SingleParameterDynamicMethodFactory(
+        final BindingKey key = keyOf(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher).withBulk();
+        final Class<?> generateClass = generatedClassCache.get(key, () -> resolve(key));
+        return (Class<? extends BulkInvoker<C>>) generateClass;
+    }
+
+    /**
+     * {@link #generateFactory(Class, Method, Class, Class, ContextToCallObject, ParameterDispatcher)} without context
+     */
+    public static <R, T> InvokerFactory<R, T> generateFactory(
+            final Class<R> callObjectClass,
+            final Method callMethod,
+            final Class<T> interfaceClass) {
+        return generateFactory(callObjectClass, callMethod, interfaceClass, null, null, null);
+    }
+
+    /**
+     * factory of the generated class, create is a plain {@code new} without reflection
+     * <pre>
+     * {@code
+     *  InvokerFactory<Example, Runnable> factory = DynamicMethodFactory.generateFactory(Example.class, method, Runnable.class);
+     *  // per request
+     *  Runnable r = factory.create(example);
+     * }
+     * </pre>
+     * static bindings return the same stateless instance from every create,
+     * the factory comes from {@link #setInvokerBackend(InvokerBackend)}
+     * @param callObjectClass call class
+     * @param callMethod call method
+     * @param interfaceClass generated class implements interface
+     * @param contextClass nullable, parameter class
+     * @param contextToCallObject nullable, context to call object
+     * @param parameterDispatcher nullable, parameter to method
+     * @return factory, with the ASM backend an instance of a generated factory class
+     * @param <R> receiver type
+     * @param <T> interface type
+     */
+    @SuppressWarnings("unchecked")
+    public static <R, T> InvokerFactory<R, T> generateFactory(
+            final Class<R> callObjectClass,
+            final Method callMethod,
+            final Class<T> interfaceClass,
+            final Class<?> contextClass,
+            final ContextToCallObject contextToCallObject,
+            final ParameterDispatcher parameterDispatcher) {
+        final BindingSpec spec = new BindingSpec(
                 callObjectClass,
                 callMethod,
                 interfaceClass,
                 contextClass,
                 contextToCallObject,
                 parameterDispatcher);
-        final byte[] generateClassData = g.generate();
-        final String generateClassName = g.getClassName();
-        return new GenerateResult(generateClassName, generateClassData);
+        return (InvokerFactory<R, T>) invokerBackend.factory(spec);
+    }
+
+    /**
+     * {@link InvokerBackend#asm()}, a generated {@link InvokerFactoryClassFactory factory class} next to the generated class
+     */
+    static InvokerFactory<?, ?> generateAsmFactory(final BindingSpec spec) {
+        final BindingKey key = keyOf(
+                spec.callObjectClass(),
+                spec.callMethod(),
+                spec.interfaceClass(),
+                spec.contextClass(),
+                spec.contextToCallObject(),
+                spec.parameterDispatcher());
+        final Class<?> generateClass = generatedClassCache.get(key, () -> resolve(key));
+        if (generateClass.isHidden()) {
+            // not linkable by name
+            return invokerFactories.get(generateClass);
+        }
+
+        final BindingKey factoryKey = key.withInvokerFactory();
+        final Class<?> factoryClass = generatedClassCache.get(factoryKey,
+                () -> generateFactoryClass(factoryKey, generateClass));
+        return invokerFactories.get(factoryClass);
+    }
+
+    /**
+     * factory class in the class loader of generateClass
+     */
+    private static Class<?> generateFactoryClass(final BindingKey factoryKey, final Class<?> generateClass) {
+        final long start = System.nanoTime();
+        final InvokerFactoryClassFactory g = new InvokerFactoryClassFactory(generateClass, factoryKey.javaVersion());
+        final byte[] classData = g.generate();
+        generationMetrics.recordGeneration(System.nanoTime() - start, classData.length);
+        final ClassDefiner definer = generateClass.getClassLoader() instanceof DynamicClassLoader loader
+                ? loader
+                : factoryKey.classDefiner();
+        return define(definer, generateClass, g.getClassName(), classData);
+    }
+
+    private static BindingKey keyOf(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<?> interfaceClass,
+            final Class<?> contextClass,
+            final ContextToCallObject contextToCallObject,
+            final ParameterDispatcher parameterDispatcher) {
+        return new BindingKey(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                javaVersion,
+                classDefiner,
+                null,
+                invokerMetrics,
+                false,
+                false,
+                null);
+    }
+
+    /**
+     * factory class instance, or a constructor handle of a hidden generated class
+     */
+    private static InvokerFactory<?, ?> newFactoryInstance(final Class<?> type) {
+        try {
+            if (InvokerFactory.class.isAssignableFrom(type)) {
+                return (InvokerFactory<?, ?>) type.getConstructor().newInstance();
+            }
+
+            for (final Constructor<?> c : type.getConstructors()) {
+                if (c.getParameterCount() == 0) {
+                    final Object instance = c.newInstance();
+                    return receiver -> instance;
+                }
+            }
+            final Constructor<?> c = type.getConstructors()[0];
+            final MethodHandle constructor = MethodHandles.publicLookup()
+                    .unreflectConstructor(c)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return receiver -> {
+                try {
+                    return constructor.invokeExact(receiver);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("factory instance create fail: " + type, e);
+        }
+    }
+
+    /**
+     * every abstract method of interfaceClass calls the callObjectClass method of the same name and parameters
+     * <pre>
+     * {@code
+     *  public class [GenerateClass] implements UserService {
+     *    private final UserRepository instance;
+     *    public User find(long id) {
+     *      return instance.find(id);
+     *    }
+     *    public int count() {
+     *      return instance.count();
+     *    }
+     *  }
+     * }
+     * </pre>
+     * @param callObjectClass call class
+     * @param interfaceClass generated class implements interface
+     * @return generate class
+     * @param <T> interface type
+     */
+    public static <T> Class<? extends T> generateClass(
+            final Class<?> callObjectClass,
+            final Class<T> interfaceClass) {
+        return generateClass(callObjectClass, interfaceClass, null, null, null, null);
+    }
+
+    /**
+     * @param callObjectClass call class
+     * @param interfaceClass generated class implements interface
+     * @param methods nullable, interface method -&gt; call method, other methods match by name and parameters
+     * @return generate class
+     * @param <T> interface type
+     * @see #generateClass(Class, Class)
+     */
+    public static <T> Class<? extends T> generateClass(
+            final Class<?> callObjectClass,
+            final Class<T> interfaceClass,
+            final Map<Method, Method> methods) {
+        return generateClass(callObjectClass, interfaceClass, methods, null, null, null);
+    }
+
+    /**
+     * one class, one receiver field for every abstract method of interfaceClass
+     * @param callObjectClass call class
+     * @param interfaceClass generated class implements interface
+     * @param methods nullable, interface method -&gt; call method, other methods match by name and parameters
+     * @param contextClass nullable, parameter class, null = first argument of each method
+     * @param contextToCallObject nullable, context to call object
+     * @param parameterDispatcher nullable, parameter to method
+     * @return generate class
+     * @param <T> interface type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<? extends T> generateClass(
+            final Class<?> callObjectClass,
+            final Class<T> interfaceClass,
+            final Map<Method, Method> methods,
+            final Class<?> contextClass,
+            final ContextToCallObject contextToCallObject,
+            final ParameterDispatcher parameterDispatcher) {
+        final Map<Method, Method> bindings = MethodBindings.of(callObjectClass, interfaceClass, methods);
+        final BindingKey key = new BindingKey(
+                callObjectClass,
+                bindings.values().iterator().next(),
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                javaVersion,
+                classDefiner,
+                bindings,
+                invokerMetrics,
+                false,
+                false,
+                null);
+        final Class<?> generateClass = generatedClassCache.get(key, () -> resolve(key));
+        return (Class<? extends T>) generateClass;
     }
 
+    /**
+     * {@link #generateAll(Collection, Executor)} on the common fork join pool
+     */
+    public static List<BindingResult> generateAll(final Collection<BindingSpec> specs) {
+        return generateAll(specs, ForkJoinPool.commonPool());
+    }
 
     /**
+     * generate many bindings at once
+     * <pre>
+     * {@code
+     *  List<BindingResult> results = DynamicMethodFactory.generateAll(specs, executor);
+     *  for (BindingResult r : results) {
+     *      if (!r.isSuccess()) {
+     *          log.warn(r.spec() + " " + r.failure());
+     *      }
+     *  }
+     * }
+     * </pre>
      * <ul>
-     * <li>21 = JAVA 21</li>
-     * <li>20 = JAVA 20</li>
-     * <li>19 = JAVA 19</li>
-     * <li>18 = JAVA 18</li>
-     * <li>17 = JAVA 17</li>
-     * <li>16 = JAVA 16</li>
-     * <li>15 = JAVA 15</li>
-     * <li>14 = JAVA 14</li>
-     * <li>13 = JAVA 13</li>
-     * <li>12 = JAVA 12</li>
-     * <li>11 = JAVA 11</li>
-     * <li>10 = JAVA 10</li>
-     * <li>9 = JAVA 9</li>
-     * <li>8 = JAVA 8</li>
+     * <li>class bytes of uncached bindings are generated on executor, also on a {@link BytecodeDiskCache} miss</li>
+     * <li>classes are defined, exported and disk cache records appended on the calling thread in input order</li>
+     * <li>class names follow {@link #setStableClassNames} and {@link #setClassExportDirectory} like generateClass</li>
+     * <li>a failed binding is reported in its result, other bindings are still generated</li>
      * </ul>
-     * @param version generate class java version
+     * @param specs bindings
+     * @param executor asm generation executor
+     * @return results in input order
      */
-    public static void setGenerateClassJavaVersion(final int version) {
-        javaVersion = version + 44;
-    }
+    public static List<BindingResult> generateAll(final Collection<BindingSpec> specs, final Executor executor) {
+        if (specs == null) {
+            throw new IllegalArgumentException("specs is null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("executor is null");
+        }
 
-    public static final class DynamicClassLoader extends ClassLoader {
+        final BindingSpec[] specArray = specs.toArray(new BindingSpec[0]);
+        final BindingKey[] keys = new BindingKey[specArray.length];
+        final List<CompletableFuture<GenerateResult>> generated = new ArrayList<>(specArray.length);
+        final int version = javaVersion;
+        final ClassDefiner definer = classDefiner;
+        final boolean metrics = invokerMetrics;
+        final BytecodeDiskCache diskCache = bytecodeDiskCache;
+        for (int i = 0; i < specArray.length; ++i) {
+            final BindingSpec spec = specArray[i];
+            if (spec == null) {
+                generated.add(CompletableFuture.failedFuture(new IllegalArgumentException("spec is null")));
+                continue;
+            }
 
-        public static final DynamicClassLoader INSTANCE = new DynamicClassLoader();
+            final BindingKey key = spec.toKey(version, definer, metrics);
+            keys[i] = key;
+            try {
+                if (generatedClassCache.contains(key) || (diskCache != null && diskCache.contains(key))) {
+                    generated.add(null);
+                    continue;
+                }
 
-        public Class<?> defineClass(String name, byte[] byteCodes) {
-            return defineClass(name, byteCodes, 0, byteCodes.length);
+                generated.add(CompletableFuture.supplyAsync(() -> {
+                    if (findPrecompiledClass(key) != null) {
+                        return null;
+                    }
+                    return diskCache != null ? BytecodeDiskCache.generate(key) : generateNamed(key);
+                }, executor));
+            } catch (RuntimeException e) {
+                generated.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        final List<BindingResult> results = new ArrayList<>(specArray.length);
+        for (int i = 0; i < specArray.length; ++i) {
+            final BindingSpec spec = specArray[i];
+            final BindingKey key = keys[i];
+            final CompletableFuture<GenerateResult> future = generated.get(i);
+            try {
+                final GenerateResult result = future == null ? null : future.join();
+                final Class<?> c = generatedClassCache.get(key, () -> {
+                    if (result == null) {
+                        return resolve(key);
+                    }
+                    if (diskCache != null) {
+                        return diskCache.appendAndDefine(key, result);
+                    }
+                    return defineGenerated(key, result);
+                });
+                results.add(new BindingResult(spec, c, null));
+            } catch (CompletionException e) {
+                results.add(new BindingResult(spec, null, e.getCause() == null ? e : e.getCause()));
+            } catch (RuntimeException | LinkageError e) {
+                results.add(new BindingResult(spec, null, e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  // int myInt() -> IntSupplier, long toLong(int a) -> IntToLongFunction
+     *  Class<?> c = DynamicMethodFactory.generateSpecializedClass(Example.class, myInt);
+     * }
+     * </pre>
+     * @param callObjectClass call class
+     * @param callMethod call method
+     * @return generate class implements {@link SpecializedInterfaces#of(Method)}, never boxes
+     */
+    public static Class<?> generateSpecializedClass(
+            final Class<?> callObjectClass,
+            final Method callMethod) {
+        return generateClass(callObjectClass, callMethod, SpecializedInterfaces.of(callMethod));
+    }
+
+    /**
+     * {@link #generateRouter(Class, Map, Class, ParameterDispatcher)} without context, the key is the only argument
+     */
+    public static Class<? extends Router<Object>> generateRouter(
+            final Class<?> callObjectClass,
+            final Map<String, Method> routes) {
+        return generateRouter(callObjectClass, routes, null, null);
+    }
+
+    /**
+     * one class calls every route method, no map lookup and no interface instance per method
+     * <pre>
+     * {@code
+     *  Class<? extends Router<Session>> c = DynamicMethodFactory.generateRouter(
+     *          Handler.class,
+     *          Map.of("login", login, "quit", quit),
+     *          Session.class,
+     *          dispatcher);
+     *  Router<Session> router = c.getConstructor(Handler.class).newInstance(handler);
+     *  router.route("login", session);
+     *
+     *  // String or Object parameter at position 0 receives the key
+     *  public Object echo(String key, Session session)
+     * }
+     * </pre>
+     * the class is not cached, static only routes also have a no argument constructor.
+     * a null key throws {@link IllegalArgumentException} like a key that is not routed
+     * @param callObjectClass call class
+     * @param routes key -> method of callObjectClass
+     * @param contextClass nullable, route context class
+     * @param parameterDispatcher nullable, parameter to method
+     * @return generate class
+     * @param <C> context
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> Class<? extends Router<C>> generateRouter(
+            final Class<?> callObjectClass,
+            final Map<String, Method> routes,
+            final Class<C> contextClass,
+            final ParameterDispatcher parameterDispatcher) {
+        if (callObjectClass == null || routes == null) {
+            throw new IllegalArgumentException("callObjectClass or routes is null");
+        }
+
+        final long start = System.nanoTime();
+        final RouterFactory g = new RouterFactory(
+                callObjectClass,
+                new LinkedHashMap<>(routes),
+                contextClass,
+                parameterDispatcher);
+        final byte[] classData = g.generate();
+        generationMetrics.recordGeneration(System.nanoTime() - start, classData.length);
+        return (Class<? extends Router<C>>) define(classDefiner, callObjectClass, g.getClassName(), classData)
+                .asSubclass(Router.class);
+    }
+
+    /**
+     * GETFIELD / PUTFIELD behind a functional interface, replaces {@link Field#get} and {@link Field#set}
+     * <pre>
+     * {@code
+     *  ToIntFunction<User> getAge = DynamicMethodFactory.generateFieldAccessor(age, ToIntFunction.class);
+     *  ObjIntConsumer<User> setAge = DynamicMethodFactory.generateFieldAccessor(age, ObjIntConsumer.class);
+     *  Function<User, String> getName = DynamicMethodFactory.generateFieldAccessor(name, Function.class);
+     *  setAge.accept(user, getAge.applyAsInt(user) + 1);
+     *
+     *  // static field, no bean argument
+     *  IntSupplier getCount = DynamicMethodFactory.generateFieldAccessor(count, IntSupplier.class);
+     * }
+     * </pre>
+     * a method returning a value reads, a void method writes, values convert like generated invokers
+     * @param field public field of a public class, not final for a setter
+     * @param interfaceClass one abstract method, (bean) -&gt; value or (bean, value) -&gt; void
+     * @return stateless accessor, shared by callers while the generated class cache is enabled
+     * @param <T> interface type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T generateFieldAccessor(final Field field, final Class<T> interfaceClass) {
+        if (field == null || interfaceClass == null) {
+            throw new IllegalArgumentException("field or interfaceClass is null");
+        }
+        final FieldBinding binding = new FieldBinding(field, interfaceClass, javaVersion, classDefiner);
+        return (T) generatedClassCache.getValue(binding, () -> newFieldAccessor(binding));
+    }
+
+    private static Object newFieldAccessor(final FieldBinding binding) {
+        final long start = System.nanoTime();
+        final FieldAccessorFactory g = new FieldAccessorFactory(binding.field(), binding.interfaceClass());
+        final byte[] classData = g.generate();
+        generationMetrics.recordGeneration(System.nanoTime() - start, classData.length);
+        final Class<?> c = define(binding.classDefiner(), binding.field().getDeclaringClass(), g.getClassName(), classData);
+        try {
+            return c.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("field accessor create fail: " + binding.field(), e);
+        }
+    }
+
+    /**
+     * one generated class reads and writes every public field of beanClass, instead of one class per field
+     * <pre>
+     * {@code
+     *  BeanAccessor<User> accessor = DynamicMethodFactory.generateBeanAccessor(User.class);
+     *  int age = accessor.indexOf("age");
+     *  accessor.setInt(user, age, 20);
+     * }
+     * </pre>
+     * @param beanClass public class
+     * @return accessor, shared by callers while the generated class cache is enabled
+     * @param <T> bean type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BeanAccessor<T> generateBeanAccessor(final Class<T> beanClass) {
+        if (beanClass == null) {
+            throw new IllegalArgumentException("beanClass is null");
+        }
+        final BeanBinding binding = new BeanBinding(beanClass, javaVersion, classDefiner);
+        return (BeanAccessor<T>) generatedClassCache.getValue(binding, () -> newBeanAccessor(binding));
+    }
+
+    private static BeanAccessor<?> newBeanAccessor(final BeanBinding binding) {
+        final Class<?> beanClass = binding.beanClass();
+        final long start = System.nanoTime();
+        final BeanAccessorFactory g = new BeanAccessorFactory(beanClass);
+        final byte[] classData = g.generate();
+        generationMetrics.recordGeneration(System.nanoTime() - start, classData.length);
+        final Class<?> c = define(binding.classDefiner(), beanClass, g.getClassName(), classData);
+        try {
+            return (BeanAccessor<?>) c.getConstructor(List.class).newInstance(g.getProperties());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("bean accessor create fail: " + beanClass, e);
+        }
+    }
+
+    /**
+     * {@link #generateBeanCopier(Class, Class, UnmatchedPropertyPolicy)} ignoring unmatched properties
+     */
+    public static <S, T> BiConsumer<S, T> generateBeanCopier(final Class<S> sourceClass, final Class<T> targetClass) {
+        return generateBeanCopier(sourceClass, targetClass, UnmatchedPropertyPolicy.IGNORE);
+    }
+
+    /**
+     * copies every source getter to the target setter of the same name, one straight line method
+     * <pre>
+     * {@code
+     *  BiConsumer<UserDto, User> copier = DynamicMethodFactory.generateBeanCopier(UserDto.class, User.class);
+     *  copier.accept(dto, user);
+     *
+     *  // generated
+     *  public void accept(Object source, Object target) {
+     *      UserDto s = (UserDto) source;
+     *      User t = (User) target;
+     *      t.setAge((long) s.getAge());
+     *      t.setName(s.getName());
+     *  }
+     * }
+     * </pre>
+     * source properties are getters or record components, a null wrapper into a primitive setter throws NullPointerException
+     * @param sourceClass public class or record
+     * @param targetClass public class with setters
+     * @param policy unmatched property policy
+     * @return stateless copier, also a {@link Function} when targetClass has a public no argument constructor
+     * @param <S> source type
+     * @param <T> target type
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BiConsumer<S, T> generateBeanCopier(
+            final Class<S> sourceClass,
+            final Class<T> targetClass,
+            final UnmatchedPropertyPolicy policy) {
+        final Object mapper = beanMapper(sourceClass, targetClass, policy);
+        if (!(mapper instanceof BiConsumer)) {
+            throw new IllegalArgumentException(targetClass + " is a record, use generateBeanMapper");
+        }
+        return (BiConsumer<S, T>) mapper;
+    }
+
+    /**
+     * {@link #generateBeanMapper(Class, Class, UnmatchedPropertyPolicy)} ignoring unmatched properties
+     */
+    public static <S, T> Function<S, T> generateBeanMapper(final Class<S> sourceClass, final Class<T> targetClass) {
+        return generateBeanMapper(sourceClass, targetClass, UnmatchedPropertyPolicy.IGNORE);
+    }
+
+    /**
+     * new target from the source properties
+     * <pre>
+     * {@code
+     *  Function<UserDto, User> mapper = DynamicMethodFactory.generateBeanMapper(UserDto.class, User.class);
+     *  User user = mapper.apply(dto);
+     *
+     *  // record target, generated
+     *  public Object apply(Object source) {
+     *      UserDto s = (UserDto) source;
+     *      return new UserRecord(s.getName(), (long) s.getAge());
+     *  }
+     * }
+     * </pre>
+     * @param sourceClass public class or record
+     * @param targetClass public class with a no argument constructor and setters, or public record
+     * @param policy unmatched property policy
+     * @return stateless mapper
+     * @param <S> source type
+     * @param <T> target type
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> Function<S, T> generateBeanMapper(
+            final Class<S> sourceClass,
+            final Class<T> targetClass,
+            final UnmatchedPropertyPolicy policy) {
+        final Object mapper = beanMapper(sourceClass, targetClass, policy);
+        if (!(mapper instanceof Function)) {
+            throw new IllegalArgumentException(targetClass + " has no public no argument constructor");
+        }
+        return (Function<S, T>) mapper;
+    }
+
+    private static Object beanMapper(
+            final Class<?> sourceClass,
+            final Class<?> targetClass,
+            final UnmatchedPropertyPolicy policy) {
+        if (sourceClass == null || targetClass == null || policy == null) {
+            throw new IllegalArgumentException("sourceClass, targetClass or policy is null");
+        }
+        final BeanMapperBinding binding = new BeanMapperBinding(sourceClass, targetClass, policy, javaVersion, classDefiner);
+        return generatedClassCache.getValue(binding, () -> newBeanMapper(binding));
+    }
+
+    private static Object newBeanMapper(final BeanMapperBinding binding) {
+        final Class<?> sourceClass = binding.sourceClass();
+        final Class<?> targetClass = binding.targetClass();
+        final long start = System.nanoTime();
+        final BeanMapperFactory g = new BeanMapperFactory(sourceClass, targetClass, binding.policy());
+        final byte[] classData = g.generate();
+        generationMetrics.recordGeneration(System.nanoTime() - start, classData.length);
+        final Class<?> c = define(binding.classDefiner(), targetClass, g.getClassName(), classData);
+        try {
+            return c.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("bean mapper create fail: " + sourceClass + " -> " + targetClass, e);
+        }
+    }
+
+    /**
+     * {@link #generateConstructorClass(Constructor, Class, Class, ConstructorParameterDispatcher)} without context
+     */
+    public static <T> Class<? extends T> generateConstructorClass(
+            final Constructor<?> callConstructor,
+            final Class<T> interfaceClass) {
+        return generateConstructorClass(callConstructor, interfaceClass, null, null);
+    }
+
+    /**
+     * NEW, DUP, INVOKESPECIAL instead of {@link Constructor#newInstance}
+     * <pre>
+     * {@code
+     *  // Function<String, User> -> new User(String name)
+     *  Class<? extends Function> c = DynamicMethodFactory.generateConstructorClass(
+     *          User.class.getConstructor(String.class), Function.class);
+     *  Function<String, User> newUser = c.getConstructor().newInstance();
+     *
+     *  // constructor parameters from a context, Function<Row, User> -> new User(row.getName(), row.getAge())
+     *  DynamicMethodFactory.generateConstructorClass(constructor, Function.class, Row.class, dispatcher);
+     * }
+     * </pre>
+     * the generated class has a no argument constructor. a static factory method is a
+     * {@link #generateClass(Class, Method, Class, Class, ContextToCallObject, ParameterDispatcher)} target
+     * @param callConstructor public constructor of a public class
+     * @param interfaceClass generated class implements interface, returns the new instance
+     * @param contextClass nullable, parameter class
+     * @param parameterDispatcher nullable, parameter to method,
+     *                            the constructor is passed as its {@link java.lang.reflect.Executable}
+     * @return generate class
+     * @param <T> interface type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<? extends T> generateConstructorClass(
+            final Constructor<?> callConstructor,
+            final Class<T> interfaceClass,
+            final Class<?> contextClass,
+            final ConstructorParameterDispatcher parameterDispatcher) {
+        if (callConstructor == null || interfaceClass == null) {
+            throw new IllegalArgumentException("callConstructor or interfaceClass is null");
+        }
+
+        final ConstructorBinding binding = new ConstructorBinding(
+                callConstructor,
+                interfaceClass,
+                contextClass,
+                parameterDispatcher,
+                javaVersion,
+                classDefiner);
+        return (Class<? extends T>) generatedClassCache.get(binding, () -> newConstructorClass(binding));
+    }
+
+    private static Class<?> newConstructorClass(final ConstructorBinding binding) {
+        final long start = System.nanoTime();
+        final ConstructorDynamicMethodFactory g = new ConstructorDynamicMethodFactory(
+                binding.callConstructor(),
+                binding.interfaceClass(),
+                binding.contextClass(),
+                binding.parameterDispatcher());
+        final byte[] classData = g.generate();
+        generationMetrics.recordGeneration(System.nanoTime() - start, classData.length);
+        return define(binding.classDefiner(), binding.callConstructor().getDeclaringClass(), g.getClassName(), classData);
+    }
+
+    /**
+     * precompiled class, disk cached class or generated class of key
+     * @param key binding
+     * @return defined class
+     */
+    private static Class<?> resolve(final BindingKey key) {
+        final Class<?> precompiledClass = findPrecompiledClass(key);
+        if (precompiledClass != null) {
+            return precompiledClass;
+        }
+
+        final BytecodeDiskCache diskCache = bytecodeDiskCache;
+        if (diskCache != null) {
+            return diskCache.generateAndDefine(key);
+        }
+        return generateAndDefine(key);
+    }
+
+    /**
+     * class written by {@link AheadOfTimeGenerator} next to callObjectClass
+     * <p>
+     * only with the default definer and a {@link StableClassNames#isStable stable} binding,
+     * a missing class file is remembered per callObjectClass
+     * @param key binding
+     * @return nullable, precompiled class
+     */
+    private static Class<?> findPrecompiledClass(final BindingKey key) {
+        if (!precompiledClassLookup
+                || key.classDefiner() != DynamicClassLoader.INSTANCE
+                || !StableClassNames.isStable(key)) {
+            return null;
+        }
+
+        final ClassLoader loader = key.callObjectClass().getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+
+        final String className = StableClassNames.of(key);
+        final Set<String> misses = precompiledMisses.get(key.callObjectClass());
+        if (misses.contains(className)) {
+            return null;
+        }
+        if (loader.getResource(className.replace('.', '/') + ".class") == null) {
+            misses.add(className);
+            return null;
+        }
+
+        final Class<?> precompiledClass;
+        try {
+            precompiledClass = Class.forName(className, true, loader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        if (!key.interfaceClass().isAssignableFrom(precompiledClass)) {
+            throw new IllegalArgumentException("precompiled class " + className + " not implements " + key.interfaceClass());
+        }
+        return precompiledClass;
+    }
+
+    /**
+     * generate class of key and define by key.classDefiner
+     * @param key binding
+     * @return defined class
+     */
+    static Class<?> generateAndDefine(final BindingKey key) {
+        return defineGenerated(key, generateNamed(key));
+    }
+
+    /**
+     * generate class of key, stable name with {@link #setStableClassNames} or {@link #setClassExportDirectory}
+     * @param key binding
+     * @return generated class
+     */
+    static GenerateResult generateNamed(final BindingKey key) {
+        final boolean stable = (stableClassNames || classExportDirectory != null) && StableClassNames.isStable(key);
+        return generate(key, stable ? StableClassNames.of(key) : null);
+    }
+
+    /**
+     * export to {@link #setClassExportDirectory} and define by key.classDefiner
+     * @param key binding
+     * @param result generated class of key
+     * @return defined class
+     */
+    static Class<?> defineGenerated(final BindingKey key, final GenerateResult result) {
+        final Path exportDirectory = classExportDirectory;
+        if (exportDirectory != null) {
+            AheadOfTimeGenerator.write(exportDirectory, result);
+        }
+        return define(key.classDefiner(),
+                key.callObjectClass(),
+                result.className(),
+                result.classData());
+    }
+
+    /**
+     * definer.defineClass counted by {@link GenerationMetrics},
+     * a {@link DynamicClassLoader} returning a class defined before is not counted
+     */
+    static Class<?> define(
+            final ClassDefiner definer,
+            final Class<?> callObjectClass,
+            final String className,
+            final byte[] classData) {
+        return define(definer, callObjectClass, className, ByteBuffer.wrap(classData));
+    }
+
+    static Class<?> define(
+            final ClassDefiner definer,
+            final Class<?> callObjectClass,
+            final String className,
+            final ByteBuffer classData) {
+        final long start = System.nanoTime();
+        final DynamicClassLoader loader = definer instanceof ShardedClassDefiner sharded
+                ? sharded.shardOf(className)
+                : definer instanceof DynamicClassLoader l ? l : null;
+        if (loader != null) {
+            final DynamicClassLoader.Definition definition = loader.define(className, classData);
+            if (definition.defined()) {
+                generationMetrics.recordDefine(System.nanoTime() - start);
+            }
+            return definition.definedClass();
+        }
+
+        final Class<?> c = classData.hasArray()
+                ? definer.defineClass(callObjectClass, className, heapBytes(classData))
+                : definer.defineClass(callObjectClass, className, classData);
+        generationMetrics.recordDefine(System.nanoTime() - start);
+        return c;
+    }
+
+    /**
+     * backing array of a wrapped array, copy otherwise
+     */
+    private static byte[] heapBytes(final ByteBuffer classData) {
+        final byte[] array = classData.array();
+        if (classData.arrayOffset() == 0 && classData.position() == 0 && classData.remaining() == array.length) {
+            return array;
+        }
+        final byte[] bytes = new byte[classData.remaining()];
+        classData.duplicate().get(bytes);
+        return bytes;
+    }
+
+    public static GenerateResult generate(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<?> interfaceClass,
+            final Class<?> contextClass,
+            final ContextToCallObject contextToCallObject,
+            final ParameterDispatcher parameterDispatcher) {
+        return generate(new BindingKey(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                javaVersion,
+                null), null);
+    }
+
+    /**
+     * @param key binding
+     * @param className nullable, null = auto class name
+     * @return generated class
+     */
+    static GenerateResult generate(final BindingKey key, final String className) {
+        if (key.classDefiner() instanceof LookupClassDefiner definer) {
+            definer.checkAccess(key.callObjectClass(),
+                    key.methods() == null ? List.of(key.callMethod()) : key.methods().values());
+        }
+
+        final long start = System.nanoTime();
+        final SingleParameterDynamicMethodFactory g;
+        if (key.methods() == null) {
+            g = new SingleParameterDynamicMethodFactory(
+                    key.callObjectClass(),
+                    key.callMethod(),
+                    key.interfaceClass(),
+                    key.contextClass(),
+                    key.contextToCallObject(),
+                    key.parameterDispatcher());
+        } else {
+            g = new SingleParameterDynamicMethodFactory(
+                    key.callObjectClass(),
+                    key.methods(),
+                    key.interfaceClass(),
+                    key.contextClass(),
+                    key.contextToCallObject(),
+                    key.parameterDispatcher());
+        }
+        if (className != null) {
+            g.setGenerateClassName(className);
+        }
+        g.setInvokerMetrics(key.invokerMetrics());
+        g.setBulk(key.bulk());
+        g.setReceiverClasses(key.receiverClasses());
+        final byte[] generateClassData = g.generate();
+        final String generateClassName = g.getClassName();
+        generationMetrics.recordGeneration(System.nanoTime() - start, generateClassData.length);
+        return new GenerateResult(generateClassName, generateClassData);
+    }
+
+
+    /**
+     * same binding returns the same class without generation
+     * @return generateClass cache
+     */
+    public static GeneratedClassCache getGeneratedClassCache() {
+        return generatedClassCache;
+    }
+
+    /**
+     * @return classes generated and defined, time spent, cache hits
+     */
+    public static GenerationMetrics getGenerationMetrics() {
+        return generationMetrics;
+    }
+
+    public static ClassDefiner getClassDefiner() {
+        return classDefiner;
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  // unloadable generated class
+     *  DynamicMethodFactory.setClassDefiner(ClassDefiner.hidden());
+     * }
+     * </pre>
+     * @param definer generateClass definer, default {@link DynamicClassLoader#INSTANCE}
+     */
+    public static void setClassDefiner(final ClassDefiner definer) {
+        if (definer == null) {
+            throw new IllegalArgumentException("classDefiner is null");
+        }
+        classDefiner = definer;
+    }
+
+    public static boolean isPrecompiledClassLookup() {
+        return precompiledClassLookup;
+    }
+
+    /**
+     * @param lookup true = generateClass loads the class written by {@link AheadOfTimeGenerator} if present
+     */
+    public static void setPrecompiledClassLookup(final boolean lookup) {
+        precompiledClassLookup = lookup;
+    }
+
+    public static boolean isStableClassNames() {
+        return stableClassNames;
+    }
+
+    /**
+     * @param stable true = generateClass names classes by {@link StableClassNames} instead of a counter,
+     *               the same binding has the same class name in every JVM
+     */
+    public static void setStableClassNames(final boolean stable) {
+        stableClassNames = stable;
+    }
+
+    public static Path getClassExportDirectory() {
+        return classExportDirectory;
+    }
+
+    /**
+     * training run of a CDS archive, classes generated after this call are written as class files
+     * <pre>
+     * {@code
+     *  // training run, jar invokers/ and put it on the classpath of the next run
+     *  DynamicMethodFactory.setClassExportDirectory(Path.of("invokers"));
+     * }
+     * </pre>
+     * the next run loads them by {@link #setPrecompiledClassLookup precompiled class lookup} from the application
+     * class loader, which -XX:ArchiveClassesAtExit can archive. classes defined from bytes are never archived
+     * @param directory nullable, null = no export. non null implies {@link #setStableClassNames stable names}
+     */
+    public static void setClassExportDirectory(final Path directory) {
+        classExportDirectory = directory;
+    }
+
+    public static boolean isInvokerMetrics() {
+        return invokerMetrics;
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  DynamicMethodFactory.setInvokerMetrics(true);
+     *  ...
+     *  List<InvokerMetrics.Snapshot> snapshots = InvokerMetrics.snapshots();
+     * }
+     * </pre>
+     * @param metrics true = classes generated after this call count calls, errors and latency inline,
+     *                false = generated bytecode has no instrumentation
+     * @see InvokerMetrics
+     */
+    public static void setInvokerMetrics(final boolean metrics) {
+        invokerMetrics = metrics;
+    }
+
+    public static InvokerBackend getInvokerBackend() {
+        return invokerBackend;
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  // LambdaMetafactory for plain bindings, ASM for context and dispatcher bindings
+     *  DynamicMethodFactory.setInvokerBackend(InvokerBackend.automatic());
+     * }
+     * </pre>
+     * @param backend generateFactory backend, default {@link InvokerBackend#asm()}
+     */
+    public static void setInvokerBackend(final InvokerBackend backend) {
+        if (backend == null) {
+            throw new IllegalArgumentException("invokerBackend is null");
+        }
+        invokerBackend = backend;
+    }
+
+    public static BytecodeDiskCache getBytecodeDiskCache() {
+        return bytecodeDiskCache;
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  DynamicMethodFactory.setBytecodeDiskCache(BytecodeDiskCache.open(Path.of("invokers.bin")));
+     * }
+     * </pre>
+     * @param diskCache nullable, null = always generate
+     */
+    public static void setBytecodeDiskCache(final BytecodeDiskCache diskCache) {
+        bytecodeDiskCache = diskCache;
+    }
+
+    /**
+     * <ul>
+     * <li>21 = JAVA 21</li>
+     * <li>20 = JAVA 20</li>
+     * <li>19 = JAVA 19</li>
+     * <li>18 = JAVA 18</li>
+     * <li>17 = JAVA 17</li>
+     * <li>16 = JAVA 16</li>
+     * <li>15 = JAVA 15</li>
+     * <li>14 = JAVA 14</li>
+     * <li>13 = JAVA 13</li>
+     * <li>12 = JAVA 12</li>
+     * <li>11 = JAVA 11</li>
+     * <li>10 = JAVA 10</li>
+     * <li>9 = JAVA 9</li>
+     * <li>8 = JAVA 8</li>
+     * </ul>
+     * @param version generate class java version
+     */
+    public static void setGenerateClassJavaVersion(final int version) {
+        javaVersion = version + 44;
+    }
+
+    /**
+     * parallel capable, define only locks the class name
+     * <p>
+     * a name defined before with the same bytes returns the defined class, stable names may be generated more
+     * than once. other bytes under a defined name throw {@link LinkageError}
+     */
+    public static final class DynamicClassLoader extends ClassLoader implements ClassDefiner {
+
+        static {
+            registerAsParallelCapable();
+        }
+
+        public static final DynamicClassLoader INSTANCE = new DynamicClassLoader();
+
+        /**
+         * defined class name -&gt; {@link #checksum} of its bytes
+         */
+        private final ConcurrentHashMap<String, Long> checksums = new ConcurrentHashMap<>();
+
+        /**
+         * @param definedClass class of the name
+         * @param defined true = defined by this call, false = defined before with the same bytes
+         */
+        record Definition(Class<?> definedClass, boolean defined) {
+        }
+
+        public DynamicClassLoader() {
+        }
+
+        public DynamicClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        public Class<?> defineClass(String name, byte[] byteCodes) {
+            return define(name, ByteBuffer.wrap(byteCodes)).definedClass();
+        }
+
+        public Class<?> defineClass(String name, ByteBuffer byteCodes) {
+            return define(name, byteCodes).definedClass();
+        }
+
+        Definition define(final String name, final ByteBuffer byteCodes) {
+            final long checksum = checksum(byteCodes);
+            synchronized (getClassLoadingLock(name)) {
+                final Class<?> loadedClass = findLoadedClass(name);
+                if (loadedClass != null) {
+                    final Long definedChecksum = checksums.get(name);
+                    if (definedChecksum == null || definedChecksum != checksum) {
+                        throw new LinkageError("duplicate class definition with other bytes: " + name);
+                    }
+                    return new Definition(loadedClass, false);
+                }
+
+                final Class<?> c = byteCodes.hasArray()
+                        ? defineClass(name, byteCodes.array(), byteCodes.arrayOffset() + byteCodes.position(), byteCodes.remaining())
+                        : defineClass(name, byteCodes.duplicate(), null);
+                checksums.put(name, checksum);
+                return new Definition(c, true);
+            }
+        }
+
+        /**
+         * CRC32C and length of the bytes
+         */
+        private static long checksum(final ByteBuffer byteCodes) {
+            final CRC32C crc = new CRC32C();
+            crc.update(byteCodes.duplicate());
+            return ((long) byteCodes.remaining() << 32) | crc.getValue();
+        }
+
+        @Override
+        public Class<?> defineClass(Class<?> callObjectClass, String className, byte[] classData) {
+            return defineClass(className, classData);
+        }
+
+        @Override
+        public Class<?> defineClass(Class<?> callObjectClass, String className, ByteBuffer classData) {
+            return defineClass(className, classData);
         }
     }
 }
@@ -0,0 +1,204 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * GETFIELD / PUTFIELD behind a functional interface, no boxing and no access check per call
+ * <pre>
+ * {@code
+ * public final class [GeneratedClass] implements ToIntFunction {
+ *      public int applyAsInt(Object bean) {
+ *          return ((Bean) bean).count;
+ *      }
+ * }
+ *
+ * public final class [GeneratedClass] implements ObjIntConsumer {
+ *      public void accept(Object bean, int value) {
+ *          ((Bean) bean).count = value;
+ *      }
+ * }
+ * }
+ * </pre>
+ * the interface method shape selects the access, getter (bean) -&gt; value, setter (bean, value) -&gt; void.
+ * static fields drop the bean, IntSupplier getter, IntConsumer setter
+ */
+class FieldAccessorFactory {
+    private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+    private final Field field;
+    private final Class<?> interfaceClass;
+    private final Method implementMethod;
+    private final boolean isStatic;
+    private final boolean setter;
+    private final String className;
+
+    FieldAccessorFactory(final Field field, final Class<?> interfaceClass) {
+        checkAccessible(field);
+        if (!interfaceClass.isInterface()) {
+            throw new IllegalArgumentException(interfaceClass + " is not interface");
+        }
+
+        final Method implementMethod = DefaultDynamicMethodFactory.findImplementMethod(interfaceClass);
+        final Class<?>[] parameterTypes = implementMethod.getParameterTypes();
+        final Class<?> returnType = implementMethod.getReturnType();
+        final boolean isStatic = Modifier.isStatic(field.getModifiers());
+        final int beanParameters = isStatic ? 0 : 1;
+
+        final boolean setter;
+        if (parameterTypes.length == beanParameters && returnType != void.class) {
+            setter = false;
+        } else if (parameterTypes.length == beanParameters + 1 && returnType == void.class) {
+            setter = true;
+        } else {
+            throw new IllegalArgumentException(interfaceClass + " method " + implementMethod.getName()
+                    + " is neither a getter nor a setter of " + field);
+        }
+
+        if (setter && Modifier.isFinal(field.getModifiers())) {
+            throw new IllegalArgumentException(field + " is final");
+        }
+        if (!isStatic && !TypeConversions.isConvertible(field.getDeclaringClass(), parameterTypes[0])) {
+            throw new IllegalArgumentException(interfaceClass + " bean parameter " + parameterTypes[0]
+                    + " is not " + field.getDeclaringClass());
+        }
+        final boolean convertible = setter
+                ? TypeConversions.isConvertible(field.getType(), parameterTypes[beanParameters])
+                : TypeConversions.isConvertible(returnType, field.getType());
+        if (!convertible || (setter && !parameterTypes[beanParameters].isPrimitive() && !isLinkable(field.getType()))) {
+            throw new IllegalArgumentException(interfaceClass + " method " + implementMethod.getName()
+                    + " type not match " + field);
+        }
+
+        this.field = field;
+        this.interfaceClass = interfaceClass;
+        this.implementMethod = implementMethod;
+        this.isStatic = isStatic;
+        this.setter = setter;
+        this.className = field.getDeclaringClass().getName()
+                + "_" + field.getName()
+                + "_field_" + DefaultDynamicMethodFactory.nextClassNumber();
+    }
+
+    /**
+     * the generated class is defined outside of the field class, only public members can be linked
+     * @param field field
+     */
+    static void checkAccessible(final Field field) {
+        if (!Modifier.isPublic(field.getModifiers()) || !Modifier.isPublic(field.getDeclaringClass().getModifiers())) {
+            throw new IllegalArgumentException(field + " is not public");
+        }
+    }
+
+    /**
+     * CHECKCAST to a non public class of another package fails to link
+     */
+    static boolean isLinkable(final Class<?> c) {
+        Class<?> component = c;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        return component.isPrimitive() || Modifier.isPublic(component.getModifiers());
+    }
+
+    byte[] generate() {
+        classWriter.visit(DynamicMethodFactory.javaVersion,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                getInternalClassName(),
+                null,
+                "java/lang/Object",
+                new String[] {Type.getInternalName(interfaceClass)});
+
+        declareConstructor(classWriter);
+        declareAccess();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    private String getInternalClassName() {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public <init>() {
+     *      super();
+     *  }
+     * }
+     * </pre>
+     */
+    static void declareConstructor(final ClassWriter classWriter) {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  // getter
+     *  public [R] [method](Object bean) {
+     *      return ([R]) ((Bean) bean).[field];
+     *  }
+     *  // setter
+     *  public void [method](Object bean, [V] value) {
+     *      ((Bean) bean).[field] = ([FieldType]) value;
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareAccess() {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                implementMethod.getName(),
+                Type.getMethodDescriptor(implementMethod),
+                null,
+                null);
+        final Class<?>[] parameterTypes = implementMethod.getParameterTypes();
+        final Class<?> fieldType = field.getType();
+        int slot = 1;
+        if (!isStatic) {
+            mv.visitVarInsn(Opcodes.ALOAD, slot++);
+            TypeConversions.convert(mv, field.getDeclaringClass(), parameterTypes[0]);
+        }
+
+        if (setter) {
+            final Class<?> valueType = parameterTypes[parameterTypes.length - 1];
+            mv.visitVarInsn(Type.getType(valueType).getOpcode(Opcodes.ILOAD), slot);
+            TypeConversions.convert(mv, fieldType, valueType);
+            fieldInsn(mv, isStatic ? Opcodes.PUTSTATIC : Opcodes.PUTFIELD, field.getDeclaringClass(), field);
+            mv.visitInsn(Opcodes.RETURN);
+        } else {
+            fieldInsn(mv, isStatic ? Opcodes.GETSTATIC : Opcodes.GETFIELD, field.getDeclaringClass(), field);
+            TypeConversions.convert(mv, implementMethod.getReturnType(), fieldType);
+            mv.visitInsn(Type.getType(implementMethod.getReturnType()).getOpcode(Opcodes.IRETURN));
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * @param opCode GETFIELD, PUTFIELD, GETSTATIC, PUTSTATIC
+     * @param owner class the field is resolved from, a public subclass reaches public fields of a non public superclass
+     * @param field field
+     */
+    static void fieldInsn(final MethodVisitor mv, final int opCode, final Class<?> owner, final Field field) {
+        mv.visitFieldInsn(opCode,
+                Type.getInternalName(owner),
+                field.getName(),
+                Type.getDescriptor(field.getType()));
+    }
+}
@@ -0,0 +1,389 @@
+package org.rudtyz.generate;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * generated class cache
+ * <pre>
+ * {@code
+ *  callObjectClass -> (ClassValue) CacheKey -> WeakReference<Class<?>>
+ *  callObjectClass -> (ClassValue) CacheKey -> accessor, mapper, factory instance
+ * }
+ * </pre>
+ * <ul>
+ * <li>lookup is lock free, a miss generates outside of any map lock, concurrent misses of a key wait for one generation</li>
+ * <li>keys live in a {@link ClassValue} of callObjectClass, the cache does not keep callObjectClass or its loader alive</li>
+ * <li>classes are weakly referenced, a collected class is removed and counted as eviction</li>
+ * <li>values of {@link #getValue} are held until evicted, cleared or callObjectClass is unloaded</li>
+ * <li>maximumSize &gt; 0 evicts by second chance (CLOCK), a key used since the last pass survives one more pass</li>
+ * <li>a call waiting for the generation of another thread counts as wait, neither hit nor miss</li>
+ * </ul>
+ */
+public final class GeneratedClassCache {
+
+    /**
+     * @param hits returned without generation or waiting
+     * @param misses generated by the calling thread
+     * @param waits waited for the generation of another thread
+     * @param evictions removed by maximumSize or collection
+     * @param size entries
+     */
+    public record Stats(long hits, long misses, long waits, long evictions, int size) {
+    }
+
+    private final ClassValue<ConcurrentHashMap<CacheKey, Entry>> buckets = new ClassValue<>() {
+        @Override
+        protected ConcurrentHashMap<CacheKey, Entry> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * every entry, weakly. removed when the entry is removed or its callObjectClass is unloaded
+     */
+    private final Set<EntryRef> registry = ConcurrentHashMap.newKeySet();
+
+    /**
+     * insertion order of entries while maximumSize &gt; 0, removed refs are skipped when polled
+     */
+    private final ConcurrentLinkedQueue<EntryRef> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockSize = new AtomicInteger();
+
+    private final ConcurrentHashMap<CacheKey, Pending> generating = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collectedQueue = new ReferenceQueue<>();
+    private final ReferenceQueue<Entry> unloadedQueue = new ReferenceQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile boolean enabled = true;
+
+    /**
+     * 0 = unbounded
+     */
+    private volatile int maximumSize = 0;
+
+    GeneratedClassCache() {
+    }
+
+    /**
+     * @param key binding, callObjectClass not null
+     * @param generator called once per key at a time, may generate other keys but not key itself
+     * @return cached or generated class
+     */
+    Class<?> get(final CacheKey key, final Supplier<Class<?>> generator) {
+        return (Class<?>) get(key, generator, false);
+    }
+
+    /**
+     * {@link #get} of a generated instance, held by the cache so its generated class stays loaded
+     * @param key binding, callObjectClass not null
+     * @param generator called once per key at a time
+     * @return cached or generated value
+     * @param <V> value type
+     */
+    @SuppressWarnings("unchecked")
+    <V> V getValue(final CacheKey key, final Supplier<V> generator) {
+        return (V) get(key, generator, true);
+    }
+
+    private Object get(final CacheKey key, final Supplier<?> generator, final boolean strong) {
+        if (!enabled) {
+            misses.increment();
+            return generator.get();
+        }
+
+        final ConcurrentHashMap<CacheKey, Entry> bucket = bucketOf(key);
+        final Object cached = lookup(bucket, key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        final Pending pending = new Pending();
+        final Pending running = generating.putIfAbsent(key, pending);
+        if (running != null) {
+            if (running.owner == Thread.currentThread()) {
+                throw new IllegalStateException("recursive generation of " + key);
+            }
+            waits.increment();
+            return running.await();
+        }
+
+        try {
+            // generated by another thread between lookup and putIfAbsent
+            Object c = lookup(bucket, key);
+            if (c != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                c = generator.get();
+                insert(bucket, key, c, strong);
+            }
+            pending.complete(c);
+            return c;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            generating.remove(key, pending);
+            expungeCollected();
+            evictOverflow();
+        }
+    }
+
+    /**
+     * @param key binding
+     * @return true = {@link #get} returns without generation
+     */
+    boolean contains(final CacheKey key) {
+        if (!enabled) {
+            return false;
+        }
+        final Entry cached = bucketOf(key).get(key);
+        return cached != null && cached.get() != null;
+    }
+
+    private ConcurrentHashMap<CacheKey, Entry> bucketOf(final CacheKey key) {
+        if (key.callObjectClass() == null) {
+            throw new IllegalArgumentException("callObjectClass is null");
+        }
+        return buckets.get(key.callObjectClass());
+    }
+
+    private static Object lookup(final ConcurrentHashMap<CacheKey, Entry> bucket, final CacheKey key) {
+        final Entry cached = bucket.get(key);
+        if (cached == null) {
+            return null;
+        }
+        final Object c = cached.get();
+        if (c != null && !cached.referenced) {
+            cached.referenced = true;
+        }
+        return c;
+    }
+
+    private void insert(final ConcurrentHashMap<CacheKey, Entry> bucket,
+                        final CacheKey key,
+                        final Object c,
+                        final boolean strong) {
+        final Entry e = new Entry(bucket, key, c, strong, collectedQueue);
+        e.ref = new EntryRef(e, unloadedQueue);
+        final Entry previous = bucket.put(key, e);
+        if (previous != null) {
+            unregister(previous);
+        }
+        registry.add(e.ref);
+        if (maximumSize > 0) {
+            clock.add(e.ref);
+            clockSize.incrementAndGet();
+        }
+    }
+
+    private boolean remove(final Entry e) {
+        if (e.bucket.remove(e.key, e)) {
+            unregister(e);
+            return true;
+        }
+        return false;
+    }
+
+    private void unregister(final Entry e) {
+        e.ref.removed = true;
+        registry.remove(e.ref);
+    }
+
+    /**
+     * remove entries whose class was collected and entries whose callObjectClass was unloaded
+     */
+    private void expungeCollected() {
+        Object ref;
+        while ((ref = collectedQueue.poll()) != null) {
+            if (remove((Entry) ref)) {
+                evictions.increment();
+            }
+        }
+        while ((ref = unloadedQueue.poll()) != null) {
+            final EntryRef r = (EntryRef) ref;
+            r.removed = true;
+            if (registry.remove(r)) {
+                evictions.increment();
+            }
+        }
+
+        // removed refs wait in the clock until polled, drop them once they outnumber the live ones
+        if (clockSize.get() > 2 * registry.size() + 16) {
+            synchronized (this) {
+                clock.removeIf(r -> r.removed);
+                clockSize.set(clock.size());
+            }
+        }
+    }
+
+    /**
+     * remove keys not used since the last pass until size &lt;= maximumSize
+     */
+    private synchronized void evictOverflow() {
+        final int max = maximumSize;
+        if (max <= 0) {
+            return;
+        }
+
+        while (registry.size() > max) {
+            final EntryRef ref = clock.poll();
+            if (ref == null) {
+                return;
+            }
+            clockSize.decrementAndGet();
+            if (ref.removed) {
+                continue;
+            }
+
+            final Entry e = ref.get();
+            if (e == null) {
+                ref.removed = true;
+                if (registry.remove(ref)) {
+                    evictions.increment();
+                }
+                continue;
+            }
+
+            if (e.referenced && e.get() != null) {
+                // second chance
+                e.referenced = false;
+                clock.add(ref);
+                clockSize.incrementAndGet();
+                continue;
+            }
+
+            if (remove(e)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), waits.sum(), evictions.sum(), registry.size());
+    }
+
+    public int size() {
+        return registry.size();
+    }
+
+    public synchronized void clear() {
+        for (final EntryRef ref : registry) {
+            final Entry e = ref.get();
+            if (e != null) {
+                remove(e);
+            }
+        }
+        registry.clear();
+        clock.clear();
+        clockSize.set(0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled false = always generate new class
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @param maximumSize 0 = unbounded
+     */
+    public void setMaximumSize(final int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must be positive or 0: " + maximumSize);
+        }
+        synchronized (this) {
+            final boolean wasBounded = this.maximumSize > 0;
+            this.maximumSize = maximumSize;
+            if (maximumSize == 0) {
+                clock.clear();
+                clockSize.set(0);
+            } else if (!wasBounded) {
+                clock.clear();
+                clock.addAll(registry);
+                clockSize.set(clock.size());
+            }
+        }
+        evictOverflow();
+    }
+
+    static final class Entry extends WeakReference<Object> {
+        final ConcurrentHashMap<CacheKey, Entry> bucket;
+        final CacheKey key;
+
+        /**
+         * nullable, {@link #getValue} value kept reachable
+         */
+        final Object value;
+        EntryRef ref;
+        volatile boolean referenced;
+
+        Entry(final ConcurrentHashMap<CacheKey, Entry> bucket,
+              final CacheKey key,
+              final Object generated,
+              final boolean strong,
+              final ReferenceQueue<Object> queue) {
+            super(generated, queue);
+            this.bucket = bucket;
+            this.key = key;
+            this.value = strong ? generated : null;
+        }
+    }
+
+    /**
+     * registry and clock slot of an entry, does not keep the entry key alive
+     */
+    static final class EntryRef extends WeakReference<Entry> {
+        volatile boolean removed;
+
+        EntryRef(final Entry entry, final ReferenceQueue<Entry> queue) {
+            super(entry, queue);
+        }
+    }
+
+    /**
+     * generation in progress, other threads asking for the same key wait for it, also used by {@link GenerationScope}
+     */
+    static final class Pending extends CompletableFuture<Object> {
+        final Thread owner = Thread.currentThread();
+
+        Object await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException r) {
+                    throw r;
+                }
+                if (e.getCause() instanceof Error err) {
+                    throw err;
+                }
+                throw e;
+            }
+        }
+    }
+}
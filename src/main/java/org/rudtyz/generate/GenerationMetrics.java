@@ -0,0 +1,190 @@
+package org.rudtyz.generate;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * cost of class generation
+ * <ul>
+ * <li>classesGenerated, bytecodeBytes, asmNanos: generator construction and ASM {@code generate()}</li>
+ * <li>classesDefined, defineNanos: {@link ClassDefiner#defineClass} of generated and disk cached classes</li>
+ * <li>cache: {@link GeneratedClassCache} and {@link BytecodeDiskCache} hits</li>
+ * </ul>
+ * <pre>
+ * {@code
+ *  GenerationMetrics metrics = DynamicMethodFactory.getGenerationMetrics();
+ *  metrics.registerMBean(); // org.rudtyz.generate:type=GenerationMetrics
+ *  GenerationMetrics.Snapshot s = metrics.snapshot();
+ * }
+ * </pre>
+ */
+public final class GenerationMetrics implements GenerationMetricsMXBean {
+    public static final String OBJECT_NAME = "org.rudtyz.generate:type=GenerationMetrics";
+
+    public record Snapshot(
+            long classesGenerated,
+            long bytecodeBytes,
+            long maxClassBytes,
+            long asmNanos,
+            long classesDefined,
+            long defineNanos,
+            long cacheHits,
+            long cacheMisses,
+            long cacheWaits,
+            int cacheSize,
+            long diskCacheHits) {
+        public double averageClassBytes() {
+            return classesGenerated == 0 ? 0 : (double) bytecodeBytes / classesGenerated;
+        }
+    }
+
+    private final LongAdder classesGenerated = new LongAdder();
+    private final LongAdder bytecodeBytes = new LongAdder();
+    private final LongAccumulator maxClassBytes = new LongAccumulator(Math::max, 0);
+    private final LongAdder asmNanos = new LongAdder();
+    private final LongAdder classesDefined = new LongAdder();
+    private final LongAdder defineNanos = new LongAdder();
+
+    GenerationMetrics() {
+    }
+
+    void recordGeneration(final long nanos, final int classBytes) {
+        classesGenerated.increment();
+        bytecodeBytes.add(classBytes);
+        maxClassBytes.accumulate(classBytes);
+        asmNanos.add(nanos);
+    }
+
+    void recordDefine(final long nanos) {
+        classesDefined.increment();
+        defineNanos.add(nanos);
+    }
+
+    public Snapshot snapshot() {
+        final GeneratedClassCache.Stats cacheStats = DynamicMethodFactory.getGeneratedClassCache().stats();
+        final BytecodeDiskCache diskCache = DynamicMethodFactory.getBytecodeDiskCache();
+        return new Snapshot(
+                classesGenerated.sum(),
+                bytecodeBytes.sum(),
+                maxClassBytes.get(),
+                asmNanos.sum(),
+                classesDefined.sum(),
+                defineNanos.sum(),
+                cacheStats.hits(),
+                cacheStats.misses(),
+                cacheStats.waits(),
+                cacheStats.size(),
+                diskCache == null ? 0 : diskCache.stats().hits());
+    }
+
+    /**
+     * register this to the platform MBeanServer as {@link #OBJECT_NAME}
+     * @return true = registered, false = already registered
+     */
+    public boolean registerMBean() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+            return true;
+        } catch (InstanceAlreadyExistsException e) {
+            return false;
+        } catch (JMException e) {
+            throw new IllegalStateException("GenerationMetrics MBean register fail", e);
+        }
+    }
+
+    /**
+     * @return true = unregistered, false = not registered
+     */
+    public boolean unregisterMBean() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(new ObjectName(OBJECT_NAME));
+            return true;
+        } catch (InstanceNotFoundException e) {
+            return false;
+        } catch (JMException e) {
+            throw new IllegalStateException("GenerationMetrics MBean unregister fail", e);
+        }
+    }
+
+    @Override
+    public long getClassesGenerated() {
+        return classesGenerated.sum();
+    }
+
+    @Override
+    public long getBytecodeBytes() {
+        return bytecodeBytes.sum();
+    }
+
+    @Override
+    public long getMaxClassBytes() {
+        return maxClassBytes.get();
+    }
+
+    @Override
+    public double getAverageClassBytes() {
+        return snapshot().averageClassBytes();
+    }
+
+    @Override
+    public long getAsmNanos() {
+        return asmNanos.sum();
+    }
+
+    @Override
+    public long getClassesDefined() {
+        return classesDefined.sum();
+    }
+
+    @Override
+    public long getDefineNanos() {
+        return defineNanos.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return DynamicMethodFactory.getGeneratedClassCache().stats().hits();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return DynamicMethodFactory.getGeneratedClassCache().stats().misses();
+    }
+
+    @Override
+    public long getCacheWaits() {
+        return DynamicMethodFactory.getGeneratedClassCache().stats().waits();
+    }
+
+    @Override
+    public int getCacheSize() {
+        return DynamicMethodFactory.getGeneratedClassCache().size();
+    }
+
+    @Override
+    public long getDiskCacheHits() {
+        final BytecodeDiskCache diskCache = DynamicMethodFactory.getBytecodeDiskCache();
+        return diskCache == null ? 0 : diskCache.stats().hits();
+    }
+
+    /**
+     * reset generation and define counters, cache counters are kept
+     */
+    @Override
+    public void reset() {
+        classesGenerated.reset();
+        bytecodeBytes.reset();
+        maxClassBytes.reset();
+        asmNanos.reset();
+        classesDefined.reset();
+        defineNanos.reset();
+    }
+}
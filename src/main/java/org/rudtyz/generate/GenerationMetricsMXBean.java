@@ -0,0 +1,40 @@
+package org.rudtyz.generate;
+
+/**
+ * JMX view of {@link GenerationMetrics}
+ * <pre>
+ * {@code
+ *  org.rudtyz.generate:type=GenerationMetrics
+ * }
+ * </pre>
+ */
+public interface GenerationMetricsMXBean {
+    long getClassesGenerated();
+
+    long getBytecodeBytes();
+
+    long getMaxClassBytes();
+
+    double getAverageClassBytes();
+
+    long getAsmNanos();
+
+    long getClassesDefined();
+
+    long getDefineNanos();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    /**
+     * @return lookups that waited for a generation of another thread, not counted as hits
+     */
+    long getCacheWaits();
+
+    int getCacheSize();
+
+    long getDiskCacheHits();
+
+    void reset();
+}
@@ -0,0 +1,175 @@
+package org.rudtyz.generate;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * generated classes grouped by lifecycle (plugin, tenant, reloaded module)
+ * <pre>
+ * {@code
+ *  try (GenerationScope scope = new GenerationScope(pluginClassLoader)) {
+ *      Class<? extends Runnable> c = scope.generateClass(Example.class, method, Runnable.class);
+ *      ...
+ *  } // all classes of scope are unreachable from the scope
+ * }
+ * </pre>
+ * <ul>
+ * <li>each scope owns a child class loader, parent must see callObjectClass, interfaceClass and contextClass</li>
+ * <li>same binding in the same scope returns the same class</li>
+ * <li>after close, the scope loader and its classes are collected when no instance is left</li>
+ * </ul>
+ */
+public final class GenerationScope implements ClassDefiner, AutoCloseable {
+
+    /**
+     * generated or generating class of each binding, generation runs outside of any map lock
+     */
+    private final ConcurrentHashMap<BindingKey, GeneratedClassCache.Pending> classes = new ConcurrentHashMap<>();
+    private final AtomicLong classCount = new AtomicLong();
+    private final AtomicLong byteCount = new AtomicLong();
+
+    private volatile ScopeClassLoader classLoader;
+
+    public GenerationScope() {
+        this(GenerationScope.class.getClassLoader());
+    }
+
+    /**
+     * @param parent scope class loader parent
+     */
+    public GenerationScope(final ClassLoader parent) {
+        this.classLoader = new ScopeClassLoader(parent);
+    }
+
+    /**
+     * @see DynamicMethodFactory#generateClass(Class, Method, Class)
+     */
+    public <T> Class<? extends T> generateClass(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<T> interfaceClass) {
+        return generateClass(callObjectClass, callMethod, interfaceClass, null, null, null);
+    }
+
+    /**
+     * @see DynamicMethodFactory#generateClass(Class, Method, Class, Class, ContextToCallObject, ParameterDispatcher)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Class<? extends T> generateClass(
+            final Class<?> callObjectClass,
+            final Method callMethod,
+            final Class<T> interfaceClass,
+            final Class<?> contextClass,
+            final ContextToCallObject contextToCallObject,
+            final ParameterDispatcher parameterDispatcher) {
+        ensureOpen();
+        final BindingKey key = new BindingKey(
+                callObjectClass,
+                callMethod,
+                interfaceClass,
+                contextClass,
+                contextToCallObject,
+                parameterDispatcher,
+                DynamicMethodFactory.javaVersion,
+                this,
+                null,
+                DynamicMethodFactory.isInvokerMetrics(),
+                false,
+                false,
+                null);
+        return (Class<? extends T>) get(key);
+    }
+
+    /**
+     * same key at a time is generated once, other threads wait for it
+     */
+    private Class<?> get(final BindingKey key) {
+        final GeneratedClassCache.Pending pending = new GeneratedClassCache.Pending();
+        final GeneratedClassCache.Pending running = classes.putIfAbsent(key, pending);
+        if (running != null) {
+            if (running.owner == Thread.currentThread() && !running.isDone()) {
+                throw new IllegalStateException("recursive generation of " + key);
+            }
+            return (Class<?>) running.await();
+        }
+
+        try {
+            final Class<?> c = DynamicMethodFactory.generateAndDefine(key);
+            pending.complete(c);
+            return c;
+        } catch (RuntimeException | Error e) {
+            classes.remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Class<?> defineClass(final Class<?> callObjectClass, final String className, final byte[] classData) {
+        final Class<?> c = ensureOpen().defineClass(className, classData);
+        classCount.incrementAndGet();
+        byteCount.addAndGet(classData.length);
+        return c;
+    }
+
+    /**
+     * @return defined class count
+     */
+    public long getClassCount() {
+        return classCount.get();
+    }
+
+    /**
+     * @return defined class bytecode size
+     */
+    public long getByteCount() {
+        return byteCount.get();
+    }
+
+    public boolean isClosed() {
+        return classLoader == null;
+    }
+
+    /**
+     * release the scope class loader and every class defined in this scope, metrics of scope classes are unregistered
+     */
+    @Override
+    public void close() {
+        classLoader = null;
+        final List<Class<?>> defined = new ArrayList<>();
+        for (final GeneratedClassCache.Pending p : classes.values()) {
+            if (p.isDone() && !p.isCompletedExceptionally()) {
+                defined.add((Class<?>) p.join());
+            }
+        }
+        InvokerMetrics.unregisterAll(defined);
+        classes.clear();
+        classCount.set(0);
+        byteCount.set(0);
+    }
+
+    private ScopeClassLoader ensureOpen() {
+        final ScopeClassLoader loader = classLoader;
+        if (loader == null) {
+            throw new IllegalStateException("GenerationScope is closed");
+        }
+        return loader;
+    }
+
+    private static final class ScopeClassLoader extends ClassLoader {
+        static {
+            registerAsParallelCapable();
+        }
+
+        ScopeClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> defineClass(final String name, final byte[] byteCodes) {
+            return defineClass(name, byteCodes, 0, byteCodes.length);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.rudtyz.generate;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * define generated class by {@link MethodHandles.Lookup#defineHiddenClass}
+ * <pre>
+ * {@code
+ *  MethodHandles.privateLookupIn(callObjectClass, lookup)
+ *      .defineHiddenClass(classData, true)
+ * }
+ * </pre>
+ * <ul>
+ * <li>generated class name must be in the callObjectClass package</li>
+ * <li>callObjectClass must be in the same module as this library</li>
+ * <li>without STRONG, the class is unloaded when the class and its instances are unreachable</li>
+ * </ul>
+ */
+final class HiddenClassDefiner implements ClassDefiner {
+    static final HiddenClassDefiner WEAK = new HiddenClassDefiner(false);
+    static final HiddenClassDefiner STRONG = new HiddenClassDefiner(true);
+
+    private final MethodHandles.Lookup.ClassOption[] options;
+
+    private HiddenClassDefiner(final boolean strong) {
+        if (strong) {
+            this.options = new MethodHandles.Lookup.ClassOption[] {MethodHandles.Lookup.ClassOption.STRONG};
+        } else {
+            this.options = new MethodHandles.Lookup.ClassOption[0];
+        }
+    }
+
+    @Override
+    public Class<?> defineClass(final Class<?> callObjectClass, final String className, final byte[] classData) {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(callObjectClass, MethodHandles.lookup());
+            return lookup.defineHiddenClass(classData, true, options).lookupClass();
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("hidden class define fail: " + className, e);
+        }
+    }
+}
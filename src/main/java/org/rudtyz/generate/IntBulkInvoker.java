@@ -0,0 +1,26 @@
+package org.rudtyz.generate;
+
+/**
+ * {@link BulkInvoker} of a call method whose result converts to int
+ * <pre>
+ * {@code
+ *  // ToIntFunction<String> -> int length(String s)
+ *  IntBulkInvoker<String> bulk = (IntBulkInvoker<String>) DynamicMethodFactory.<String>generateBulkClass(Sample.class, length, ToIntFunction.class)
+ *          .getConstructor(Sample.class)
+ *          .newInstance(sample);
+ *  bulk.applyAllAsInt(words, 0, words.length, results);
+ * }
+ * </pre>
+ * @param <C> context, element type
+ */
+public interface IntBulkInvoker<C> extends BulkInvoker<C> {
+
+    /**
+     * results[i] = call(contexts[i])
+     * @param contexts contexts
+     * @param from inclusive
+     * @param to exclusive
+     * @param results same index as contexts
+     */
+    void applyAllAsInt(C[] contexts, int from, int to, int[] results);
+}
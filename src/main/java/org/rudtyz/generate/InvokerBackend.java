@@ -0,0 +1,63 @@
+package org.rudtyz.generate;
+
+/**
+ * creates the {@link InvokerFactory} of a binding
+ * <ul>
+ * <li>{@link #asm()} generated class, every binding shape (default)</li>
+ * <li>{@link #lambdaMetafactory()} hidden class spun by {@link java.lang.invoke.LambdaMetafactory}</li>
+ * <li>{@link #methodHandle()} {@link java.lang.invoke.MethodHandleProxies} over a bound method handle</li>
+ * <li>{@link #automatic()} picked by binding shape</li>
+ * </ul>
+ * lambdaMetafactory and methodHandle support only direct bindings:
+ * one abstract method, no context, no ParameterDispatcher, each argument passed at the same position
+ * <pre>
+ * {@code
+ *  DynamicMethodFactory.setInvokerBackend(InvokerBackend.automatic());
+ *  InvokerFactory<Example, Runnable> factory = DynamicMethodFactory.generateFactory(Example.class, method, Runnable.class);
+ * }
+ * </pre>
+ */
+public interface InvokerBackend {
+
+    /**
+     * @param spec binding
+     * @return factory of the binding
+     * @throws IllegalArgumentException binding shape not supported by this backend
+     */
+    InvokerFactory<?, ?> factory(BindingSpec spec);
+
+    /**
+     * ASM generated class implementing the interface and {@link InvokerFactory},
+     * uses class definer, cache, precompiled classes and metrics of {@link DynamicMethodFactory}
+     * @return asm backend
+     */
+    static InvokerBackend asm() {
+        return AsmInvokerBackend.INSTANCE;
+    }
+
+    /**
+     * hidden nestmate class of callObjectClass, the JVM trusts its final fields,
+     * the class definer of {@link DynamicMethodFactory} is not used
+     * @return LambdaMetafactory backend
+     */
+    static InvokerBackend lambdaMetafactory() {
+        return LambdaInvokerBackend.INSTANCE;
+    }
+
+    /**
+     * no class spinning per binding, slower calls, for rarely called bindings
+     * @return MethodHandleProxies backend
+     */
+    static InvokerBackend methodHandle() {
+        return MethodHandleInvokerBackend.INSTANCE;
+    }
+
+    /**
+     * lambdaMetafactory for direct bindings, else asm.
+     * asm when {@link DynamicMethodFactory#isInvokerMetrics()}, only generated classes record metrics
+     * @return backend picked per binding
+     */
+    static InvokerBackend automatic() {
+        return AutomaticInvokerBackend.INSTANCE;
+    }
+}
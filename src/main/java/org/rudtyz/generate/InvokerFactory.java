@@ -0,0 +1,22 @@
+package org.rudtyz.generate;
+
+/**
+ * creates generated class instances without reflection
+ * <pre>
+ * {@code
+ *  InvokerFactory<Example, Runnable> factory = DynamicMethodFactory.generateFactory(Example.class, method, Runnable.class);
+ *  Runnable r = factory.create(example); // new [GeneratedClass](example)
+ * }
+ * </pre>
+ * with the ASM backend the factory is a generated class of its own, never an instance of the generated class
+ * @param <R> receiver, call object class
+ * @param <T> interface type
+ * @see DynamicMethodFactory#generateFactory
+ */
+public interface InvokerFactory<R, T> {
+    /**
+     * @param receiver call object, ignored by static bindings
+     * @return new instance, the shared instance for static bindings
+     */
+    T create(R receiver);
+}
@@ -0,0 +1,173 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * {@link InvokerFactory} of a generated class, a class of its own next to the generated class
+ * <pre>
+ * {@code
+ * // instance binding
+ * public final class [GeneratedClass]_factory implements InvokerFactory {
+ *      public Object create(Object receiver) {
+ *          return new [GeneratedClass]((T) receiver);
+ *      }
+ * }
+ *
+ * // static binding, one stateless instance
+ * public final class [GeneratedClass]_factory implements InvokerFactory {
+ *      private final [GeneratedClass] instance = new [GeneratedClass]();
+ *
+ *      public Object create(Object receiver) {
+ *          return this.instance;
+ *      }
+ * }
+ * }
+ * </pre>
+ * the generated class is linked by name, a hidden generated class has no factory class
+ */
+class InvokerFactoryClassFactory {
+    private static final String FIELD_NAME = "instance";
+
+    private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+    private final int javaVersion;
+    private final Type generateType;
+    private final Type receiverType;
+    private final String className;
+
+    /**
+     * @param generateClass generated class, public constructor (T receiver) or () for static bindings
+     * @param javaVersion class file version
+     */
+    InvokerFactoryClassFactory(final Class<?> generateClass, final int javaVersion) {
+        if (generateClass.isHidden()) {
+            throw new IllegalArgumentException(generateClass + " is hidden");
+        }
+
+        Class<?> receiverClass = null;
+        boolean stateless = false;
+        for (final Constructor<?> c : generateClass.getConstructors()) {
+            if (c.getParameterCount() == 0) {
+                stateless = true;
+            } else if (c.getParameterCount() == 1) {
+                receiverClass = c.getParameterTypes()[0];
+            }
+        }
+        if (!stateless && receiverClass == null) {
+            throw new IllegalArgumentException(generateClass + " has no receiver constructor");
+        }
+
+        this.javaVersion = javaVersion;
+        this.generateType = Type.getType(generateClass);
+        this.receiverType = stateless ? null : Type.getType(receiverClass);
+        this.className = generateClass.getName() + "_factory";
+    }
+
+    byte[] generate() {
+        classWriter.visit(javaVersion,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                getInternalClassName(),
+                null,
+                "java/lang/Object",
+                new String[] {Type.getInternalName(InvokerFactory.class)});
+
+        declareConstructor();
+        declareCreate();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    private String getInternalClassName() {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public <init>() {
+     *      super();
+     *      this.instance = new [GeneratedClass](); // static binding
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareConstructor() {
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                "<init>",
+                Type.getMethodDescriptor(Type.VOID_TYPE),
+                null,
+                null);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                Type.getInternalName(Object.class),
+                "<init>",
+                Type.getMethodDescriptor(Type.VOID_TYPE),
+                false);
+
+        if (receiverType == null) {
+            classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+                    FIELD_NAME,
+                    generateType.getDescriptor(),
+                    null,
+                    null);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitTypeInsn(Opcodes.NEW, generateType.getInternalName());
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                    generateType.getInternalName(),
+                    "<init>",
+                    Type.getMethodDescriptor(Type.VOID_TYPE),
+                    false);
+            mv.visitFieldInsn(Opcodes.PUTFIELD, getInternalClassName(), FIELD_NAME, generateType.getDescriptor());
+        }
+
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public Object create(Object receiver) {
+     *      return new [GeneratedClass]((T) receiver); // return this.instance; static binding
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareCreate() {
+        final Method create = DefaultDynamicMethodFactory.findImplementMethod(InvokerFactory.class);
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                create.getName(),
+                Type.getMethodDescriptor(create),
+                null,
+                null);
+        if (receiverType == null) {
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitFieldInsn(Opcodes.GETFIELD, getInternalClassName(), FIELD_NAME, generateType.getDescriptor());
+        } else {
+            mv.visitTypeInsn(Opcodes.NEW, generateType.getInternalName());
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, receiverType.getInternalName());
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                    generateType.getInternalName(),
+                    "<init>",
+                    Type.getMethodDescriptor(Type.VOID_TYPE, receiverType),
+                    false);
+        }
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+}
@@ -0,0 +1,214 @@
+package org.rudtyz.generate;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * call count, error count and latency of a generated class
+ * <pre>
+ * {@code
+ *  DynamicMethodFactory.setInvokerMetrics(true);
+ *  // generated
+ *  public final class [GeneratedClass] implements [interfaceClass] {
+ *      private static final LongAdder CALLS;
+ *      private static final LongAdder ERRORS;
+ *      private static final LatencyHistogram LATENCY;
+ *      static {
+ *          InvokerMetrics m = InvokerMetrics.register([GeneratedClass].class, "[callObjectClass].[callMethod]");
+ *          CALLS = m.getCalls();
+ *          ERRORS = m.getErrors();
+ *          LATENCY = m.getLatency();
+ *      }
+ *      public int getAsInt() {
+ *          CALLS.increment();
+ *          long start = System.nanoTime();
+ *          try {
+ *              int r = this.instance.myInt();
+ *              LATENCY.record(System.nanoTime() - start);
+ *              return r;
+ *          } catch (Throwable t) {
+ *              ERRORS.increment();
+ *              LATENCY.record(System.nanoTime() - start);
+ *              throw t;
+ *          }
+ *      }
+ *  }
+ *
+ *  for (InvokerMetrics.Snapshot s : InvokerMetrics.snapshots()) {
+ *      report(s.target(), s.calls(), s.errors(), s.latency().percentile(99));
+ *  }
+ * }
+ * </pre>
+ * metrics are registered by generated class, weakly. metrics of an unloaded class
+ * (hidden class, closed {@link GenerationScope}) leave the registry
+ */
+public final class InvokerMetrics {
+
+    public record Snapshot(String className, String target, long calls, long errors, LatencyHistogram.Snapshot latency) {
+    }
+
+    private static final Set<Registration> registry = ConcurrentHashMap.newKeySet();
+    private static final ReferenceQueue<Class<?>> unloadedQueue = new ReferenceQueue<>();
+    private static final AtomicLong registrations = new AtomicLong();
+
+    private final String className;
+    private final String target;
+    private final long registration = registrations.incrementAndGet();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private InvokerMetrics(final String className, final String target) {
+        this.className = className;
+        this.target = target;
+    }
+
+    /**
+     * called by the static initializer of generated classes
+     * @param generatedClass generated class, weakly referenced
+     * @param target called method
+     * @return new metrics of generatedClass
+     */
+    public static InvokerMetrics register(final Class<?> generatedClass, final String target) {
+        expungeUnloaded();
+        final InvokerMetrics metrics = new InvokerMetrics(generatedClass.getName(), target);
+        registry.add(new Registration(generatedClass, metrics, unloadedQueue));
+        return metrics;
+    }
+
+    /**
+     * @param className generated class name
+     * @return nullable, metrics of the last registered loaded class named className
+     */
+    public static InvokerMetrics of(final String className) {
+        expungeUnloaded();
+        InvokerMetrics last = null;
+        for (final Registration r : registry) {
+            final Class<?> c = r.get();
+            if (c != null && c.getName().equals(className) && (last == null || r.metrics.registration > last.registration)) {
+                last = r.metrics;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @param generatedClass generated class
+     * @return nullable, metrics of generatedClass
+     */
+    public static InvokerMetrics of(final Class<?> generatedClass) {
+        expungeUnloaded();
+        for (final Registration r : registry) {
+            if (r.get() == generatedClass) {
+                return r.metrics;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return metrics of every loaded instrumented generated class
+     */
+    public static List<InvokerMetrics> all() {
+        expungeUnloaded();
+        final List<InvokerMetrics> all = new ArrayList<>(registry.size());
+        for (final Registration r : registry) {
+            if (r.get() != null) {
+                all.add(r.metrics);
+            }
+        }
+        return all;
+    }
+
+    public static List<Snapshot> snapshots() {
+        final List<InvokerMetrics> all = all();
+        final List<Snapshot> snapshots = new ArrayList<>(all.size());
+        for (final InvokerMetrics m : all) {
+            snapshots.add(m.snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * @param className generated class name
+     * @return true = removed, a loaded class keeps updating its removed metrics
+     */
+    public static boolean unregister(final String className) {
+        expungeUnloaded();
+        return registry.removeIf(r -> r.metrics.className.equals(className));
+    }
+
+    /**
+     * @param generatedClass generated class
+     * @return true = removed, a loaded class keeps updating its removed metrics
+     */
+    public static boolean unregister(final Class<?> generatedClass) {
+        expungeUnloaded();
+        return registry.removeIf(r -> r.get() == generatedClass);
+    }
+
+    /**
+     * @param generatedClasses generated classes
+     */
+    static void unregisterAll(final Collection<Class<?>> generatedClasses) {
+        expungeUnloaded();
+        if (generatedClasses.isEmpty()) {
+            return;
+        }
+        final Set<Class<?>> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(generatedClasses);
+        registry.removeIf(r -> removed.contains(r.get()));
+    }
+
+    private static void expungeUnloaded() {
+        Object ref;
+        while ((ref = unloadedQueue.poll()) != null) {
+            registry.remove(ref);
+        }
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public LongAdder getCalls() {
+        return calls;
+    }
+
+    public LongAdder getErrors() {
+        return errors;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(className, target, calls.sum(), errors.sum(), latency.snapshot());
+    }
+
+    /**
+     * registry entry, does not keep the generated class alive
+     */
+    private static final class Registration extends WeakReference<Class<?>> {
+        final InvokerMetrics metrics;
+
+        Registration(final Class<?> generatedClass, final InvokerMetrics metrics, final ReferenceQueue<Class<?>> queue) {
+            super(generatedClass, queue);
+            this.metrics = metrics;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.rudtyz.generate;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * {@link InvokerBackend#lambdaMetafactory()}
+ * <pre>
+ * {@code
+ *  // same class as javac spins for
+ *  IntSupplier s = example::myInt;
+ * }
+ * </pre>
+ */
+final class LambdaInvokerBackend implements InvokerBackend {
+    static final LambdaInvokerBackend INSTANCE = new LambdaInvokerBackend();
+
+    /**
+     * {@link GeneratedClassCache} key of a factory, apart from the ASM keys of the same binding
+     */
+    private record LambdaBinding(BindingSpec spec) implements CacheKey {
+
+        @Override
+        public Class<?> callObjectClass() {
+            return spec.callObjectClass();
+        }
+    }
+
+    private LambdaInvokerBackend() {
+    }
+
+    @Override
+    public InvokerFactory<?, ?> factory(final BindingSpec spec) {
+        return DynamicMethodFactory.getGeneratedClassCache().getValue(new LambdaBinding(spec), () -> newFactory(spec));
+    }
+
+    private static InvokerFactory<?, ?> newFactory(final BindingSpec spec) {
+        final Method implementMethod = DirectBindings.implementMethod(spec);
+        if (implementMethod == null) {
+            throw new IllegalArgumentException("lambdaMetafactory supports only direct bindings: " + spec);
+        }
+
+        final Method callMethod = spec.callMethod();
+        final Class<?> callObjectClass = spec.callObjectClass();
+        final boolean isStatic = Modifier.isStatic(callMethod.getModifiers());
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(callObjectClass, MethodHandles.lookup());
+            final MethodHandle callHandle = lookup.unreflect(callMethod);
+            final MethodType samType = MethodType.methodType(
+                    implementMethod.getReturnType(),
+                    implementMethod.getParameterTypes());
+            final MethodType factoryType = isStatic
+                    ? MethodType.methodType(spec.interfaceClass())
+                    : MethodType.methodType(spec.interfaceClass(), callObjectClass);
+            final MethodHandle factory = LambdaMetafactory.metafactory(
+                    lookup,
+                    implementMethod.getName(),
+                    factoryType,
+                    samType,
+                    callHandle,
+                    instantiatedType(samType, callMethod)).getTarget();
+
+            if (isStatic) {
+                final Object instance = factory.invoke();
+                return receiver -> instance;
+            }
+            final MethodHandle erased = factory.asType(MethodType.methodType(Object.class, Object.class));
+            return receiver -> {
+                try {
+                    return erased.invokeExact(receiver);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (LambdaConversionException | IllegalAccessException e) {
+            throw new IllegalArgumentException("lambdaMetafactory: " + spec, e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("lambdaMetafactory: " + spec, e);
+        }
+    }
+
+    /**
+     * erased interface types narrowed to the call method types, LambdaMetafactory then casts
+     * <pre>
+     * {@code
+     *  samType (Object)Object, call String length(String) -> (String)Object
+     * }
+     * </pre>
+     */
+    private static MethodType instantiatedType(final MethodType samType, final Method callMethod) {
+        final Class<?>[] parameterTypes = callMethod.getParameterTypes();
+        MethodType instantiated = samType;
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            final Class<?> argumentType = samType.parameterType(i);
+            if (isNarrowing(argumentType, parameterTypes[i])) {
+                instantiated = instantiated.changeParameterType(i, parameterTypes[i]);
+            }
+        }
+
+        if (isNarrowing(samType.returnType(), callMethod.getReturnType())) {
+            instantiated = instantiated.changeReturnType(callMethod.getReturnType());
+        }
+        return instantiated;
+    }
+
+    private static boolean isNarrowing(final Class<?> samClass, final Class<?> callClass) {
+        return !samClass.isPrimitive()
+                && !callClass.isPrimitive()
+                && samClass != callClass
+                && samClass.isAssignableFrom(callClass);
+    }
+
+    @Override
+    public String toString() {
+        return "lambdaMetafactory";
+    }
+}
@@ -0,0 +1,92 @@
+package org.rudtyz.generate;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * lock free latency histogram, bucket i counts nanos in [2^(i-1), 2^i)
+ * <pre>
+ * {@code
+ *  bucket 0: 0ns, bucket 1: 1ns, bucket 2: 2~3ns, bucket 3: 4~7ns ... bucket 64: 2^63~
+ * }
+ * </pre>
+ * every bucket is a {@link LongAdder}, concurrent record calls update different cells
+ */
+public final class LatencyHistogram {
+    private static final int BUCKET_COUNT = 65;
+
+    /**
+     * @param counts bucket counts
+     * @param count recorded values
+     * @param totalNanos sum of recorded values
+     */
+    public record Snapshot(long[] counts, long count, long totalNanos) {
+        public double mean() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * @param percentile 0 ~ 100
+         * @return upper bound nanos of the bucket holding the percentile
+         */
+        public long percentile(final double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be 0 ~ 100: " + percentile);
+            }
+
+            final long rank = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+    }
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos elapsed nanos, negative is recorded as 0
+     */
+    public void record(final long nanos) {
+        final long n = Math.max(nanos, 0);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(n)].increment();
+        totalNanos.add(n);
+    }
+
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        return new Snapshot(counts, count, totalNanos.sum());
+    }
+
+    public void reset() {
+        for (final LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+
+    private static long upperBound(final int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        if (bucket >= Long.SIZE) {
+            return Long.MAX_VALUE;
+        }
+        return (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,26 @@
+package org.rudtyz.generate;
+
+/**
+ * {@link BulkInvoker} of a call method whose result converts to long
+ * <pre>
+ * {@code
+ *  // ToLongFunction<String> -> long length(String s)
+ *  LongBulkInvoker<String> bulk = (LongBulkInvoker<String>) DynamicMethodFactory.<String>generateBulkClass(Sample.class, length, ToLongFunction.class)
+ *          .getConstructor(Sample.class)
+ *          .newInstance(sample);
+ *  bulk.applyAllAsLong(words, 0, words.length, results);
+ * }
+ * </pre>
+ * @param <C> context, element type
+ */
+public interface LongBulkInvoker<C> extends BulkInvoker<C> {
+
+    /**
+     * results[i] = call(contexts[i])
+     * @param contexts contexts
+     * @param from inclusive
+     * @param to exclusive
+     * @param results same index as contexts
+     */
+    void applyAllAsLong(C[] contexts, int from, int to, long[] results);
+}
@@ -0,0 +1,108 @@
+package org.rudtyz.generate;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * define generated class by a lookup of the caller, for non public call classes and methods
+ * <pre>
+ * {@code
+ *  // hidden nestmate, private members of the callObjectClass nest
+ *  MethodHandles.privateLookupIn(callObjectClass, lookup)
+ *      .defineHiddenClass(classData, true, NESTMATE)
+ *
+ *  // normal class in the callObjectClass package, package private members
+ *  MethodHandles.privateLookupIn(callObjectClass, lookup)
+ *      .defineClass(classData)
+ * }
+ * </pre>
+ * <ul>
+ * <li>lookup must read the callObjectClass module, any class of the unnamed module from a classpath lookup</li>
+ * <li>lookup of callObjectClass itself is used as is</li>
+ * <li>the nestmate class is unloaded when unreachable, the package class lives as long as the callObjectClass loader</li>
+ * <li>definers of equal lookups are equal, bindings of both share one generated class</li>
+ * </ul>
+ */
+final class LookupClassDefiner implements ClassDefiner {
+    private final MethodHandles.Lookup lookup;
+    private final boolean nestmate;
+
+    LookupClassDefiner(final MethodHandles.Lookup lookup, final boolean nestmate) {
+        if (lookup == null) {
+            throw new IllegalArgumentException("lookup is null");
+        }
+        this.lookup = lookup;
+        this.nestmate = nestmate;
+    }
+
+    @Override
+    public Class<?> defineClass(final Class<?> callObjectClass, final String className, final byte[] classData) {
+        try {
+            final MethodHandles.Lookup target = lookup.lookupClass() == callObjectClass
+                    ? lookup
+                    : MethodHandles.privateLookupIn(callObjectClass, lookup);
+            if (nestmate) {
+                return target.defineHiddenClass(classData, true, MethodHandles.Lookup.ClassOption.NESTMATE).lookupClass();
+            }
+            return target.defineClass(classData);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("lookup define fail: " + className + ", lookup " + lookup, e);
+        }
+    }
+
+    /**
+     * call methods the generated class can not link fail at generation instead of their first call
+     * <ul>
+     * <li>public: always</li>
+     * <li>package private, protected: declared in the callObjectClass package</li>
+     * <li>private: nestmate definer, declared in the callObjectClass nest</li>
+     * </ul>
+     * @param callObjectClass call class, the generated class is defined next to it
+     * @param callMethods call methods of the binding
+     */
+    void checkAccess(final Class<?> callObjectClass, final Collection<Method> callMethods) {
+        for (final Method m : callMethods) {
+            final int modifiers = m.getModifiers();
+            final Class<?> declaringClass = m.getDeclaringClass();
+            final boolean accessible;
+            if (Modifier.isPublic(modifiers)) {
+                accessible = true;
+            } else if (Modifier.isPrivate(modifiers)) {
+                accessible = nestmate && declaringClass.getNestHost() == callObjectClass.getNestHost();
+            } else {
+                accessible = declaringClass.getClassLoader() == callObjectClass.getClassLoader()
+                        && declaringClass.getPackageName().equals(callObjectClass.getPackageName());
+            }
+            if (!accessible) {
+                throw new IllegalArgumentException(m + " is not accessible from a class defined by " + this);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LookupClassDefiner other)) {
+            return false;
+        }
+        return nestmate == other.nestmate
+                && lookup.lookupClass() == other.lookup.lookupClass()
+                && lookup.previousLookupClass() == other.lookup.previousLookupClass()
+                && lookup.lookupModes() == other.lookup.lookupModes();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nestmate, lookup.lookupClass(), lookup.previousLookupClass(), lookup.lookupModes());
+    }
+
+    @Override
+    public String toString() {
+        return (nestmate ? "nestmate(" : "samePackage(") + lookup + ")";
+    }
+}
@@ -0,0 +1,128 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * interface method -&gt; call method of a multi method binding
+ * <pre>
+ * {@code
+ *  interface UserService {            class UserRepository {
+ *      User find(long id);        ->      public User find(long id)
+ *      int count();               ->      public int count()
+ *  }                                  }
+ * }
+ * </pre>
+ */
+final class MethodBindings {
+    private static final Comparator<Method> methodOrder = Comparator
+            .comparing(Method::getName)
+            .thenComparing(m -> Type.getMethodDescriptor(m));
+
+    private MethodBindings() {
+        throw new AssertionError("static class");
+    }
+
+    /**
+     * @param interfaceClass interface
+     * @return abstract methods sorted by name and descriptor, Object methods (equals, hashCode, toString) excluded
+     */
+    static List<Method> abstractMethods(final Class<?> interfaceClass) {
+        final Map<String, Method> methods = new LinkedHashMap<>();
+        for (final Method m : interfaceClass.getMethods()) {
+            if (m.isDefault() || Modifier.isStatic(m.getModifiers()) || isObjectMethod(m)) {
+                continue;
+            }
+            methods.putIfAbsent(m.getName() + Type.getMethodDescriptor(m), m);
+        }
+
+        final List<Method> result = new ArrayList<>(methods.values());
+        result.sort(methodOrder);
+        return result;
+    }
+
+    /**
+     * @param callObjectClass call class
+     * @param interfaceClass interface
+     * @param explicit nullable, interface method -&gt; call method, other methods match by name and parameters
+     * @return every abstract method of interfaceClass -&gt; call method
+     */
+    static Map<Method, Method> of(
+            final Class<?> callObjectClass,
+            final Class<?> interfaceClass,
+            final Map<Method, Method> explicit) {
+        final List<Method> abstractMethods = abstractMethods(interfaceClass);
+        if (abstractMethods.isEmpty()) {
+            throw new IllegalArgumentException(interfaceClass + " has no abstract method");
+        }
+
+        if (explicit != null) {
+            for (final Map.Entry<Method, Method> e : explicit.entrySet()) {
+                if (!abstractMethods.contains(e.getKey())) {
+                    throw new IllegalArgumentException(e.getKey() + " is not an abstract method of " + interfaceClass);
+                }
+                if (!e.getValue().getDeclaringClass().isAssignableFrom(callObjectClass)) {
+                    throw new IllegalArgumentException(e.getValue() + " is not a method of " + callObjectClass);
+                }
+            }
+        }
+
+        final Map<Method, Method> bindings = new LinkedHashMap<>();
+        for (final Method m : abstractMethods) {
+            final Method callMethod = explicit == null ? null : explicit.get(m);
+            bindings.put(m, callMethod != null ? callMethod : match(callObjectClass, m));
+        }
+        return bindings;
+    }
+
+    /**
+     * same name and parameter types, else the only same name method with the same parameter count,
+     * else the only same name method
+     */
+    private static Method match(final Class<?> callObjectClass, final Method interfaceMethod) {
+        final List<Method> sameName = new ArrayList<>();
+        for (final Method m : callObjectClass.getMethods()) {
+            if (!m.isBridge() && m.getName().equals(interfaceMethod.getName()) && !isObjectMethod(m)) {
+                sameName.add(m);
+            }
+        }
+
+        final List<Method> sameCount = new ArrayList<>();
+        for (final Method m : sameName) {
+            if (Arrays.equals(m.getParameterTypes(), interfaceMethod.getParameterTypes())) {
+                return m;
+            }
+            if (m.getParameterCount() == interfaceMethod.getParameterCount()) {
+                sameCount.add(m);
+            }
+        }
+
+        if (sameCount.size() == 1) {
+            return sameCount.get(0);
+        }
+        if (sameCount.isEmpty() && sameName.size() == 1) {
+            return sameName.get(0);
+        }
+        if (sameName.isEmpty()) {
+            throw new IllegalArgumentException(callObjectClass + " has no method for " + interfaceMethod);
+        }
+        throw new IllegalArgumentException(callObjectClass + " has ambiguous methods for " + interfaceMethod);
+    }
+
+    private static boolean isObjectMethod(final Method m) {
+        try {
+            Object.class.getMethod(m.getName(), m.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.rudtyz.generate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * {@link InvokerBackend#methodHandle()}
+ * <pre>
+ * {@code
+ *  // per create
+ *  MethodHandleProxies.asInterfaceInstance(IntSupplier.class, myInt.bindTo(example));
+ * }
+ * </pre>
+ * not cached, a factory costs one unreflect and one asType
+ */
+final class MethodHandleInvokerBackend implements InvokerBackend {
+    static final MethodHandleInvokerBackend INSTANCE = new MethodHandleInvokerBackend();
+
+    private MethodHandleInvokerBackend() {
+    }
+
+    @Override
+    public InvokerFactory<?, ?> factory(final BindingSpec spec) {
+        final Method implementMethod = DirectBindings.implementMethod(spec);
+        if (implementMethod == null) {
+            throw new IllegalArgumentException("methodHandle supports only direct bindings: " + spec);
+        }
+
+        final Method callMethod = spec.callMethod();
+        final Class<?> interfaceClass = spec.interfaceClass();
+        final MethodType samType = MethodType.methodType(
+                implementMethod.getReturnType(),
+                implementMethod.getParameterTypes());
+        try {
+            final MethodHandle callHandle = MethodHandles.publicLookup().unreflect(callMethod);
+            if (Modifier.isStatic(callMethod.getModifiers())) {
+                final Object instance = MethodHandleProxies.asInterfaceInstance(interfaceClass, callHandle.asType(samType));
+                return receiver -> instance;
+            }
+
+            final MethodHandle receiverHandle = callHandle.asType(
+                    samType.insertParameterTypes(0, callHandle.type().parameterType(0)));
+            return receiver -> MethodHandleProxies.asInterfaceInstance(interfaceClass, receiverHandle.bindTo(receiver));
+        } catch (IllegalAccessException | WrongMethodTypeException e) {
+            throw new IllegalArgumentException("methodHandle: " + spec, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "methodHandle";
+    }
+}
@@ -3,6 +3,34 @@ package org.rudtyz.generate;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 
+/**
+ * callMethod parameter from a no argument method of the context
+ * <pre>
+ * {@code
+ *  (contextClass, callMethod, parameter, parameterIndex) -> contextClass.getMethod("getUser")
+ * }
+ * </pre>
+ * constructor targets take a {@link ConstructorParameterDispatcher}
+ */
 public interface ParameterDispatcher {
     Method parameterDispatch(Class<?> contextClass, Method callMethod, Parameter parameter, int parameterIndex) throws NoSuchMethodException;
-}
\ No newline at end of file
+
+    /**
+     * identity of this dispatcher in {@link StableClassNames stable class names}
+     * <pre>
+     * {@code
+     *  record Getter(String prefix) implements ParameterDispatcher {
+     *      public String stableId() {
+     *          return prefix;
+     *      }
+     *  }
+     * }
+     * </pre>
+     * dispatchers of the same class and stableId must dispatch every parameter to the same method
+     * @return nullable, null = bindings of this dispatcher get counter names, are never precompiled,
+     *         disk cached or exported
+     */
+    default String stableId() {
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * receiver classes seen by the virtual call of inline cache classes
+ * <pre>
+ * {@code
+ *  // warm up with an empty cache, every call is virtual and recorded
+ *  Class<? extends Runnable> c = DynamicMethodFactory.generateInlineCacheClass(AbstractSample.class, run, Runnable.class, List.of());
+ *  ...
+ *  // rebuild, the hot classes are called directly
+ *  ReceiverTypeProfile profile = ReceiverTypeProfile.of(AbstractSample.class, run);
+ *  c = DynamicMethodFactory.generateInlineCacheClass(AbstractSample.class, run, Runnable.class, profile.hotClasses(4));
+ * }
+ * </pre>
+ * only the fallback records, classes in the cache are not counted again.
+ * profiles are kept in a registry by target and hold their receiver classes until {@link #reset()}
+ */
+public final class ReceiverTypeProfile {
+    private static final ConcurrentHashMap<String, ReceiverTypeProfile> registry = new ConcurrentHashMap<>();
+
+    private final String target;
+    private final ConcurrentHashMap<Class<?>, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private ReceiverTypeProfile(final String target) {
+        this.target = target;
+    }
+
+    /**
+     * called by the static initializer of generated classes
+     * @param target [callObjectClass].[callMethod][descriptor]
+     * @return profile of the target, created once
+     */
+    public static ReceiverTypeProfile register(final String target) {
+        return registry.computeIfAbsent(target, ReceiverTypeProfile::new);
+    }
+
+    /**
+     * @param callObjectClass call class
+     * @param callMethod call method
+     * @return profile shared by every inline cache class of the call method
+     */
+    public static ReceiverTypeProfile of(final Class<?> callObjectClass, final Method callMethod) {
+        return register(targetOf(callObjectClass, callMethod));
+    }
+
+    static String targetOf(final Class<?> callObjectClass, final Method callMethod) {
+        return callObjectClass.getName() + "." + callMethod.getName() + Type.getMethodDescriptor(callMethod);
+    }
+
+    /**
+     * @param receiver receiver of the virtual call
+     */
+    public void record(final Object receiver) {
+        counts.computeIfAbsent(receiver.getClass(), c -> new LongAdder()).increment();
+    }
+
+    /**
+     * @return receiver class -&gt; calls, most called first
+     */
+    public Map<Class<?>, Long> counts() {
+        final List<Map.Entry<Class<?>, Long>> entries = new ArrayList<>();
+        for (final Map.Entry<Class<?>, LongAdder> e : counts.entrySet()) {
+            entries.add(Map.entry(e.getKey(), e.getValue().sum()));
+        }
+        entries.sort(Map.Entry.<Class<?>, Long>comparingByValue(Comparator.reverseOrder()));
+
+        final Map<Class<?>, Long> result = new LinkedHashMap<>();
+        for (final Map.Entry<Class<?>, Long> e : entries) {
+            result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * @param limit max classes, the length of the generated check chain
+     * @return most called receiver classes first, classes a generated class can not name are skipped
+     */
+    public List<Class<?>> hotClasses(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        final List<Class<?>> result = new ArrayList<>();
+        for (final Class<?> c : counts().keySet()) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (Modifier.isPublic(c.getModifiers()) && !c.isHidden()) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void reset() {
+        counts.clear();
+    }
+}
@@ -0,0 +1,22 @@
+package org.rudtyz.generate;
+
+/**
+ * one of many methods selected by key
+ * <pre>
+ * {@code
+ *  Router<Session> router = DynamicMethodFactory.generateRouter(...);
+ *  Object result = router.route("login", session);
+ * }
+ * </pre>
+ * @param <C> context
+ * @see DynamicMethodFactory#generateRouter
+ */
+public interface Router<C> {
+    /**
+     * @param key route key, passed to a String or Object parameter at position 0 of the route method
+     * @param context context
+     * @return boxed method result, null = void method
+     * @throws IllegalArgumentException key is null or not routed
+     */
+    Object route(String key, C context);
+}
@@ -0,0 +1,285 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * string switch over many methods of one class
+ * <pre>
+ * {@code
+ * public final class [GeneratedClass] implements Router {
+ *      private final [CallObjectClass] instance;
+ *
+ *      public Object route(String key, Object context) {
+ *          if (key == null) {
+ *              throw new IllegalArgumentException("route key is null");
+ *          }
+ *          switch (key.hashCode()) {
+ *              case 103149417:
+ *                  if (key.equals("login")) {
+ *                      return this.instance.login((Session) context);
+ *                  }
+ *                  break;
+ *              case 3482191:
+ *                  if (key.equals("quit")) {
+ *                      this.instance.quit();
+ *                      return null;
+ *                  }
+ *                  break;
+ *          }
+ *          throw new IllegalArgumentException("route not found: ".concat(key));
+ *      }
+ * }
+ * }
+ * </pre>
+ * method parameters are taken from (String key, C context) and {@link ParameterDispatcher}
+ * like {@link SingleParameterDynamicMethodFactory}, a String or Object parameter at position 0 receives the key
+ */
+class RouterFactory {
+    private static final String FIELD_NAME = "instance";
+
+    private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+    private final Class<?> callObjectClass;
+    private final Type callObjectType;
+    private final Map<String, Method> routes;
+    private final Class<?> contextClass;
+    private final ParameterDispatcher parameterDispatcher;
+    private final boolean generateField;
+    private final String className;
+
+    RouterFactory(
+            final Class<?> callObjectClass,
+            final Map<String, Method> routes,
+            final Class<?> contextClass,
+            final ParameterDispatcher parameterDispatcher) {
+        if (routes.isEmpty()) {
+            throw new IllegalArgumentException("routes is empty");
+        }
+
+        boolean generateField = false;
+        for (final Map.Entry<String, Method> route : routes.entrySet()) {
+            if (route.getKey() == null || route.getValue() == null) {
+                throw new IllegalArgumentException("route key or method is null");
+            }
+
+            final Method method = route.getValue();
+            if (!method.getDeclaringClass().isAssignableFrom(callObjectClass)) {
+                throw new IllegalArgumentException(method + " is not a method of " + callObjectClass);
+            }
+            generateField |= !Modifier.isStatic(method.getModifiers());
+        }
+
+        this.callObjectClass = callObjectClass;
+        this.callObjectType = Type.getType(callObjectClass);
+        this.routes = routes;
+        this.contextClass = contextClass == null ? Object.class : contextClass;
+        this.parameterDispatcher = parameterDispatcher;
+        this.generateField = generateField;
+        this.className = callObjectType.getClassName() + "_router_" + DefaultDynamicMethodFactory.nextClassNumber();
+    }
+
+    byte[] generate() {
+        classWriter.visit(DynamicMethodFactory.javaVersion,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                getInternalClassName(),
+                null,
+                "java/lang/Object",
+                new String[] {Type.getInternalName(Router.class)});
+
+        declareConstructor(true);
+        if (!generateField) {
+            declareConstructor(false);
+        }
+        declareRoute();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    private String getInternalClassName() {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  public <init>([CallObjectClass] instance) {
+     *      super();
+     *      this.instance = instance; // any instance method
+     *  }
+     *  public <init>() { // static methods only
+     *      super();
+     *  }
+     * }
+     * </pre>
+     */
+    private void declareConstructor(final boolean instanceParameter) {
+        final String descriptor = instanceParameter
+                ? Type.getMethodDescriptor(Type.VOID_TYPE, callObjectType)
+                : Type.getMethodDescriptor(Type.VOID_TYPE);
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", descriptor, null, null);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                Type.getInternalName(Object.class),
+                "<init>",
+                Type.getMethodDescriptor(Type.VOID_TYPE),
+                false);
+
+        if (instanceParameter && generateField) {
+            classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+                    FIELD_NAME,
+                    callObjectType.getDescriptor(),
+                    null,
+                    null);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitFieldInsn(Opcodes.PUTFIELD, getInternalClassName(), FIELD_NAME, callObjectType.getDescriptor());
+        }
+
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void declareRoute() {
+        final Method routeMethod = DefaultDynamicMethodFactory.findImplementMethod(Router.class);
+        final MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
+                routeMethod.getName(),
+                Type.getMethodDescriptor(routeMethod),
+                null,
+                null);
+        final DefaultDynamicMethodFactory.Arguments arguments = DefaultDynamicMethodFactory.Arguments.of(routeMethod);
+
+        // same hashCode keys share a case
+        final TreeMap<Integer, List<String>> hashes = new TreeMap<>();
+        for (final String key : routes.keySet()) {
+            hashes.computeIfAbsent(key.hashCode(), h -> new ArrayList<>()).add(key);
+        }
+
+        final int[] caseKeys = new int[hashes.size()];
+        final Label[] caseLabels = new Label[hashes.size()];
+        int index = 0;
+        for (final Integer hash : hashes.keySet()) {
+            caseKeys[index] = hash;
+            caseLabels[index] = new Label();
+            ++index;
+        }
+
+        final Label notFound = new Label();
+        final Label nonNull = new Label();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitJumpInsn(Opcodes.IFNONNULL, nonNull);
+        throwIllegalArgument(mv, "route key is null");
+        mv.visitLabel(nonNull);
+
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "hashCode", "()I", false);
+        mv.visitLookupSwitchInsn(notFound, caseKeys, caseLabels);
+
+        index = 0;
+        for (final List<String> keys : hashes.values()) {
+            mv.visitLabel(caseLabels[index++]);
+            for (final String key : keys) {
+                final Label next = new Label();
+                mv.visitVarInsn(Opcodes.ALOAD, 1);
+                mv.visitLdcInsn(key);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                mv.visitJumpInsn(Opcodes.IFEQ, next);
+                invokeRoute(mv, routes.get(key), arguments);
+                mv.visitLabel(next);
+            }
+            mv.visitJumpInsn(Opcodes.GOTO, notFound);
+        }
+
+        mv.visitLabel(notFound);
+        mv.visitTypeInsn(Opcodes.NEW, "java/lang/IllegalArgumentException");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitLdcInsn("route not found: ");
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "concat", "(Ljava/lang/String;)Ljava/lang/String;", false);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                "java/lang/IllegalArgumentException",
+                "<init>",
+                "(Ljava/lang/String;)V",
+                false);
+        mv.visitInsn(Opcodes.ATHROW);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  throw new IllegalArgumentException(message);
+     * }
+     * </pre>
+     */
+    private static void throwIllegalArgument(final MethodVisitor mv, final String message) {
+        mv.visitTypeInsn(Opcodes.NEW, "java/lang/IllegalArgumentException");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitLdcInsn(message);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                "java/lang/IllegalArgumentException",
+                "<init>",
+                "(Ljava/lang/String;)V",
+                false);
+        mv.visitInsn(Opcodes.ATHROW);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *  return (Object) this.instance.[method](...);
+     * }
+     * </pre>
+     */
+    private void invokeRoute(
+            final MethodVisitor mv,
+            final Method method,
+            final DefaultDynamicMethodFactory.Arguments arguments) {
+        final int opCode;
+        if (Modifier.isStatic(method.getModifiers())) {
+            opCode = Opcodes.INVOKESTATIC;
+        } else {
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitFieldInsn(Opcodes.GETFIELD, getInternalClassName(), FIELD_NAME, callObjectType.getDescriptor());
+            opCode = Opcodes.INVOKEVIRTUAL;
+        }
+
+        final SingleParameterDynamicMethodFactory parameters = new SingleParameterDynamicMethodFactory(
+                callObjectClass,
+                method,
+                Router.class,
+                contextClass,
+                null,
+                parameterDispatcher);
+        parameters.loadAllParameters(mv, method, arguments);
+
+        mv.visitMethodInsn(opCode,
+                callObjectType.getInternalName(),
+                method.getName(),
+                Type.getMethodDescriptor(method),
+                false);
+        if (method.getReturnType() == void.class) {
+            // a void route returns null
+            mv.visitInsn(Opcodes.ACONST_NULL);
+        } else {
+            TypeConversions.convert(mv, Object.class, method.getReturnType());
+        }
+        mv.visitInsn(Opcodes.ARETURN);
+    }
+}
@@ -0,0 +1,43 @@
+package org.rudtyz.generate;
+
+import java.nio.ByteBuffer;
+
+/**
+ * parallel capable class loaders striped by generated class name
+ * <pre>
+ * {@code
+ *  shards[hash(className) % shards.length].defineClass(className, classData)
+ * }
+ * </pre>
+ * threads defining different classes rarely meet on the same loader lock
+ */
+final class ShardedClassDefiner implements ClassDefiner {
+    private final DynamicMethodFactory.DynamicClassLoader[] shards;
+
+    ShardedClassDefiner(final int shardCount, final ClassLoader parent) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive: " + shardCount);
+        }
+
+        this.shards = new DynamicMethodFactory.DynamicClassLoader[shardCount];
+        for (int i = 0; i < shardCount; ++i) {
+            shards[i] = new DynamicMethodFactory.DynamicClassLoader(parent);
+        }
+    }
+
+    @Override
+    public Class<?> defineClass(final Class<?> callObjectClass, final String className, final byte[] classData) {
+        return shardOf(className).defineClass(className, classData);
+    }
+
+    @Override
+    public Class<?> defineClass(final Class<?> callObjectClass, final String className, final ByteBuffer classData) {
+        return shardOf(className).defineClass(className, classData);
+    }
+
+    DynamicMethodFactory.DynamicClassLoader shardOf(final String className) {
+        final int h = className.hashCode();
+        final int spread = h ^ (h >>> 16);
+        return shards[(spread & 0x7fffffff) % shards.length];
+    }
+}
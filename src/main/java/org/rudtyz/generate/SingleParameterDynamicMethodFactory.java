@@ -4,14 +4,36 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * one interface argument is the context, parameters not passed by argument are dispatched from the context
+ * <pre>
+ * {@code
+ *  // accept(Request request, Session session, long deadline), contextClass = Session
+ *  public void accept(Request request, Session session, long deadline) {
+ *      this.instance.handle(request, deadline, session.getUser());
+ *  }
+ * }
+ * </pre>
+ */
 class SingleParameterDynamicMethodFactory extends DefaultDynamicMethodFactory {
 
+    /**
+     * first pass of {@link #loadAllParameters} only counts
+     */
+    private static final MethodVisitor NO_CODE = new MethodVisitor(Opcodes.ASM9) {
+    };
+
+    /**
+     * nullable, null = first argument type of each interface method
+     */
     private final Class<?> contextClass;
-    private final Class<?> implementMethodParameterClass;
 
     /**
      * context -> parameter
@@ -23,6 +45,34 @@ class SingleParameterDynamicMethodFactory extends DefaultDynamicMethodFactory {
      */
     private final ParameterDispatcher parameterDispatcher;
     private final ContextToCallObject contextToCallObject;
+
+    /**
+     * nullable, values reused inside the method being generated
+     */
+    private Hoisting hoisting;
+
+    /**
+     * <pre>
+     * {@code
+     *  // context cast once, same dispatch method called once
+     *  public void accept(Object o) {
+     *      MyContext context = (MyContext) o;
+     *      int a = context.getInt();
+     *      this.instance.method(a, context.getString(), a, context);
+     *  }
+     * }
+     * </pre>
+     * only values used more than once get a local, evaluation order is the parameter order
+     */
+    private static final class Hoisting {
+        private boolean counting = true;
+        private int contextUses;
+        private int contextLocal = -1;
+        private final Map<Integer, Method> dispatchMethods = new HashMap<>();
+        private final Map<Method, Integer> dispatchUses = new HashMap<>();
+        private final Map<Method, Integer> dispatchLocals = new HashMap<>();
+    }
+
     public SingleParameterDynamicMethodFactory(
             final Class<?> callObjectClass,
             final Method callMethod,
@@ -31,30 +81,67 @@ class SingleParameterDynamicMethodFactory extends DefaultDynamicMethodFactory {
             final ContextToCallObject contextToCallObject,
             final ParameterDispatcher parameterDispatcher) {
         super(callObjectClass, callMethod, interfaceClass, contextToCallObject == null);
+        this.contextClass = contextClass;
         this.contextToCallObject = contextToCallObject;
         this.parameterDispatcher = parameterDispatcher;
+    }
 
-        if (interfaceImplementMethod.getParameterCount() > 1) {
-            throw new IllegalArgumentException(interfaceImplementMethod + " method must have one parameter");
-        }
+    public SingleParameterDynamicMethodFactory(
+            final Class<?> callObjectClass,
+            final Map<Method, Method> methods,
+            final Class<?> interfaceClass,
+            final Class<?> contextClass,
+            final ContextToCallObject contextToCallObject,
+            final ParameterDispatcher parameterDispatcher) {
+        super(callObjectClass, methods, interfaceClass, contextToCallObject == null);
+        this.contextClass = contextClass;
+        this.contextToCallObject = contextToCallObject;
+        this.parameterDispatcher = parameterDispatcher;
+    }
 
-        final Class<?>[] parameterTypes = interfaceImplementMethod.getParameterTypes();
-        if (parameterTypes.length == 1) {
-            this.implementMethodParameterClass = parameterTypes[0];
-        } else {
-            this.implementMethodParameterClass = null;
-        }
+    /**
+     * parameter loading of a constructor target, {@link #loadAllParameters(MethodVisitor, Executable, Arguments)} only
+     * @param callObjectClass constructor declaring class
+     * @param interfaceClass arguments of its single abstract method
+     * @param contextClass nullable, parameter class
+     * @param parameterDispatcher nullable, parameter to method
+     */
+    SingleParameterDynamicMethodFactory(
+            final Class<?> callObjectClass,
+            final Class<?> interfaceClass,
+            final Class<?> contextClass,
+            final ConstructorParameterDispatcher parameterDispatcher) {
+        super(callObjectClass, interfaceClass);
+        this.contextClass = contextClass;
+        this.contextToCallObject = null;
+        this.parameterDispatcher = parameterDispatcher;
+    }
 
-        if (contextClass == null) {
-            this.contextClass = implementMethodParameterClass;
-        } else {
-            this.contextClass = contextClass;
+    private Class<?> contextClassOf(final Arguments arguments) {
+        if (contextClass == null && arguments.size() > 0) {
+            return arguments.type(0);
         }
+        return contextClass;
     }
 
+    /**
+     * first pass counts context and dispatch method uses without code, second pass generates code
+     */
     @Override
-    protected void loadAllParameters(final MethodVisitor mv, final Method callMethod, final Method implementMethod) {
+    protected void loadAllParameters(final MethodVisitor mv, final Executable callMethod, final Arguments arguments) {
+        hoisting = new Hoisting();
+        try {
+            loadAllParametersOnce(NO_CODE, callMethod, arguments);
+            hoisting.counting = false;
+            loadAllParametersOnce(mv, callMethod, arguments);
+        } finally {
+            hoisting = null;
+        }
+    }
+
+    private void loadAllParametersOnce(final MethodVisitor mv, final Executable callMethod, final Arguments arguments) {
         if (contextToCallObject != null) {
+            final Class<?> contextClass = contextClassOf(arguments);
             final Method method;
             try {
                 method = contextToCallObject.getCallObjectMethod(contextClass);
@@ -70,41 +157,154 @@ class SingleParameterDynamicMethodFactory extends DefaultDynamicMethodFactory {
                 throw new IllegalArgumentException(contextClass + "get context method return type is void");
             }
 
-            invokeV(mv, method);
+            invokeV(mv, method, arguments);
             tryCast(mv,
                     callObjectClass,
                     method.getReturnType());
         }
 
-        super.loadAllParameters(mv, callMethod, implementMethod);
+        super.loadAllParameters(mv, callMethod, arguments);
     }
 
     @Override
     protected boolean loadParameter(
             MethodVisitor mv,
-            Method callMethod,
+            Executable callMethod,
             Parameter parameter,
             int parameterIndex,
-            Method implementMethod) {
+            Arguments arguments) {
 
+        final Class<?> contextClass = contextClassOf(arguments);
         if (contextClass == null) {
             return false;
         }
 
         final Class<?> parameterType = parameter.getType();
         if (parameterType == contextClass) {
-            loadArgument(mv, 1);
-            tryCast(mv, contextClass, implementMethodParameterClass);
+            loadContext(mv, arguments);
             return true;
         }
 
-        final Method parameterDispatchMethod = getParameterDispatchMethod(callMethod, parameter, parameterIndex);
-        invokeV(mv, parameterDispatchMethod);
+        if (isDirectArgument(parameterType, contextClass)) {
+            // Consumer<Integer>, contextClass = Integer.class -> void method(int)
+            loadContext(mv, arguments);
+            tryCast(mv, parameterType, contextClass);
+            return true;
+        }
+
+        if (parameterDispatcher == null) {
+            return false;
+        }
+
+        final Method parameterDispatchMethod = hoisting.dispatchMethods.computeIfAbsent(parameterIndex,
+                i -> getParameterDispatchMethod(contextClass, callMethod, parameter, parameterIndex));
+        loadDispatched(mv, parameterDispatchMethod, arguments);
 
         tryCast(mv, parameterType, parameterDispatchMethod.getReturnType());
         return true;
     }
 
+    /**
+     * <pre>
+     * {@code
+     *   context.getInt()          // used once
+     *   int a = context.getInt()  // first of many uses, DUP and store
+     *   a                         // next uses
+     * }
+     * </pre>
+     */
+    private void loadDispatched(final MethodVisitor mv, final Method dispatchMethod, final Arguments arguments) {
+        final Class<?> returnType = dispatchMethod.getReturnType();
+        if (hoisting.counting) {
+            if (hoisting.dispatchUses.merge(dispatchMethod, 1, Integer::sum) == 1) {
+                invokeV(mv, dispatchMethod, arguments);
+            }
+            return;
+        }
+
+        if (returnType == void.class || hoisting.dispatchUses.get(dispatchMethod) < 2) {
+            invokeV(mv, dispatchMethod, arguments);
+            return;
+        }
+
+        final Integer local = hoisting.dispatchLocals.get(dispatchMethod);
+        if (local != null) {
+            loadArgument(mv, local, returnType);
+            return;
+        }
+
+        invokeV(mv, dispatchMethod, arguments);
+        mv.visitInsn(returnType == long.class || returnType == double.class ? Opcodes.DUP2 : Opcodes.DUP);
+        final int newLocal = newLocal(arguments, returnType);
+        storeLocal(mv, newLocal, returnType);
+        hoisting.dispatchLocals.put(dispatchMethod, newLocal);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *   (contextClass) context
+     * }
+     * </pre>
+     */
+    private void loadContext(final MethodVisitor mv, final Arguments arguments) {
+        final Class<?> contextClass = contextClassOf(arguments);
+        final int contextIndex = findContextArgument(arguments);
+        final Class<?> argumentType = arguments.type(contextIndex);
+        if (hoisting == null || !isCheckCast(contextClass, argumentType)) {
+            loadArgument(mv, arguments.slot(contextIndex), argumentType);
+            tryCast(mv, contextClass, argumentType);
+            return;
+        }
+
+        if (hoisting.counting) {
+            hoisting.contextUses++;
+        } else if (hoisting.contextLocal >= 0) {
+            loadArgument(mv, hoisting.contextLocal, contextClass);
+            return;
+        }
+
+        loadArgument(mv, arguments.slot(contextIndex), argumentType);
+        tryCast(mv, contextClass, argumentType);
+        if (!hoisting.counting && hoisting.contextUses > 1) {
+            // MyContext context = (MyContext) o;
+            mv.visitInsn(Opcodes.DUP);
+            hoisting.contextLocal = newLocal(arguments, contextClass);
+            storeLocal(mv, hoisting.contextLocal, contextClass);
+        }
+    }
+
+    private static boolean isCheckCast(final Class<?> contextClass, final Class<?> argumentType) {
+        return !contextClass.isPrimitive()
+                && !argumentType.isPrimitive()
+                && !contextClass.isAssignableFrom(argumentType);
+    }
+
+    /**
+     * first argument of contextClass, else first argument contextClass can be cast from or to
+     */
+    private int findContextArgument(final Arguments arguments) {
+        if (arguments.size() == 0) {
+            throw new IllegalArgumentException(interfaceClass + " method has no context argument");
+        }
+
+        final Class<?> contextClass = contextClassOf(arguments);
+        for (int i = 0; i < arguments.size(); ++i) {
+            if (arguments.type(i) == contextClass) {
+                return i;
+            }
+        }
+
+        for (int i = 0; i < arguments.size(); ++i) {
+            final Class<?> argumentType = arguments.type(i);
+            if (!argumentType.isPrimitive() &&
+                    (argumentType.isAssignableFrom(contextClass) || contextClass.isAssignableFrom(argumentType))) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
     /**
      * invoke ? method(void)
      * <pre>
@@ -123,8 +323,9 @@ class SingleParameterDynamicMethodFactory extends DefaultDynamicMethodFactory {
      * </pre>
      * @param mv method visitor
      * @param invokeMethod method to invoke
+     * @param arguments context argument
      */
-    private void invokeV(MethodVisitor mv, Method invokeMethod) {
+    private void invokeV(MethodVisitor mv, Method invokeMethod, Arguments arguments) {
         final Class<?> invokeMethodDeclaringClass = invokeMethod.getDeclaringClass();
         final String internalClassName = Type.getInternalName(invokeMethodDeclaringClass);
         final int callOpCode;
@@ -137,8 +338,14 @@ class SingleParameterDynamicMethodFactory extends DefaultDynamicMethodFactory {
                 callOpCode = Opcodes.INVOKEVIRTUAL;
             }
 
-            loadArgument(mv, 1);
-            mv.visitTypeInsn(Opcodes.CHECKCAST, internalClassName);
+            final Class<?> contextClass = contextClassOf(arguments);
+            if (contextClass != null && invokeMethodDeclaringClass.isAssignableFrom(contextClass)) {
+                loadContext(mv, arguments);
+            } else {
+                final int contextIndex = findContextArgument(arguments);
+                loadArgument(mv, arguments.slot(contextIndex), arguments.type(contextIndex));
+                mv.visitTypeInsn(Opcodes.CHECKCAST, internalClassName);
+            }
         }
 
         mv.visitMethodInsn(callOpCode,
@@ -148,13 +355,18 @@ class SingleParameterDynamicMethodFactory extends DefaultDynamicMethodFactory {
                 callOpCode == Opcodes.INVOKEINTERFACE);
     }
 
-    private Method getParameterDispatchMethod(Method callMethod, Parameter parameter, int parameterIndex) {
-        if (parameterDispatcher == null) {
-            throw new IllegalArgumentException("ParameterDispatcher is not set");
-        }
+    private Method getParameterDispatchMethod(Class<?> contextClass, Executable callMethod, Parameter parameter, int parameterIndex) {
         final Method method;
         try {
-            method = parameterDispatcher.parameterDispatch(contextClass, callMethod, parameter, parameterIndex);
+            if (callMethod instanceof Method m) {
+                method = parameterDispatcher.parameterDispatch(contextClass, m, parameter, parameterIndex);
+            } else if (parameterDispatcher instanceof ConstructorParameterDispatcher d) {
+                method = d.parameterDispatch(contextClass, callMethod, parameter, parameterIndex);
+            } else {
+                throw new IllegalArgumentException(parameterDispatcher + " is not a ConstructorParameterDispatcher");
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             throw new IllegalArgumentException("parameterDispatch", e);
         }
@@ -0,0 +1,187 @@
+package org.rudtyz.generate;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * java.util.function interface without boxing for a method shape
+ * <pre>
+ * {@code
+ *  int myInt()              -> IntSupplier
+ *  long toLong(int a)       -> IntToLongFunction
+ *  int size(String s)       -> ToIntFunction
+ *  void accept(double d)    -> DoubleConsumer
+ *  void put(String k, int v) -> ObjIntConsumer
+ *  int sum(int a, int b)     -> IntBinaryOperator
+ * }
+ * </pre>
+ * byte, short and char results widen to int, float results widen to double
+ */
+public final class SpecializedInterfaces {
+    private SpecializedInterfaces() {
+        throw new AssertionError("static class");
+    }
+
+    /**
+     * @param callMethod call method
+     * @return interface, callMethod parameters are the interface parameters
+     */
+    public static Class<?> of(final Method callMethod) {
+        return of(callMethod.getReturnType(), callMethod.getParameterTypes());
+    }
+
+    /**
+     * @param returnType call method return type
+     * @param parameterTypes call method parameter types
+     * @return interface
+     */
+    public static Class<?> of(final Class<?> returnType, final Class<?>... parameterTypes) {
+        final Kind r = Kind.of(returnType);
+        if (parameterTypes.length == 0) {
+            return switch (r) {
+                case VOID -> Runnable.class;
+                case BOOLEAN -> BooleanSupplier.class;
+                case INT -> IntSupplier.class;
+                case LONG -> LongSupplier.class;
+                case DOUBLE -> DoubleSupplier.class;
+                case OBJECT -> Supplier.class;
+            };
+        }
+
+        if (parameterTypes.length == 1) {
+            final Class<?> p = parameterTypes[0];
+            if (p == int.class) {
+                return switch (r) {
+                    case VOID -> IntConsumer.class;
+                    case BOOLEAN -> IntPredicate.class;
+                    case INT -> IntUnaryOperator.class;
+                    case LONG -> IntToLongFunction.class;
+                    case DOUBLE -> IntToDoubleFunction.class;
+                    case OBJECT -> IntFunction.class;
+                };
+            } else if (p == long.class) {
+                return switch (r) {
+                    case VOID -> LongConsumer.class;
+                    case BOOLEAN -> LongPredicate.class;
+                    case INT -> LongToIntFunction.class;
+                    case LONG -> LongUnaryOperator.class;
+                    case DOUBLE -> LongToDoubleFunction.class;
+                    case OBJECT -> LongFunction.class;
+                };
+            } else if (p == double.class) {
+                return switch (r) {
+                    case VOID -> DoubleConsumer.class;
+                    case BOOLEAN -> DoublePredicate.class;
+                    case INT -> DoubleToIntFunction.class;
+                    case LONG -> DoubleToLongFunction.class;
+                    case DOUBLE -> DoubleUnaryOperator.class;
+                    case OBJECT -> DoubleFunction.class;
+                };
+            } else if (!p.isPrimitive()) {
+                return switch (r) {
+                    case VOID -> Consumer.class;
+                    case BOOLEAN -> Predicate.class;
+                    case INT -> ToIntFunction.class;
+                    case LONG -> ToLongFunction.class;
+                    case DOUBLE -> ToDoubleFunction.class;
+                    case OBJECT -> Function.class;
+                };
+            }
+        }
+
+        if (parameterTypes.length == 2) {
+            final Class<?> p0 = parameterTypes[0];
+            final Class<?> p1 = parameterTypes[1];
+            if (!p0.isPrimitive() && !p1.isPrimitive()) {
+                return switch (r) {
+                    case VOID -> BiConsumer.class;
+                    case BOOLEAN -> BiPredicate.class;
+                    case INT -> ToIntBiFunction.class;
+                    case LONG -> ToLongBiFunction.class;
+                    case DOUBLE -> ToDoubleBiFunction.class;
+                    case OBJECT -> BiFunction.class;
+                };
+            }
+            if (!p0.isPrimitive() && r == Kind.VOID) {
+                if (p1 == int.class) {
+                    return ObjIntConsumer.class;
+                } else if (p1 == long.class) {
+                    return ObjLongConsumer.class;
+                } else if (p1 == double.class) {
+                    return ObjDoubleConsumer.class;
+                }
+            }
+            if (p0 == p1 && Kind.of(p0) == r) {
+                if (p0 == int.class) {
+                    return IntBinaryOperator.class;
+                } else if (p0 == long.class) {
+                    return LongBinaryOperator.class;
+                } else if (p0 == double.class) {
+                    return DoubleBinaryOperator.class;
+                }
+            }
+        }
+
+        throw new IllegalArgumentException("no specialized interface: " + returnType + " " + Arrays.toString(parameterTypes));
+    }
+
+    private enum Kind {
+        VOID, BOOLEAN, INT, LONG, DOUBLE, OBJECT;
+
+        static Kind of(final Class<?> c) {
+            if (c == void.class) {
+                return VOID;
+            } else if (c == boolean.class) {
+                return BOOLEAN;
+            } else if (c == int.class || c == short.class || c == byte.class || c == char.class) {
+                return INT;
+            } else if (c == long.class) {
+                return LONG;
+            } else if (c == double.class || c == float.class) {
+                return DOUBLE;
+            }
+            return OBJECT;
+        }
+    }
+}
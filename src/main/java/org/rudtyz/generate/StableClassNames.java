@@ -0,0 +1,124 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * deterministic generated class name
+ * <pre>
+ * {@code
+ *  [callObjectClass]_[callMethod]_[64bit hash of binding]
+ *  org.hello.Example_instanceMethod_1f3a5c7e9b2d4f60
+ * }
+ * </pre>
+ * contextToCallObject and parameterDispatcher are hashed by class name and stableId,
+ * same binding in a different JVM has the same name.
+ * a binding with a contextToCallObject or parameterDispatcher without stableId has no stable name
+ */
+final class StableClassNames {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private StableClassNames() {
+        throw new AssertionError("static class");
+    }
+
+    /**
+     * @param key binding
+     * @return true = {@link #of} names key
+     */
+    static boolean isStable(final BindingKey key) {
+        return (key.contextToCallObject() == null || key.contextToCallObject().stableId() != null)
+                && (key.parameterDispatcher() == null || key.parameterDispatcher().stableId() != null);
+    }
+
+    /**
+     * @param key binding, {@link #isStable stable}
+     * @return stable class name
+     */
+    static String of(final BindingKey key) {
+        final String binding = bindingOf(key);
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < binding.length(); ++i) {
+            hash ^= binding.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return key.callObjectClass().getName()
+                + "_" + key.callMethod().getName()
+                + "_" + String.format("%016x", hash);
+    }
+
+    /**
+     * @param key binding
+     * @return binding description, same in every JVM
+     */
+    static String bindingOf(final BindingKey key) {
+        if (!isStable(key)) {
+            throw new IllegalArgumentException("contextToCallObject or parameterDispatcher has no stableId: " + key);
+        }
+
+        final StringBuilder sb = new StringBuilder()
+                .append(key.callObjectClass().getName())
+                .append('#');
+        if (key.methods() == null) {
+            appendMethod(sb, key.callMethod());
+        } else {
+            // sorted by MethodBindings
+            for (final Map.Entry<Method, Method> e : key.methods().entrySet()) {
+                sb.append(e.getKey().getName())
+                        .append(Type.getMethodDescriptor(e.getKey()))
+                        .append('=');
+                appendMethod(sb, e.getValue());
+                sb.append(';');
+            }
+        }
+        sb.append('#')
+                .append(key.interfaceClass().getName())
+                .append('#')
+                .append(nameOf(key.contextClass()))
+                .append('#')
+                .append(nameOf(key.contextToCallObject()))
+                .append('#')
+                .append(nameOf(key.parameterDispatcher()))
+                .append('#')
+                .append(key.javaVersion());
+        if (key.invokerMetrics()) {
+            sb.append("#metrics");
+        }
+        if (key.invokerFactory()) {
+            sb.append("#factory");
+        }
+        if (key.bulk()) {
+            sb.append("#bulk");
+        }
+        if (key.receiverClasses() != null) {
+            sb.append("#receivers=");
+            for (final Class<?> c : key.receiverClasses()) {
+                sb.append(c.getName()).append(';');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendMethod(final StringBuilder sb, final Method m) {
+        sb.append(m.getDeclaringClass().getName())
+                .append('.')
+                .append(m.getName())
+                .append(Type.getMethodDescriptor(m));
+    }
+
+    private static String nameOf(final Class<?> c) {
+        return c == null ? "" : c.getName();
+    }
+
+    private static String nameOf(final ContextToCallObject o) {
+        return o == null ? "" : o.getClass().getName() + '(' + o.stableId() + ')';
+    }
+
+    private static String nameOf(final ParameterDispatcher o) {
+        return o == null ? "" : o.getClass().getName() + '(' + o.stableId() + ')';
+    }
+}
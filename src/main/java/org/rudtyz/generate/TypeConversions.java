@@ -0,0 +1,264 @@
+package org.rudtyz.generate;
+
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.Map;
+
+/**
+ * stack value conversion without reflection
+ * <ul>
+ * <li>reference: upcast or CHECKCAST</li>
+ * <li>primitive widening: I2L, I2F, I2D, L2F, L2D, F2D</li>
+ * <li>boxing: [Wrapper].valueOf, primitive may widen before boxing (int -&gt; Long)</li>
+ * <li>unboxing: [wrapper].[primitive]Value, may widen after unboxing (Integer -&gt; long)</li>
+ * <li>Object or Number -&gt; numeric primitive: Number.[primitive]Value, any Number widens (Integer -&gt; long)
+ * and converts like {@link Number#longValue()} (Double -&gt; long truncates)</li>
+ * <li>value -&gt; void: POP</li>
+ * </ul>
+ * narrowing (long -&gt; int) and void -&gt; reference are not supported
+ */
+final class TypeConversions {
+    private static final Map<Class<?>, Class<?>> wrappers = Map.of(
+            boolean.class, Boolean.class,
+            byte.class, Byte.class,
+            char.class, Character.class,
+            short.class, Short.class,
+            int.class, Integer.class,
+            long.class, Long.class,
+            float.class, Float.class,
+            double.class, Double.class);
+
+    private static final Map<Class<?>, Class<?>> primitives = Map.of(
+            Boolean.class, boolean.class,
+            Byte.class, byte.class,
+            Character.class, char.class,
+            Short.class, short.class,
+            Integer.class, int.class,
+            Long.class, long.class,
+            Float.class, float.class,
+            Double.class, double.class);
+
+    private TypeConversions() {
+        throw new AssertionError("static class");
+    }
+
+    static Class<?> wrapperOf(final Class<?> primitiveClass) {
+        return wrappers.get(primitiveClass);
+    }
+
+    static Class<?> primitiveOf(final Class<?> wrapperClass) {
+        return primitives.get(wrapperClass);
+    }
+
+    static boolean isWrapper(final Class<?> c) {
+        return primitives.containsKey(c);
+    }
+
+    /**
+     * @param castClass target class
+     * @param stackClass current stack class
+     * @return true = {@link #convert} can emit the conversion
+     */
+    static boolean isConvertible(final Class<?> castClass, final Class<?> stackClass) {
+        if (castClass == stackClass || castClass == void.class) {
+            return true;
+        }
+        if (stackClass == void.class) {
+            return false;
+        }
+
+        if (castClass.isPrimitive() && stackClass.isPrimitive()) {
+            return isWidening(castClass, stackClass);
+        }
+
+        if (stackClass.isPrimitive()) {
+            final Class<?> wrapper = wrapperOf(stackClass);
+            if (castClass.isAssignableFrom(wrapper)) {
+                return true;
+            }
+            final Class<?> castPrimitive = primitiveOf(castClass);
+            return castPrimitive != null && isWidening(castPrimitive, stackClass);
+        }
+
+        if (castClass.isPrimitive()) {
+            final Class<?> stackPrimitive = primitiveOf(stackClass);
+            if (stackPrimitive != null) {
+                return castClass == stackPrimitive || isWidening(castClass, stackPrimitive);
+            }
+            return stackClass.isAssignableFrom(wrapperOf(castClass));
+        }
+
+        return castClass.isAssignableFrom(stackClass) || stackClass.isAssignableFrom(castClass);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *    (castClass) stackClass
+     * }
+     * </pre>
+     * @param mv method visitor
+     * @param castClass cast class
+     * @param stackClass current stack class
+     */
+    @SuppressWarnings("StatementWithEmptyBody")
+    static void convert(final MethodVisitor mv, final Class<?> castClass, final Class<?> stackClass) {
+        if (castClass == stackClass) {
+            return;
+        }
+
+        if (castClass == void.class) {
+            mv.visitInsn(stackClass == long.class || stackClass == double.class ? Opcodes.POP2 : Opcodes.POP);
+        } else if (stackClass == void.class) {
+            throw notMatch(castClass, stackClass);
+        } else if (castClass.isPrimitive() && stackClass.isPrimitive()) {
+            widen(mv, castClass, stackClass);
+        } else if (stackClass.isPrimitive()) {
+            final Class<?> wrapper = wrapperOf(stackClass);
+            if (castClass.isAssignableFrom(wrapper)) {
+                box(mv, stackClass);
+            } else {
+                final Class<?> castPrimitive = primitiveOf(castClass);
+                if (castPrimitive == null) {
+                    throw notMatch(castClass, stackClass);
+                }
+                widen(mv, castPrimitive, stackClass);
+                box(mv, castPrimitive);
+            }
+        } else if (castClass.isPrimitive()) {
+            Class<?> stackPrimitive = primitiveOf(stackClass);
+            if (stackPrimitive == null) {
+                // Object, Number, Comparable ...
+                final Class<?> wrapper = wrapperOf(castClass);
+                if (!stackClass.isAssignableFrom(wrapper)) {
+                    throw notMatch(castClass, stackClass);
+                }
+                if (Number.class.isAssignableFrom(wrapper) && stackClass.isAssignableFrom(Number.class)) {
+                    unboxNumber(mv, castClass);
+                    return;
+                }
+                mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(wrapper));
+                stackPrimitive = castClass;
+            }
+            unbox(mv, stackPrimitive);
+            widen(mv, castClass, stackPrimitive);
+        } else if (castClass.isAssignableFrom(stackClass)) {
+            // do nothing
+        } else if (stackClass.isAssignableFrom(castClass)) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(castClass));
+        } else {
+            throw notMatch(castClass, stackClass);
+        }
+    }
+
+    /**
+     * JLS 5.1.2
+     */
+    private static boolean isWidening(final Class<?> castClass, final Class<?> stackClass) {
+        if (castClass == stackClass) {
+            return true;
+        }
+        return rank(stackClass) > 0
+                && rank(castClass) > rank(stackClass)
+                && castClass != char.class;
+    }
+
+    /**
+     * byte(1) &lt; short(2) &lt; int(3) &lt; long(4) &lt; float(5) &lt; double(6), char(2)
+     */
+    private static int rank(final Class<?> c) {
+        if (c == byte.class) {
+            return 1;
+        } else if (c == short.class || c == char.class) {
+            return 2;
+        } else if (c == int.class) {
+            return 3;
+        } else if (c == long.class) {
+            return 4;
+        } else if (c == float.class) {
+            return 5;
+        } else if (c == double.class) {
+            return 6;
+        }
+        return 0;
+    }
+
+    private static void widen(final MethodVisitor mv, final Class<?> castClass, final Class<?> stackClass) {
+        if (castClass == stackClass) {
+            return;
+        }
+        if (!isWidening(castClass, stackClass)) {
+            throw notMatch(castClass, stackClass);
+        }
+
+        final boolean intLike = rank(stackClass) <= 3;
+        if (castClass == long.class) {
+            mv.visitInsn(Opcodes.I2L);
+        } else if (castClass == float.class) {
+            mv.visitInsn(intLike ? Opcodes.I2F : Opcodes.L2F);
+        } else if (castClass == double.class) {
+            if (intLike) {
+                mv.visitInsn(Opcodes.I2D);
+            } else if (stackClass == long.class) {
+                mv.visitInsn(Opcodes.L2D);
+            } else {
+                mv.visitInsn(Opcodes.F2D);
+            }
+        }
+        // byte, short, char -> short, int: same int on stack
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *   Integer.valueOf(i)
+     * }
+     * </pre>
+     */
+    private static void box(final MethodVisitor mv, final Class<?> primitiveClass) {
+        final Class<?> wrapper = wrapperOf(primitiveClass);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC,
+                Type.getInternalName(wrapper),
+                "valueOf",
+                Type.getMethodDescriptor(Type.getType(wrapper), Type.getType(primitiveClass)),
+                false);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *   integer.intValue()
+     * }
+     * </pre>
+     */
+    private static void unbox(final MethodVisitor mv, final Class<?> primitiveClass) {
+        final Class<?> wrapper = wrapperOf(primitiveClass);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                Type.getInternalName(wrapper),
+                primitiveClass.getName() + "Value",
+                Type.getMethodDescriptor(Type.getType(primitiveClass)),
+                false);
+    }
+
+    /**
+     * <pre>
+     * {@code
+     *   ((Number) o).longValue()
+     * }
+     * </pre>
+     */
+    private static void unboxNumber(final MethodVisitor mv, final Class<?> primitiveClass) {
+        mv.visitTypeInsn(Opcodes.CHECKCAST, "java/lang/Number");
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                "java/lang/Number",
+                primitiveClass.getName() + "Value",
+                Type.getMethodDescriptor(Type.getType(primitiveClass)),
+                false);
+    }
+
+    private static IllegalArgumentException notMatch(final Class<?> castClass, final Class<?> stackClass) {
+        return new IllegalArgumentException("type not match " + castClass + " " + stackClass);
+    }
+}
@@ -0,0 +1,22 @@
+package org.rudtyz.generate;
+
+/**
+ * properties without a counterpart of the same name and a convertible type
+ * @see DynamicMethodFactory#generateBeanMapper
+ */
+public enum UnmatchedPropertyPolicy {
+    /**
+     * skipped, a bean target keeps its value, a record component gets 0, false or null
+     */
+    IGNORE,
+
+    /**
+     * a target property without a source property fails generation
+     */
+    FAIL_TARGET,
+
+    /**
+     * a property of either side without a counterpart fails generation
+     */
+    FAIL
+}
@@ -0,0 +1,127 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj1.MyContext;
+import org.rudtyz.generate.obj3.AotDispatcher;
+import org.rudtyz.generate.obj3.AotSample;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+public class AheadOfTimeGeneratorTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.setPrecompiledClassLookup(true);
+        DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+    }
+
+    @Test
+    public void generate_stable_name() {
+        final List<DynamicMethodFactory.GenerateResult> a = AheadOfTimeGenerator.generate(AotSample.class);
+        final List<DynamicMethodFactory.GenerateResult> b = AheadOfTimeGenerator.generate(AotSample.class);
+
+        Assertions.assertEquals(3, a.size());
+        Assertions.assertEquals(
+                a.stream().map(DynamicMethodFactory.GenerateResult::className).sorted().toList(),
+                b.stream().map(DynamicMethodFactory.GenerateResult::className).sorted().toList());
+    }
+
+    /**
+     * classes written by generateTestInvokers gradle task
+     */
+    @Test
+    public void load_precompiled() {
+        final Method aotInt = MethodReflections.find(AotSample.class, "aotInt");
+        final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(AotSample.class, aotInt, IntSupplier.class);
+
+        Assertions.assertSame(AotSample.class.getClassLoader(), c.getClassLoader());
+        final IntSupplier o = MethodReflections.newInstance(c, new AotSample());
+        Assertions.assertEquals(42, o.getAsInt());
+    }
+
+    @Test
+    public void load_precompiled_context() {
+        final Consumer<MyContext> o = MethodReflections.generateInstance(
+                new AotSample(),
+                "aotContext",
+                Consumer.class,
+                MyContext.class,
+                null);
+
+        Assertions.assertSame(AotSample.class.getClassLoader(), o.getClass().getClassLoader());
+        o.accept(new MyContext());
+    }
+
+    @Test
+    public void lookup_disabled() {
+        DynamicMethodFactory.setPrecompiledClassLookup(false);
+        final Method aotInt = MethodReflections.find(AotSample.class, "aotInt");
+        final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(AotSample.class, aotInt, IntSupplier.class);
+
+        Assertions.assertSame(DynamicMethodFactory.DynamicClassLoader.INSTANCE, c.getClassLoader());
+    }
+
+    @Test
+    public void load_precompiled_same_dispatcher_id() {
+        final Class<?> c = generateDispatch(new AotDispatcher("getInt"));
+
+        Assertions.assertSame(AotSample.class.getClassLoader(), c.getClassLoader());
+        Assertions.assertEquals(42, applyDispatch(c));
+    }
+
+    @Test
+    public void other_dispatcher_id_generates() {
+        final Class<?> c = generateDispatch(new AotDispatcher("getIntContext0"));
+
+        Assertions.assertSame(DynamicMethodFactory.DynamicClassLoader.INSTANCE, c.getClassLoader());
+        Assertions.assertEquals(53, applyDispatch(c));
+    }
+
+    @Test
+    public void dispatcher_without_id_generates() {
+        final Class<?> c = generateDispatch((contextClass, callMethod, parameter, parameterIndex) ->
+                contextClass.getMethod("getIntContext0"));
+
+        Assertions.assertSame(DynamicMethodFactory.DynamicClassLoader.INSTANCE, c.getClassLoader());
+        Assertions.assertEquals(53, applyDispatch(c));
+    }
+
+    @Test
+    public void other_definer_generates() {
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.hidden());
+        final Method aotInt = MethodReflections.find(AotSample.class, "aotInt");
+        final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(AotSample.class, aotInt, IntSupplier.class);
+
+        Assertions.assertTrue(c.isHidden());
+    }
+
+    private static Class<?> generateDispatch(final ParameterDispatcher dispatcher) {
+        final Method aotDispatch = MethodReflections.find(AotSample.class, "aotDispatch");
+        return DynamicMethodFactory.generateClass(
+                AotSample.class,
+                aotDispatch,
+                ToIntFunction.class,
+                MyContext.class,
+                null,
+                dispatcher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int applyDispatch(final Class<?> c) {
+        final ToIntFunction<MyContext> o = MethodReflections.newInstance(c, new AotSample());
+        return o.applyAsInt(new MyContext());
+    }
+}
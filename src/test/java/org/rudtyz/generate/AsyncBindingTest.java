@@ -0,0 +1,293 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.rudtyz.generate.obj0.SampleA;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+public class AsyncBindingTest {
+
+    public interface AsyncFinder {
+        CompletableFuture<String> find(long id);
+    }
+
+    public interface AsyncTouch {
+        CompletionStage<Void> touch();
+    }
+
+    public interface AsyncFail {
+        CompletableFuture<Long> fail(long id);
+    }
+
+    public interface AsyncVersion {
+        Future<Integer> version();
+    }
+
+    public interface AsyncGetter {
+        CompletableFuture<String> get();
+    }
+
+    public interface Finder {
+        String findAsync(long id);
+    }
+
+    public interface Counter {
+        int countAsync();
+    }
+
+    public interface Failing {
+        long failAsync();
+    }
+
+    public interface Never {
+        String never();
+    }
+
+    private static final Executor defaultExecutor = AsyncInvokers.getExecutor();
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @AfterEach
+    public void after() {
+        AsyncInvokers.setExecutor(defaultExecutor);
+        AsyncInvokers.setTimeout(null);
+    }
+
+    @Test
+    public void async_on_default_executor() throws Exception {
+        final SampleA sample = new SampleA();
+        final AsyncFinder finder = MethodReflections.generateInstance(sample, "find", AsyncFinder.class);
+
+        final CompletableFuture<String> a = finder.find(1);
+        final CompletableFuture<String> b = finder.find(2);
+        Assertions.assertNotSame(a, b);
+        Assertions.assertEquals("user1", a.get());
+        Assertions.assertEquals("user2", b.get());
+        Assertions.assertTrue(sample.getLastThread().isDaemon());
+        Assertions.assertTrue(sample.getLastThread().getName().startsWith("async-invoker-"));
+    }
+
+    @Test
+    public void async_void_and_static() throws Exception {
+        final SampleA sample = new SampleA();
+        final AsyncTouch touch = MethodReflections.generateInstance(sample, "touch", AsyncTouch.class);
+        Assertions.assertNull(touch.touch().toCompletableFuture().get());
+
+        final Class<? extends AsyncVersion> c = DynamicMethodFactory.generateClass(
+                SampleA.class, SampleA.class.getMethod("version"), AsyncVersion.class);
+        final AsyncVersion version = c.getConstructor().newInstance();
+        Assertions.assertEquals(2, version.version().get());
+    }
+
+    @Test
+    public void async_failure() {
+        final AsyncFail fail = MethodReflections.generateInstance(new SampleA(), "fail", AsyncFail.class);
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> fail.fail(5).get());
+        Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+        Assertions.assertEquals("fail 5", e.getCause().getMessage());
+    }
+
+    @Test
+    public void async_executor() {
+        AsyncInvokers.setExecutor(Runnable::run);
+        final SampleA sample = new SampleA();
+        final AsyncFinder finder = MethodReflections.generateInstance(sample, "find", AsyncFinder.class);
+
+        final CompletableFuture<String> f = finder.find(3);
+        Assertions.assertTrue(f.isDone());
+        Assertions.assertEquals("user3", f.join());
+        Assertions.assertSame(Thread.currentThread(), sample.getLastThread());
+    }
+
+    @Test
+    public void async_metrics_count_run() throws Exception {
+        DynamicMethodFactory.setInvokerMetrics(true);
+        try {
+            final Class<? extends AsyncFail> c = DynamicMethodFactory.generateClass(
+                    SampleA.class, SampleA.class.getMethod("fail", long.class), AsyncFail.class);
+            final AsyncFail fail = c.getConstructor(SampleA.class).newInstance(new SampleA());
+            Assertions.assertThrows(ExecutionException.class, () -> fail.fail(1).get());
+
+            final InvokerMetrics metrics = InvokerMetrics.of(c.getName());
+            Assertions.assertEquals(1, metrics.getCalls().sum());
+            Assertions.assertEquals(1, metrics.getErrors().sum());
+            Assertions.assertEquals(1, metrics.getLatency().snapshot().count());
+        } finally {
+            DynamicMethodFactory.setInvokerMetrics(false);
+        }
+    }
+
+    @Test
+    public void async_get_method() throws Exception {
+        final AsyncGetter getter = MethodReflections.generateInstance(new SampleA(), "touch", AsyncGetter.class);
+        Assertions.assertNull(getter.get().get());
+    }
+
+    @Test
+    public void binding_is_not_the_future() {
+        final AsyncFinder finder = MethodReflections.generateInstance(new SampleA(), "find", AsyncFinder.class);
+        Assertions.assertFalse(finder instanceof Future);
+        Assertions.assertFalse(finder instanceof Runnable);
+        Assertions.assertEquals("user4", finder.find(4).join());
+    }
+
+    @Test
+    public void async_hidden_class() throws Exception {
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.hidden());
+        try {
+            final AsyncFinder finder = MethodReflections.generateInstance(new SampleA(), "find", AsyncFinder.class);
+            Assertions.assertTrue(finder.getClass().isHidden());
+            Assertions.assertEquals("user8", finder.find(8).get());
+        } finally {
+            DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+        }
+    }
+
+    @Test
+    public void task_runs_once() {
+        final List<Runnable> tasks = new ArrayList<>();
+        AsyncInvokers.setExecutor(tasks::add);
+        final SampleA sample = new SampleA();
+        final AsyncFinder finder = MethodReflections.generateInstance(sample, "find", AsyncFinder.class);
+
+        final CompletableFuture<String> f = finder.find(5);
+        Assertions.assertFalse(f.isDone());
+        tasks.get(0).run();
+        tasks.get(0).run();
+        Assertions.assertEquals("user5", f.join());
+        Assertions.assertEquals(1, sample.getFindCount());
+
+        // cancelled before the executor runs it
+        final CompletableFuture<String> cancelled = finder.find(6);
+        cancelled.cancel(false);
+        tasks.get(1).run();
+        Assertions.assertEquals(1, sample.getFindCount());
+    }
+
+    @Test
+    public void one_task_object_per_call() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        AsyncInvokers.setExecutor(tasks::add);
+        final AsyncFinder finder = MethodReflections.generateInstance(new SampleA(), "find", AsyncFinder.class);
+
+        final CompletableFuture<String> f = finder.find(9);
+        final Runnable task = tasks.get(0);
+        Assertions.assertSame(f, task);
+        Assertions.assertFalse(task instanceof Callable);
+        Assertions.assertEquals(finder.getClass().getName() + "$Task", task.getClass().getName());
+        Assertions.assertEquals(AsyncInvokers.Task.class, task.getClass().getSuperclass());
+        Assertions.assertEquals(SampleA.class, task.getClass().getDeclaredField("instance").getType());
+        Assertions.assertEquals(long.class, task.getClass().getDeclaredField("a0").getType());
+        task.run();
+        Assertions.assertEquals("user9", f.join());
+    }
+
+    @Test
+    public void one_task_object_per_call_hidden_class() {
+        final List<Runnable> tasks = new ArrayList<>();
+        AsyncInvokers.setExecutor(tasks::add);
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.hidden());
+        try {
+            final AsyncFinder finder = MethodReflections.generateInstance(new SampleA(), "find", AsyncFinder.class);
+            final CompletableFuture<String> f = finder.find(10);
+            final Runnable task = tasks.get(0);
+            Assertions.assertSame(f, task);
+            Assertions.assertTrue(task.getClass().isHidden());
+            Assertions.assertEquals(AsyncInvokers.Task.class, task.getClass().getSuperclass());
+            task.run();
+            Assertions.assertEquals("user10", f.join());
+        } finally {
+            DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+        }
+    }
+
+    @Test
+    public void submit_creates_no_callable_or_array() throws Exception {
+        final DynamicMethodFactory.GenerateResult result = DynamicMethodFactory.generate(
+                SampleA.class,
+                SampleA.class.getMethod("find", long.class),
+                AsyncFinder.class,
+                null,
+                null,
+                null);
+
+        final List<String> instructions = new ArrayList<>();
+        new ClassReader(result.classData()).accept(new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                if (!name.equals("find")) {
+                    return null;
+                }
+                return new MethodVisitor(Opcodes.ASM9) {
+                    @Override
+                    public void visitTypeInsn(int opcode, String type) {
+                        instructions.add(opcode + " " + type);
+                    }
+
+                    @Override
+                    public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrap, Object... arguments) {
+                        instructions.add("INVOKEDYNAMIC " + name);
+                    }
+
+                    @Override
+                    public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                        instructions.add(name + descriptor);
+                    }
+                };
+            }
+        }, 0);
+
+        final String taskName = result.className().replace('.', '/') + "$Task";
+        Assertions.assertTrue(instructions.contains(Opcodes.NEW + " " + taskName), instructions::toString);
+        Assertions.assertTrue(instructions.contains("<init>(Lorg/rudtyz/generate/obj0/SampleA;J)V"), instructions::toString);
+        for (final String instruction : instructions) {
+            Assertions.assertFalse(instruction.startsWith("INVOKEDYNAMIC"), instruction);
+            Assertions.assertFalse(instruction.startsWith(Opcodes.ANEWARRAY + " "), instruction);
+            Assertions.assertFalse(instruction.contains("Callable"), instruction);
+            Assertions.assertFalse(instruction.startsWith("valueOf"), instruction);
+        }
+    }
+
+    @Test
+    public void sync_over_async() {
+        final SampleA sample = new SampleA();
+        final Finder finder = MethodReflections.generateInstance(sample, "findAsync", Finder.class);
+        Assertions.assertEquals("user7", finder.findAsync(7));
+
+        final Counter counter = MethodReflections.generateInstance(sample, "countAsync", Counter.class);
+        Assertions.assertEquals(3, counter.countAsync());
+
+        final Failing failing = MethodReflections.generateInstance(sample, "failAsync", Failing.class);
+        final IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, failing::failAsync);
+        Assertions.assertEquals("failAsync", e.getMessage());
+    }
+
+    @Test
+    public void sync_over_async_timeout() {
+        AsyncInvokers.setTimeout(Duration.ofMillis(50));
+        final Never never = MethodReflections.generateInstance(new SampleA(), "never", Never.class);
+        final CompletionException e = Assertions.assertThrows(CompletionException.class, never::never);
+        Assertions.assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+}
@@ -0,0 +1,70 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj4.SampleDto;
+import org.rudtyz.generate.obj4.SampleUser;
+import org.rudtyz.generate.obj4.SampleUserRecord;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public class BeanMapperTest {
+
+    private static final SampleDto dto = new SampleDto(20, "kim", true, 3, "memo");
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    public void copy() {
+        final BiConsumer<SampleDto, SampleUser> copier = DynamicMethodFactory.generateBeanCopier(SampleDto.class, SampleUser.class);
+        final SampleUser user = new SampleUser();
+        copier.accept(dto, user);
+
+        Assertions.assertEquals(20L, user.getAge());
+        Assertions.assertEquals("kim", user.getName());
+        Assertions.assertTrue(user.isActive());
+        Assertions.assertEquals(3, user.getLevel());
+        Assertions.assertEquals("none", user.getEmail());
+        Assertions.assertSame(copier, DynamicMethodFactory.generateBeanCopier(SampleDto.class, SampleUser.class));
+    }
+
+    @Test
+    public void map() {
+        final Function<SampleDto, SampleUser> mapper = DynamicMethodFactory.generateBeanMapper(SampleDto.class, SampleUser.class);
+        final SampleUser user = mapper.apply(dto);
+        Assertions.assertEquals(20L, user.getAge());
+        Assertions.assertEquals("kim", user.getName());
+
+        final Function<SampleDto, SampleUserRecord> recordMapper =
+                DynamicMethodFactory.generateBeanMapper(SampleDto.class, SampleUserRecord.class);
+        Assertions.assertEquals(new SampleUserRecord("kim", 20L, 3, null), recordMapper.apply(dto));
+
+        // record source
+        final Function<SampleUserRecord, SampleUser> fromRecord =
+                DynamicMethodFactory.generateBeanMapper(SampleUserRecord.class, SampleUser.class);
+        final SampleUser mapped = fromRecord.apply(new SampleUserRecord("lee", 5L, 7, "a@b"));
+        Assertions.assertEquals("lee", mapped.getName());
+        Assertions.assertEquals(5L, mapped.getAge());
+        Assertions.assertEquals(7, mapped.getLevel());
+        Assertions.assertEquals("a@b", mapped.getEmail());
+    }
+
+    @Test
+    public void unmatched_policy() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateBeanCopier(SampleDto.class, SampleUser.class, UnmatchedPropertyPolicy.FAIL_TARGET));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateBeanMapper(SampleUserRecord.class, SampleUser.class, UnmatchedPropertyPolicy.FAIL));
+        // every user property has a record component
+        Assertions.assertNotNull(
+                DynamicMethodFactory.generateBeanMapper(SampleUser.class, SampleUserRecord.class, UnmatchedPropertyPolicy.FAIL_TARGET));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateBeanCopier(SampleDto.class, SampleUserRecord.class));
+    }
+}
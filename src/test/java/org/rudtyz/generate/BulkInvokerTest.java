@@ -0,0 +1,101 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj1.MyContext;
+import org.rudtyz.generate.obj1.SampleBulk;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+
+public class BulkInvokerTest {
+
+    private static final String[] words = {"a", "bb", "ccc", "dddd"};
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> BulkInvoker<C> bulk(final SampleBulk sample, final Method method, final Class<?> interfaceClass) {
+        return MethodReflections.newInstance(
+                DynamicMethodFactory.generateBulkClass(SampleBulk.class, method, interfaceClass),
+                sample);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void accept_all() throws Exception {
+        final SampleBulk sample = new SampleBulk();
+        final BulkInvoker<String> bulk = bulk(sample, SampleBulk.class.getMethod("add", String.class), Consumer.class);
+
+        bulk.acceptAll(words, 1, 3);
+        Assertions.assertEquals(5, sample.getSum());
+
+        bulk.acceptAll(new ArrayList<>(List.of(words)));
+        Assertions.assertEquals(15, sample.getSum());
+
+        bulk.acceptAll(new LinkedList<>(List.of(words)));
+        Assertions.assertEquals(25, sample.getSum());
+
+        ((Consumer<String>) bulk).accept("xyz");
+        Assertions.assertEquals(28, sample.getSum());
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> bulk.acceptAll(words, 2, 5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void apply_all() throws Exception {
+        final BulkInvoker<String> bulk = bulk(new SampleBulk(), SampleBulk.class.getMethod("length", String.class), ToIntFunction.class);
+
+        final int[] ints = new int[words.length];
+        ((IntBulkInvoker<String>) bulk).applyAllAsInt(words, 0, words.length, ints);
+        Assertions.assertArrayEquals(new int[] {1, 2, 3, 4}, ints);
+
+        final long[] longs = new long[words.length];
+        ((LongBulkInvoker<String>) bulk).applyAllAsLong(words, 2, 4, longs);
+        Assertions.assertArrayEquals(new long[] {0, 0, 3, 4}, longs);
+    }
+
+    @Test
+    public void apply_all_not_convertible() throws Exception {
+        final BulkInvoker<String> bulk = bulk(new SampleBulk(), SampleBulk.class.getMethod("upper", String.class), Function.class);
+        Assertions.assertFalse(bulk instanceof IntBulkInvoker);
+        Assertions.assertFalse(bulk instanceof LongBulkInvoker);
+    }
+
+    @Test
+    public void context_dispatch() throws Exception {
+        final SampleBulk sample = new SampleBulk();
+        final Method getInt = MyContext.class.getMethod("getInt");
+        final Class<? extends BulkInvoker<MyContext>> c = DynamicMethodFactory.generateBulkClass(
+                SampleBulk.class,
+                SampleBulk.class.getMethod("context", MyContext.class, int.class),
+                Consumer.class,
+                MyContext.class,
+                null,
+                (contextClass, callMethod, parameter, parameterIndex) -> getInt);
+        final BulkInvoker<MyContext> bulk = MethodReflections.newInstance(c, sample);
+
+        bulk.acceptAll(new MyContext[] {new MyContext(), new MyContext()}, 0, 2);
+        Assertions.assertEquals(84, sample.getSum());
+    }
+
+    @Test
+    public void primitive_argument() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateBulkClass(
+                        SampleBulk.class,
+                        SampleBulk.class.getMethod("add", int.class),
+                        IntConsumer.class));
+    }
+}
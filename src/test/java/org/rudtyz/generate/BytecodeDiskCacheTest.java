@@ -0,0 +1,334 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rudtyz.generate.obj0.SampleI;
+import org.rudtyz.generate.obj0.SampleV;
+import org.rudtyz.generate.obj1.MyContext;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.ToLongFunction;
+
+public class BytecodeDiskCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.setBytecodeDiskCache(null);
+        DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+    }
+
+    @Test
+    public void reopen_hit() {
+        final Path file = tempDir.resolve("invokers.bin");
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+            Assertions.assertEquals(1, cache.stats().misses());
+            Assertions.assertEquals(1, cache.stats().entries());
+        }
+
+        // next JVM
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+            Assertions.assertEquals(1, cache.stats().hits());
+            Assertions.assertEquals(0, cache.stats().misses());
+            final IntSupplier o = MethodReflections.newInstance(c, new SampleV());
+            Assertions.assertEquals(42, o.getAsInt());
+        }
+    }
+
+    @Test
+    public void stale_fingerprint() {
+        final Path file = tempDir.resolve("invokers.bin");
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final BindingKey key = new BindingKey(SampleV.class, myInt, IntSupplier.class,
+                null, null, null, DynamicMethodFactory.javaVersion, DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            // written by an older SampleV
+            cache.append(StableClassNames.bindingOf(key),
+                    cache.fingerprint(key) + 1,
+                    DynamicMethodFactory.generate(key, StableClassNames.of(key)));
+        }
+
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+            Assertions.assertEquals(1, cache.stats().stale());
+            Assertions.assertEquals(0, cache.stats().hits());
+        }
+
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            Assertions.assertEquals(1, cache.stats().entries());
+        }
+    }
+
+    @Test
+    public void changed_emitter_generates_again() {
+        final Path file = tempDir.resolve("invokers.bin");
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        Assertions.assertTrue(BytecodeDiskCache.EMITTERS.containsAll(List.of(
+                TypeConversions.class, SpecializedInterfaces.class, ConstructorDynamicMethodFactory.class)));
+
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+            Assertions.assertEquals(1, cache.stats().misses());
+        }
+
+        // next JVM, library upgrade changed only TypeConversions
+        final long upgraded = BytecodeDiskCache.generatorFingerprint(
+                c -> c == TypeConversions.class ? 0 : BytecodeDiskCache.classFingerprint(c));
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file, upgraded)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+            Assertions.assertEquals(1, cache.stats().stale());
+            Assertions.assertEquals(0, cache.stats().hits());
+            final IntSupplier o = MethodReflections.newInstance(c, new SampleV());
+            Assertions.assertEquals(42, o.getAsInt());
+        }
+
+        // same library again, the regenerated record is a hit
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file, upgraded)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+            Assertions.assertEquals(1, cache.stats().hits());
+        }
+    }
+
+    @Test
+    public void generate_all_misses_on_executor() {
+        final Path file = tempDir.resolve("invokers.bin");
+        final List<BindingSpec> specs = List.of(
+                BindingSpec.of(SampleV.class, MethodReflections.find(SampleV.class, "myInt"), IntSupplier.class),
+                BindingSpec.of(SampleV.class, MethodReflections.find(SampleV.class, "staticMyInt"), IntSupplier.class));
+        final AtomicInteger tasks = new AtomicInteger();
+        final Executor executor = task -> {
+            tasks.incrementAndGet();
+            new Thread(task).start();
+        };
+
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            final List<DynamicMethodFactory.BindingResult> results = DynamicMethodFactory.generateAll(specs, executor);
+
+            Assertions.assertTrue(results.stream().allMatch(DynamicMethodFactory.BindingResult::isSuccess));
+            Assertions.assertEquals(2, tasks.get());
+            Assertions.assertEquals(2, cache.stats().misses());
+            Assertions.assertEquals(2, cache.stats().entries());
+        }
+
+        // next JVM, every binding is cached, nothing to generate
+        tasks.set(0);
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            final List<DynamicMethodFactory.BindingResult> results = DynamicMethodFactory.generateAll(specs, executor);
+
+            Assertions.assertTrue(results.stream().allMatch(DynamicMethodFactory.BindingResult::isSuccess));
+            Assertions.assertEquals(0, tasks.get());
+            Assertions.assertEquals(2, cache.stats().hits());
+            final IntSupplier o = MethodReflections.newInstance(results.get(0).generatedClass(), new SampleV());
+            Assertions.assertEquals(42, o.getAsInt());
+        }
+    }
+
+    record Getter(String name) implements ParameterDispatcher {
+        @Override
+        public Method parameterDispatch(Class<?> contextClass, Method callMethod, Parameter parameter, int parameterIndex)
+                throws NoSuchMethodException {
+            return contextClass.getMethod(name);
+        }
+    }
+
+    record StableGetter(String name) implements ParameterDispatcher {
+        @Override
+        public Method parameterDispatch(Class<?> contextClass, Method callMethod, Parameter parameter, int parameterIndex)
+                throws NoSuchMethodException {
+            return contextClass.getMethod(name);
+        }
+
+        @Override
+        public String stableId() {
+            return name;
+        }
+    }
+
+    @Test
+    public void dispatcher_without_stable_id_is_not_cached() {
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(tempDir.resolve("invokers.bin"))) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+
+            Assertions.assertEquals(42, applyDispatch(new Getter("getInt")));
+            Assertions.assertEquals(53, applyDispatch(new Getter("getIntContext0")));
+            Assertions.assertEquals(0, cache.stats().entries());
+        }
+    }
+
+    @Test
+    public void dispatcher_stable_id_is_part_of_binding() {
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(tempDir.resolve("invokers.bin"))) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+
+            Assertions.assertEquals(42, applyDispatch(new StableGetter("getInt")));
+            Assertions.assertEquals(53, applyDispatch(new StableGetter("getIntContext0")));
+            Assertions.assertEquals(2, cache.stats().entries());
+        }
+    }
+
+    @Test
+    public void same_name_other_bytes_fails() {
+        final DynamicMethodFactory.DynamicClassLoader loader = new DynamicMethodFactory.DynamicClassLoader();
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Method staticMyInt = MethodReflections.find(SampleV.class, "staticMyInt");
+        final DynamicMethodFactory.GenerateResult a = DynamicMethodFactory.generate(SampleV.class, myInt, IntSupplier.class);
+        final long defined = DynamicMethodFactory.getGenerationMetrics().getClassesDefined();
+
+        final Class<?> c = DynamicMethodFactory.define(loader, SampleV.class, a.className(), a.classData());
+        Assertions.assertSame(c, DynamicMethodFactory.define(loader, SampleV.class, a.className(), a.classData().clone()));
+        Assertions.assertEquals(1, DynamicMethodFactory.getGenerationMetrics().getClassesDefined() - defined);
+
+        // another binding under the same name
+        final byte[] other = DynamicMethodFactory.generate(
+                new BindingKey(SampleV.class, staticMyInt, IntSupplier.class, null, null, null,
+                        DynamicMethodFactory.javaVersion, loader), a.className()).classData();
+        Assertions.assertThrows(LinkageError.class, () -> loader.defineClass(a.className(), other));
+    }
+
+    @Test
+    public void corrupt_record_is_rejected() throws IOException {
+        final Path file = tempDir.resolve("invokers.bin");
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        }
+
+        // one flipped byte in the class data of the first record
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final long position = channel.size() - 16;
+            final ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, position);
+            b.put(0, (byte) ~b.get(0));
+            channel.write(b.rewind(), position);
+        }
+
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            Assertions.assertEquals(0, cache.stats().entries());
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+            final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+            Assertions.assertEquals(1, cache.stats().misses());
+            final IntSupplier o = MethodReflections.newInstance(c, new SampleV());
+            Assertions.assertEquals(42, o.getAsInt());
+        }
+    }
+
+    @Test
+    public void torn_tail_is_overwritten_not_truncated() throws IOException {
+        final Path file = tempDir.resolve("invokers.bin");
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Method staticMyInt = MethodReflections.find(SampleV.class, "staticMyInt");
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        }
+
+        // crashed writer, record length without the record
+        Files.write(file, ByteBuffer.allocate(8).putInt(1000).putInt(7).array(), StandardOpenOption.APPEND);
+        final long tornSize = Files.size(file);
+
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            Assertions.assertEquals(1, cache.stats().entries());
+            Assertions.assertEquals(tornSize, Files.size(file));
+            DynamicMethodFactory.setBytecodeDiskCache(cache);
+            DynamicMethodFactory.generateClass(SampleV.class, staticMyInt, IntSupplier.class);
+        }
+
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            Assertions.assertEquals(2, cache.stats().entries());
+        }
+    }
+
+    @Test
+    public void append_reads_records_of_other_writers() {
+        final Path file = tempDir.resolve("invokers.bin");
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Method staticMyInt = MethodReflections.find(SampleV.class, "staticMyInt");
+
+        // two processes opened the file before either appended
+        try (BytecodeDiskCache a = BytecodeDiskCache.open(file);
+             BytecodeDiskCache b = BytecodeDiskCache.open(file)) {
+            DynamicMethodFactory.setBytecodeDiskCache(a);
+            DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+            DynamicMethodFactory.setBytecodeDiskCache(b);
+            DynamicMethodFactory.generateClass(SampleV.class, staticMyInt, IntSupplier.class);
+
+            Assertions.assertEquals(2, b.stats().entries());
+        }
+
+        try (BytecodeDiskCache cache = BytecodeDiskCache.open(file)) {
+            Assertions.assertEquals(2, cache.stats().entries());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long applyDispatch(final ParameterDispatcher dispatcher) {
+        final Method staticMyIntToLong = MethodReflections.find(SampleI.class, "staticMyIntToLong");
+        final Class<?> c = DynamicMethodFactory.generateClass(
+                SampleI.class,
+                staticMyIntToLong,
+                ToLongFunction.class,
+                MyContext.class,
+                null,
+                dispatcher);
+        final ToLongFunction<MyContext> o = MethodReflections.newInstance(c);
+        return o.applyAsLong(new MyContext());
+    }
+}
@@ -0,0 +1,200 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rudtyz.generate.obj0.SampleI;
+import org.rudtyz.generate.obj0.SampleV;
+import org.rudtyz.generate.obj1.MyContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.ToLongFunction;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+public class ClassDataSharingTest {
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.setStableClassNames(false);
+        DynamicMethodFactory.setClassExportDirectory(null);
+        DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+    }
+
+    @Test
+    public void stable_class_name() {
+        DynamicMethodFactory.setStableClassNames(true);
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Class<? extends IntSupplier> a = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+        // next JVM
+        DynamicMethodFactory.getGeneratedClassCache().clear();
+        DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+        final Class<? extends IntSupplier> b = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+        Assertions.assertNotSame(a, b);
+        Assertions.assertEquals(a.getName(), b.getName());
+        Assertions.assertTrue(a.getName().startsWith(SampleV.class.getName() + "_myInt_"));
+    }
+
+    @Test
+    public void export_class_file() {
+        DynamicMethodFactory.setClassExportDirectory(tempDir);
+        DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+        Assertions.assertTrue(Files.isRegularFile(tempDir.resolve(c.getName().replace('.', '/') + ".class")));
+        final IntSupplier o = MethodReflections.newInstance(c, new SampleV());
+        Assertions.assertEquals(42, o.getAsInt());
+    }
+
+    @Test
+    public void generate_all_exports_class_files() {
+        DynamicMethodFactory.setClassExportDirectory(tempDir);
+        DynamicMethodFactory.setClassDefiner(new DynamicMethodFactory.DynamicClassLoader());
+        final List<DynamicMethodFactory.BindingResult> results = DynamicMethodFactory.generateAll(List.of(
+                BindingSpec.of(SampleV.class, MethodReflections.find(SampleV.class, "myInt"), IntSupplier.class),
+                BindingSpec.of(SampleV.class, MethodReflections.find(SampleV.class, "staticMyInt"), IntSupplier.class)));
+
+        for (final DynamicMethodFactory.BindingResult r : results) {
+            final Class<?> c = r.generatedClass();
+            Assertions.assertNotNull(c, () -> String.valueOf(r.failure()));
+            Assertions.assertTrue(c.getName().startsWith(SampleV.class.getName() + "_"));
+            Assertions.assertTrue(Files.isRegularFile(tempDir.resolve(c.getName().replace('.', '/') + ".class")));
+        }
+    }
+
+    @Test
+    public void stable_names_keep_dispatchers_apart() {
+        DynamicMethodFactory.setStableClassNames(true);
+        final Method staticMyIntToLong = MethodReflections.find(SampleI.class, "staticMyIntToLong");
+        final Class<?> a = DynamicMethodFactory.generateClass(SampleI.class, staticMyIntToLong, ToLongFunction.class,
+                MyContext.class, null, (contextClass, callMethod, parameter, parameterIndex) -> contextClass.getMethod("getInt"));
+        final Class<?> b = DynamicMethodFactory.generateClass(SampleI.class, staticMyIntToLong, ToLongFunction.class,
+                MyContext.class, null, (contextClass, callMethod, parameter, parameterIndex) -> contextClass.getMethod("getIntContext0"));
+
+        Assertions.assertNotSame(a, b);
+        final ToLongFunction<MyContext> getInt = MethodReflections.newInstance(a);
+        final ToLongFunction<MyContext> getIntContext0 = MethodReflections.newInstance(b);
+        Assertions.assertEquals(42, getInt.applyAsLong(new MyContext()));
+        Assertions.assertEquals(53, getIntContext0.applyAsLong(new MyContext()));
+    }
+
+    /**
+     * training run exports, archive run dumps, warm run maps the invoker from the archive
+     */
+    @Test
+    public void warm_start_from_dynamic_archive() throws Exception {
+        final Path invokers = tempDir.resolve("invokers");
+        final Path archive = tempDir.resolve("app.jsa");
+        final List<String> classPath = jarClassPath();
+
+        final String training = run(classPath, List.of(), invokers.toString());
+        Assertions.assertTrue(training.contains("defined 1"), training);
+
+        final Path invokersJar = tempDir.resolve("invokers.jar");
+        jar(invokers, invokersJar);
+        final List<String> trainedClassPath = new ArrayList<>(classPath);
+        trainedClassPath.add(invokersJar.toString());
+
+        final String dump = run(trainedClassPath, List.of("-XX:ArchiveClassesAtExit=" + archive));
+        Assertions.assertTrue(dump.contains("defined 0"), dump);
+        Assumptions.assumeTrue(Files.isRegularFile(archive), "dynamic archive is not supported: " + dump);
+
+        final String warm = run(trainedClassPath, List.of("-XX:SharedArchiveFile=" + archive, "-Xlog:class+load=info"));
+        Assertions.assertTrue(warm.contains("defined 0"), warm);
+        final String invokerClass = warm.lines()
+                .filter(line -> line.startsWith("invoker "))
+                .findFirst()
+                .orElseThrow()
+                .split(" ")[1];
+        Assertions.assertTrue(warm.lines()
+                        .filter(line -> line.contains(" " + invokerClass + " "))
+                        .anyMatch(line -> line.contains("source: shared objects file")),
+                warm);
+    }
+
+    /**
+     * prints the invoker class name and the number of classes defined from bytes
+     */
+    public static class Training {
+        public static void main(final String[] args) {
+            if (args.length > 0) {
+                DynamicMethodFactory.setClassExportDirectory(Path.of(args[0]));
+            }
+            final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+            final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+            final IntSupplier o = MethodReflections.newInstance(c, new SampleV());
+            System.out.println("invoker " + c.getName() + " returns " + o.getAsInt());
+            System.out.println("defined " + DynamicMethodFactory.getGenerationMetrics().getClassesDefined());
+        }
+    }
+
+    private static String run(final List<String> classPath, final List<String> options, final String... args)
+            throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElseThrow());
+        command.addAll(options);
+        command.add("-cp");
+        command.add(String.join(File.pathSeparator, classPath));
+        command.add(Training.class.getName());
+        command.addAll(List.of(args));
+
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        Assertions.assertEquals(0, process.waitFor(), output);
+        return output;
+    }
+
+    /**
+     * CDS archives classes from jar files only, class directories of the test classpath are jarred
+     */
+    private List<String> jarClassPath() throws IOException {
+        final List<String> classPath = new ArrayList<>();
+        for (final String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            final Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                final Path jar = tempDir.resolve("classpath-" + classPath.size() + ".jar");
+                jar(path, jar);
+                classPath.add(jar.toString());
+            } else if (Files.isRegularFile(path)) {
+                classPath.add(entry);
+            }
+        }
+        return classPath;
+    }
+
+    private static void jar(final Path directory, final Path jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.filter(Files::isRegularFile).toList()) {
+                out.putNextEntry(new JarEntry(directory.relativize(file).toString().replace(File.separatorChar, '/')));
+                Files.copy(file, (OutputStream) out);
+                out.closeEntry();
+            }
+        }
+    }
+}
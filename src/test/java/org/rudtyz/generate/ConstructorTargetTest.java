@@ -0,0 +1,98 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj4.SamplePoint;
+import org.rudtyz.generate.obj4.SampleRow;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+public class ConstructorTargetTest {
+
+    private static final ConstructorParameterDispatcher dispatcher = (contextClass, callExecutable, parameter, parameterIndex) -> {
+        if (parameter.getType() == String.class) {
+            return MethodReflections.find(contextClass, "getLabel");
+        }
+        if (parameter.getType() == long.class) {
+            return MethodReflections.find(contextClass, "getY");
+        }
+        return MethodReflections.find(contextClass, "getX");
+    };
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void new_instance() throws Exception {
+        final Supplier<SamplePoint> origin = DynamicMethodFactory.generateConstructorClass(
+                SamplePoint.class.getConstructor(), Supplier.class).getConstructor().newInstance();
+        Assertions.assertEquals("origin", origin.get().getLabel());
+        Assertions.assertNotSame(origin.get(), origin.get());
+
+        final Function<String, SamplePoint> named = DynamicMethodFactory.generateConstructorClass(
+                SamplePoint.class.getConstructor(String.class), Function.class).getConstructor().newInstance();
+        Assertions.assertEquals("a", named.apply("a").getLabel());
+
+        Assertions.assertSame(
+                DynamicMethodFactory.generateConstructorClass(SamplePoint.class.getConstructor(String.class), Function.class),
+                DynamicMethodFactory.generateConstructorClass(SamplePoint.class.getConstructor(String.class), Function.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void context_parameters() throws Exception {
+        final Function<SampleRow, SamplePoint> fromRow = DynamicMethodFactory.generateConstructorClass(
+                SamplePoint.class.getConstructor(int.class, long.class, String.class),
+                Function.class,
+                SampleRow.class,
+                dispatcher).getConstructor().newInstance();
+        final SamplePoint p = fromRow.apply(new SampleRow());
+        Assertions.assertEquals(3, p.getX());
+        Assertions.assertEquals(4L, p.getY());
+        Assertions.assertEquals("row", p.getLabel());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void static_factory() throws Exception {
+        final Method of = SamplePoint.class.getMethod("of", int.class, long.class);
+        final Function<SampleRow, SamplePoint> fromRow = (Function<SampleRow, SamplePoint>) DynamicMethodFactory.generateClass(
+                SamplePoint.class, of, Function.class, SampleRow.class, null, dispatcher).getConstructor().newInstance();
+        final SamplePoint p = fromRow.apply(new SampleRow());
+        Assertions.assertEquals(3, p.getX());
+        Assertions.assertEquals("of", p.getLabel());
+    }
+
+    @Test
+    public void dispatcher_gets_constructor() throws Exception {
+        final Constructor<SamplePoint> constructor = SamplePoint.class.getConstructor(int.class, long.class, String.class);
+        final List<Executable> targets = new ArrayList<>();
+        DynamicMethodFactory.generateConstructorClass(constructor, Function.class, SampleRow.class,
+                (contextClass, callExecutable, parameter, parameterIndex) -> {
+                    targets.add(callExecutable);
+                    return dispatcher.parameterDispatch(contextClass, callExecutable, parameter, parameterIndex);
+                });
+
+        Assertions.assertFalse(targets.isEmpty());
+        Assertions.assertTrue(targets.stream().allMatch(constructor::equals));
+    }
+
+    @Test
+    public void invalid_constructor() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateConstructorClass(SamplePoint.class.getConstructor(), IntSupplier.class));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateConstructorClass(Number.class.getConstructor(), Supplier.class));
+    }
+}
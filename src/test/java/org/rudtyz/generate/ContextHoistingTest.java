@@ -0,0 +1,88 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.rudtyz.generate.obj1.CountingContext;
+import org.rudtyz.generate.obj1.MyContext;
+import org.rudtyz.generate.obj1.SampleWide;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class ContextHoistingTest {
+    private static final ParameterDispatcher dispatcher = (contextClass, callMethod, parameter, parameterIndex) -> {
+        if (parameter.getType() == String.class) {
+            return MethodReflections.find(contextClass, "getString");
+        }
+        return MethodReflections.find(contextClass, "getInt");
+    };
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    public void dispatch_once() {
+        final Function<Object, String> o = MethodReflections.generateInstance(
+                new SampleWide(),
+                "wide",
+                Function.class,
+                MyContext.class,
+                dispatcher);
+
+        final CountingContext context = new CountingContext();
+        Assertions.assertEquals("4242424242", o.apply(context));
+        Assertions.assertEquals(1, context.getIntCount);
+    }
+
+    @Test
+    public void cast_once() {
+        final Method wide = MethodReflections.find(SampleWide.class, "wide");
+        final DynamicMethodFactory.GenerateResult result = DynamicMethodFactory.generate(
+                SampleWide.class,
+                wide,
+                Function.class,
+                MyContext.class,
+                null,
+                dispatcher);
+
+        final Map<String, Integer> counts = count(result.classData(), "apply");
+        Assertions.assertEquals(1, counts.getOrDefault("CHECKCAST", 0));
+        Assertions.assertEquals(1, counts.getOrDefault("getInt", 0));
+        Assertions.assertEquals(1, counts.getOrDefault("getString", 0));
+    }
+
+    private static Map<String, Integer> count(final byte[] classData, final String methodName) {
+        final Map<String, Integer> counts = new HashMap<>();
+        new ClassReader(classData).accept(new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                if (!name.equals(methodName)) {
+                    return null;
+                }
+                return new MethodVisitor(Opcodes.ASM9) {
+                    @Override
+                    public void visitTypeInsn(int opcode, String type) {
+                        if (opcode == Opcodes.CHECKCAST) {
+                            counts.merge("CHECKCAST", 1, Integer::sum);
+                        }
+                    }
+
+                    @Override
+                    public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                        counts.merge(name, 1, Integer::sum);
+                    }
+                };
+            }
+        }, 0);
+        return counts;
+    }
+}
@@ -0,0 +1,122 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj4.SampleBean;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+public class FieldAccessorTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    private static Field field(final String name) throws NoSuchFieldException {
+        return SampleBean.class.getField(name);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void field_get_set() throws Exception {
+        final SampleBean bean = new SampleBean();
+        final ObjIntConsumer<SampleBean> setAge = DynamicMethodFactory.generateFieldAccessor(field("age"), ObjIntConsumer.class);
+        final ToIntFunction<SampleBean> getAge = DynamicMethodFactory.generateFieldAccessor(field("age"), ToIntFunction.class);
+        setAge.accept(bean, 20);
+        Assertions.assertEquals(20, bean.age);
+        Assertions.assertEquals(20, getAge.applyAsInt(bean));
+
+        // widening and boxing
+        final ToLongFunction<SampleBean> getAgeLong = DynamicMethodFactory.generateFieldAccessor(field("age"), ToLongFunction.class);
+        Assertions.assertEquals(20L, getAgeLong.applyAsLong(bean));
+        final Function<SampleBean, Object> getAgeBoxed = DynamicMethodFactory.generateFieldAccessor(field("age"), Function.class);
+        Assertions.assertEquals(20, getAgeBoxed.apply(bean));
+
+        final BiConsumer<SampleBean, String> setName = DynamicMethodFactory.generateFieldAccessor(field("name"), BiConsumer.class);
+        setName.accept(bean, "kim");
+        Assertions.assertEquals("kim", bean.name);
+
+        // superclass field
+        final ObjIntConsumer<SampleBean> setId = DynamicMethodFactory.generateFieldAccessor(field("id"), ObjIntConsumer.class);
+        setId.accept(bean, 7);
+        Assertions.assertEquals(7L, bean.id);
+
+        Assertions.assertSame(getAge, DynamicMethodFactory.generateFieldAccessor(field("age"), ToIntFunction.class));
+    }
+
+    @Test
+    public void static_field() throws Exception {
+        final IntConsumer set = DynamicMethodFactory.generateFieldAccessor(field("created"), IntConsumer.class);
+        final IntSupplier get = DynamicMethodFactory.generateFieldAccessor(field("created"), IntSupplier.class);
+        set.accept(3);
+        Assertions.assertEquals(3, SampleBean.created);
+        Assertions.assertEquals(3, get.getAsInt());
+    }
+
+    @Test
+    public void invalid_field_accessor() throws Exception {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateFieldAccessor(field("kind"), BiConsumer.class));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateFieldAccessor(field("name"), ToIntFunction.class));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateFieldAccessor(field("age"), Runnable.class));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateFieldAccessor(
+                        SampleBean.class.getDeclaredField("secret"), ToIntFunction.class));
+    }
+
+    @Test
+    public void bean_accessor() {
+        final SampleBean bean = new SampleBean();
+        final BeanAccessor<SampleBean> accessor = DynamicMethodFactory.generateBeanAccessor(SampleBean.class);
+        final List<String> names = accessor.properties().stream().map(Field::getName).toList();
+        Assertions.assertEquals(List.of("age", "id", "kind", "level", "name", "score"), names);
+        Assertions.assertSame(accessor, DynamicMethodFactory.generateBeanAccessor(SampleBean.class));
+
+        final int age = accessor.indexOf("age");
+        final int id = accessor.indexOf("id");
+        final int kind = accessor.indexOf("kind");
+        final int level = accessor.indexOf("level");
+        final int name = accessor.indexOf("name");
+        final int score = accessor.indexOf("score");
+        Assertions.assertEquals(-1, accessor.indexOf("secret"));
+
+        accessor.setInt(bean, age, 30);
+        accessor.setLong(bean, id, 5L);
+        accessor.set(bean, name, "lee");
+        accessor.setDouble(bean, score, 1.5);
+        accessor.setInt(bean, level, 2);
+        Assertions.assertEquals(30, bean.age);
+        Assertions.assertEquals(5L, bean.id);
+        Assertions.assertEquals("lee", bean.name);
+        Assertions.assertEquals(1.5, bean.score);
+        Assertions.assertEquals(2, bean.level);
+
+        Assertions.assertEquals(30, accessor.get(bean, age));
+        Assertions.assertEquals(30L, accessor.getLong(bean, age));
+        Assertions.assertEquals(30.0, accessor.getDouble(bean, age));
+        Assertions.assertEquals(2, accessor.getInt(bean, level));
+        Assertions.assertEquals("bean", accessor.get(bean, kind));
+
+        accessor.set(bean, age, 31);
+        Assertions.assertEquals(31, bean.age);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> accessor.getInt(bean, name));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> accessor.getInt(bean, id));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> accessor.set(bean, kind, "x"));
+        Assertions.assertThrows(ClassCastException.class, () -> accessor.set(bean, age, "x"));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> accessor.get(bean, 6));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> accessor.setInt(bean, -1, 0));
+    }
+}
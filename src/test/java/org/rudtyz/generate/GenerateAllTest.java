@@ -0,0 +1,101 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleV;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+public class GenerateAllTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.getGeneratedClassCache().setEnabled(true);
+    }
+
+    @Test
+    public void generate_all_in_order() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Method myString = MethodReflections.find(SampleV.class, "myString");
+        final Method staticMyInt = MethodReflections.find(SampleV.class, "staticMyInt");
+        final List<BindingSpec> specs = List.of(
+                BindingSpec.of(SampleV.class, myInt, IntSupplier.class),
+                BindingSpec.of(SampleV.class, myString, Supplier.class),
+                BindingSpec.of(SampleV.class, staticMyInt, IntSupplier.class));
+
+        final List<DynamicMethodFactory.BindingResult> results = DynamicMethodFactory.generateAll(specs);
+
+        Assertions.assertEquals(3, results.size());
+        for (int i = 0; i < specs.size(); ++i) {
+            Assertions.assertSame(specs.get(i), results.get(i).spec());
+            Assertions.assertTrue(results.get(i).isSuccess());
+        }
+
+        final IntSupplier i = MethodReflections.newInstance(results.get(0).generatedClass(), new SampleV());
+        final Supplier<?> s = MethodReflections.newInstance(results.get(1).generatedClass(), new SampleV());
+        Assertions.assertEquals(42, i.getAsInt());
+        Assertions.assertEquals("42", s.get());
+        Assertions.assertSame(
+                DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class),
+                results.get(0).generatedClass());
+    }
+
+    @Test
+    public void failure_per_binding() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Method myString = MethodReflections.find(SampleV.class, "myString");
+        final List<BindingSpec> specs = Arrays.asList(
+                BindingSpec.of(SampleV.class, myString, IntSupplier.class),
+                null,
+                BindingSpec.of(SampleV.class, myInt, IntSupplier.class));
+
+        final List<DynamicMethodFactory.BindingResult> results = DynamicMethodFactory.generateAll(specs);
+
+        Assertions.assertFalse(results.get(0).isSuccess());
+        Assertions.assertInstanceOf(IllegalArgumentException.class, results.get(0).failure());
+        Assertions.assertNull(results.get(0).generatedClass());
+        Assertions.assertFalse(results.get(1).isSuccess());
+        Assertions.assertTrue(results.get(2).isSuccess());
+    }
+
+    @Test
+    public void unique_class_name_in_parallel() {
+        DynamicMethodFactory.getGeneratedClassCache().setEnabled(false);
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final List<BindingSpec> specs = new ArrayList<>();
+        for (int i = 0; i < 500; ++i) {
+            specs.add(BindingSpec.of(SampleV.class, myInt, IntSupplier.class));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<DynamicMethodFactory.BindingResult> results;
+        try {
+            results = DynamicMethodFactory.generateAll(specs, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        final Set<Class<?>> classes = new HashSet<>();
+        for (DynamicMethodFactory.BindingResult result : results) {
+            Assertions.assertTrue(result.isSuccess());
+            classes.add(result.generatedClass());
+        }
+        Assertions.assertEquals(500, classes.size());
+    }
+}
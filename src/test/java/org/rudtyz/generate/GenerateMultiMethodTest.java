@@ -0,0 +1,81 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleM;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+public class GenerateMultiMethodTest {
+
+    public interface UserService {
+        Object find(long id);
+
+        long count();
+
+        void clear();
+
+        String version();
+
+        default String describe() {
+            return version() + ":" + count();
+        }
+
+        @Override
+        boolean equals(Object o);
+    }
+
+    public interface Counter {
+        int size();
+
+        int count();
+    }
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    public void match_by_name() {
+        final Class<? extends UserService> c = DynamicMethodFactory.generateClass(SampleM.class, UserService.class);
+        final UserService o = MethodReflections.newInstance(c, new SampleM());
+
+        Assertions.assertEquals("user5", o.find(5));
+        Assertions.assertEquals(3L, o.count());
+        Assertions.assertEquals("1.0", o.version());
+        Assertions.assertEquals("1.0:3", o.describe());
+        o.clear();
+
+        Assertions.assertEquals(1, c.getDeclaredFields().length);
+        Assertions.assertSame(c, DynamicMethodFactory.generateClass(SampleM.class, UserService.class));
+    }
+
+    @Test
+    public void explicit_mapping() throws Exception {
+        final Method size = Counter.class.getMethod("size");
+        final Class<? extends Counter> c = DynamicMethodFactory.generateClass(
+                SampleM.class,
+                Counter.class,
+                Map.of(size, MethodReflections.find(SampleM.class, "total")));
+        final Counter o = MethodReflections.newInstance(c, new SampleM());
+
+        Assertions.assertEquals(7, o.size());
+        Assertions.assertEquals(3, o.count());
+    }
+
+    @Test
+    public void method_not_found() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateClass(SampleM.class, Counter.class));
+    }
+
+    @Test
+    public void single_method_binding_rejects_many_abstract_methods() {
+        final Method count = MethodReflections.find(SampleM.class, "count");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateClass(SampleM.class, count, Counter.class));
+    }
+}
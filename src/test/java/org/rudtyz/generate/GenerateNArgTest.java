@@ -0,0 +1,100 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleN;
+import org.rudtyz.generate.obj1.MyContext;
+
+import java.lang.reflect.Method;
+import java.util.function.ObjIntConsumer;
+
+public class GenerateNArgTest {
+
+    public interface Handler {
+        String handle(String request, long deadline, int retry);
+    }
+
+    public interface Sum {
+        long sum(int a, long b, double c, int d);
+    }
+
+    public interface Swapped {
+        Object apply(String name, int count);
+    }
+
+    public interface SessionHandler {
+        String handle(String request, MyContext session);
+    }
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    public void position() {
+        final Handler o = MethodReflections.generateInstance(
+                new SampleN(),
+                "handle",
+                Handler.class);
+
+        Assertions.assertEquals("req:100:3", o.handle("req", 100L, 3));
+    }
+
+    @Test
+    public void long_double_slot() {
+        final Sum o = MethodReflections.generateInstance(
+                new SampleN(),
+                "sum",
+                Sum.class);
+
+        Assertions.assertEquals(1 + 20_000_000_000L + 3 + 4, o.sum(1, 20_000_000_000L, 3.5, 4));
+    }
+
+    @Test
+    public void type() {
+        final Swapped o = MethodReflections.generateInstance(
+                new SampleN(),
+                "swap",
+                Swapped.class);
+
+        Assertions.assertEquals("a7", o.apply("a", 7));
+    }
+
+    @Test
+    public void context_dispatch() {
+        final ParameterDispatcher dispatcher = (contextClass, callMethod, parameter, parameterIndex) ->
+                MethodReflections.find(contextClass, "getInt");
+        final SessionHandler o = MethodReflections.generateInstance(
+                new SampleN(),
+                "user",
+                SessionHandler.class,
+                MyContext.class,
+                dispatcher);
+
+        Assertions.assertEquals("req42", o.handle("req", new MyContext()));
+    }
+
+    @Test
+    public void obj_int_consumer() {
+        final SampleN sample = new SampleN();
+        final Method put = MethodReflections.find(SampleN.class, "put");
+        final ObjIntConsumer<String> o = MethodReflections.generateInstance(
+                sample,
+                "put",
+                SpecializedInterfaces.of(put));
+
+        o.accept("k", 1);
+        Assertions.assertEquals(ObjIntConsumer.class, SpecializedInterfaces.of(put));
+        Assertions.assertEquals("k=1", sample.last);
+    }
+
+    @Test
+    public void parameter_not_found() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MethodReflections.generateInstance(
+                new SampleN(),
+                "handle",
+                Sum.class));
+    }
+}
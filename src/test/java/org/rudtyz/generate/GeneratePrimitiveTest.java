@@ -0,0 +1,192 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleP;
+import org.rudtyz.generate.obj0.SampleV;
+import org.rudtyz.generate.obj1.MyContext;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+public class GeneratePrimitiveTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    public void box_return() {
+        final Supplier<Integer> o = MethodReflections.generateInstance(
+                new SampleV(),
+                "myInt",
+                Supplier.class);
+
+        Assertions.assertEquals(42, o.get());
+    }
+
+    @Test
+    public void widen_return() {
+        final LongSupplier l = MethodReflections.generateInstance(
+                new SampleV(),
+                "myInt",
+                LongSupplier.class);
+        final DoubleSupplier d = MethodReflections.generateInstance(
+                new SampleV(),
+                "myInt",
+                DoubleSupplier.class);
+
+        Assertions.assertEquals(42L, l.getAsLong());
+        Assertions.assertEquals(42.0, d.getAsDouble());
+    }
+
+    @Test
+    public void unbox_return() {
+        final IntSupplier i = MethodReflections.generateInstance(
+                new SampleP(),
+                "myBoxed",
+                IntSupplier.class);
+        final LongSupplier l = MethodReflections.generateInstance(
+                new SampleP(),
+                "myBoxed",
+                LongSupplier.class);
+
+        Assertions.assertEquals(42, i.getAsInt());
+        Assertions.assertEquals(42L, l.getAsLong());
+    }
+
+    @Test
+    public void unbox_number_return() {
+        // Object -> Number.longValue, an Integer is not a Long
+        final LongSupplier l = MethodReflections.generateInstance(
+                new SampleP(),
+                "myNumber",
+                LongSupplier.class);
+        final DoubleSupplier d = MethodReflections.generateInstance(
+                new SampleP(),
+                "myNumber",
+                DoubleSupplier.class);
+
+        Assertions.assertEquals(42L, l.getAsLong());
+        Assertions.assertEquals(42.0, d.getAsDouble());
+    }
+
+    @Test
+    public void void_to_reference_not_supported() {
+        final Method my = MethodReflections.find(SampleV.class, "my");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateClass(SampleV.class, my, Supplier.class));
+    }
+
+    @Test
+    public void void_return() {
+        final Runnable o = MethodReflections.generateInstance(
+                new SampleP(),
+                "myBoxed",
+                Runnable.class);
+        o.run();
+    }
+
+    @Test
+    public void widen_parameter() {
+        final IntToLongFunction o = MethodReflections.generateInstance(
+                new SampleP(),
+                "myLong",
+                IntToLongFunction.class);
+
+        Assertions.assertEquals(7L, o.applyAsLong(7));
+    }
+
+    @Test
+    public void box_parameter() {
+        final IntToDoubleFunction o = MethodReflections.generateInstance(
+                new SampleP(),
+                "myInteger",
+                IntToDoubleFunction.class);
+
+        Assertions.assertEquals(7.0, o.applyAsDouble(7));
+    }
+
+    @Test
+    public void unbox_context_parameter() {
+        final ToIntFunction<Integer> o = MethodReflections.generateInstance(
+                new SampleV(),
+                "myInt",
+                ToIntFunction.class,
+                Integer.class,
+                null);
+        Assertions.assertEquals(42, o.applyAsInt(1));
+
+        final Function<Integer, Double> f = MethodReflections.generateInstance(
+                new SampleP(),
+                "myDouble",
+                Function.class,
+                Integer.class,
+                null);
+        Assertions.assertEquals(7.0, f.apply(7));
+    }
+
+    @Test
+    public void widen_dispatcher_result() {
+        final Consumer<MyContext> o = MethodReflections.generateInstance(
+                new SampleP(),
+                "myLong",
+                Consumer.class,
+                MyContext.class,
+                new ParameterDispatcher() {
+                    @Override
+                    public Method parameterDispatch(final Class<?> contextClass, final Method callMethod, final Parameter parameter, final int parameterIndex) {
+                        return MethodReflections.find(contextClass, "getInt");
+                    }
+                });
+        o.accept(new MyContext());
+    }
+
+    @Test
+    public void narrowing_not_supported() {
+        final Method myLong = MethodReflections.find(SampleP.class, "myLong");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateClass(SampleP.class, myLong, IntUnaryOperator.class));
+    }
+
+    @Test
+    public void specialized_interface() {
+        Assertions.assertSame(IntSupplier.class, SpecializedInterfaces.of(MethodReflections.find(SampleV.class, "myInt")));
+        Assertions.assertSame(LongUnaryOperator.class, SpecializedInterfaces.of(MethodReflections.find(SampleP.class, "myLong")));
+        Assertions.assertSame(ToIntFunction.class, SpecializedInterfaces.of(MethodReflections.find(SampleP.class, "myInteger")));
+        Assertions.assertSame(Function.class, SpecializedInterfaces.of(MethodReflections.find(SampleP.class, "myString")));
+        Assertions.assertSame(IntToDoubleFunction.class, SpecializedInterfaces.of(MethodReflections.find(SampleP.class, "myDouble")));
+    }
+
+    @Test
+    public void generate_specialized() throws Exception {
+        final Method myDouble = MethodReflections.find(SampleP.class, "myDouble");
+        final Class<?> c = DynamicMethodFactory.generateSpecializedClass(SampleP.class, myDouble);
+        final IntToDoubleFunction o = MethodReflections.newInstance(c, new SampleP());
+
+        Assertions.assertEquals(3.0, o.applyAsDouble(3));
+    }
+
+    @Test
+    public void box_to_int_function() {
+        final IntFunction<Double> o = MethodReflections.generateInstance(
+                new SampleP(),
+                "myDouble",
+                IntFunction.class);
+        Assertions.assertEquals(3.0, o.apply(3));
+    }
+}
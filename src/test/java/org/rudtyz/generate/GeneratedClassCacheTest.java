@@ -0,0 +1,216 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleI;
+import org.rudtyz.generate.obj0.SampleV;
+import org.rudtyz.generate.obj4.SampleBean;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+public class GeneratedClassCacheTest {
+    private final GeneratedClassCache cache = DynamicMethodFactory.getGeneratedClassCache();
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+        cache.setMaximumSize(0);
+        cache.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        cache.setMaximumSize(0);
+        cache.setEnabled(true);
+        // keys of this test map to placeholder classes
+        cache.clear();
+    }
+
+    @Test
+    public void same_binding_same_class() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final GeneratedClassCache.Stats before = cache.stats();
+
+        final Class<?> a = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        final Class<?> b = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+        Assertions.assertSame(a, b);
+        final GeneratedClassCache.Stats after = cache.stats();
+        Assertions.assertEquals(1, after.misses() - before.misses());
+        Assertions.assertEquals(1, after.hits() - before.hits());
+    }
+
+    @Test
+    public void java_version_is_part_of_key() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Class<?> a = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        DynamicMethodFactory.setGenerateClassJavaVersion(17);
+        final Class<?> b = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+        Assertions.assertNotSame(a, b);
+    }
+
+    @Test
+    public void maximum_size_evicts_least_recently_used() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Method staticMyInt = MethodReflections.find(SampleV.class, "staticMyInt");
+        final Method my = MethodReflections.find(SampleI.class, "my");
+        cache.setMaximumSize(2);
+        final GeneratedClassCache.Stats before = cache.stats();
+
+        final Class<?> a = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        DynamicMethodFactory.generateClass(SampleV.class, staticMyInt, IntSupplier.class);
+        // touch a, staticMyInt is eldest
+        DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        DynamicMethodFactory.generateClass(SampleI.class, my, IntConsumer.class);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.stats().evictions() - before.evictions());
+        Assertions.assertSame(a, DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void accessors_share_the_cache() throws Exception {
+        cache.setMaximumSize(1);
+        final GeneratedClassCache.Stats before = cache.stats();
+
+        final ToIntFunction<SampleBean> getAge = DynamicMethodFactory.generateFieldAccessor(
+                SampleBean.class.getField("age"), ToIntFunction.class);
+        // getAge is eldest and not used since
+        final BeanAccessor<SampleBean> accessor = DynamicMethodFactory.generateBeanAccessor(SampleBean.class);
+        Assertions.assertSame(accessor, DynamicMethodFactory.generateBeanAccessor(SampleBean.class));
+
+        final GeneratedClassCache.Stats after = cache.stats();
+        Assertions.assertEquals(2, after.misses() - before.misses());
+        Assertions.assertEquals(1, after.hits() - before.hits());
+        Assertions.assertEquals(1, after.evictions() - before.evictions());
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertNotSame(getAge, DynamicMethodFactory.generateFieldAccessor(
+                SampleBean.class.getField("age"), ToIntFunction.class));
+    }
+
+    @Test
+    public void disabled_always_generates() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        cache.setEnabled(false);
+
+        final Class<?> a = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        final Class<?> b = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+        Assertions.assertNotSame(a, b);
+    }
+
+    @Test
+    public void generator_may_generate_other_keys() {
+        final BindingKey outer = keyOf("myInt");
+        final BindingKey inner = keyOf("staticMyInt");
+
+        final Class<?> c = cache.get(outer, () -> {
+            Assertions.assertSame(Integer.class, cache.get(inner, () -> Integer.class));
+            return Long.class;
+        });
+
+        Assertions.assertSame(Long.class, c);
+        Assertions.assertTrue(cache.contains(inner));
+    }
+
+    @Test
+    public void recursive_generation_fails() {
+        final BindingKey key = keyOf("myInt");
+
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get(key, () -> cache.get(key, () -> Long.class)));
+        Assertions.assertFalse(cache.contains(key));
+    }
+
+    @Test
+    public void concurrent_miss_generates_once() throws Exception {
+        final BindingKey key = keyOf("myInt");
+        final AtomicInteger generated = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Class<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(key, () -> {
+                        generated.incrementAndGet();
+                        return Long.class;
+                    });
+                }));
+            }
+            start.countDown();
+            for (final Future<Class<?>> f : futures) {
+                Assertions.assertSame(Long.class, f.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(1, generated.get());
+    }
+
+    @Test
+    public void waiting_is_not_a_hit() throws Exception {
+        final BindingKey key = keyOf("myInt");
+        final CountDownLatch generating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final GeneratedClassCache.Stats before = cache.stats();
+
+        final Thread owner = new Thread(() -> cache.get(key, () -> {
+            generating.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Long.class;
+        }));
+        owner.start();
+        generating.await();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Class<?>> waiter = executor.submit(() -> cache.get(key, () -> Integer.class));
+            // the waiter parks on the pending generation
+            while (cache.stats().waits() == before.waits()) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            Assertions.assertSame(Long.class, waiter.get());
+        } finally {
+            executor.shutdown();
+        }
+        owner.join();
+
+        final GeneratedClassCache.Stats after = cache.stats();
+        Assertions.assertEquals(1, after.misses() - before.misses());
+        Assertions.assertEquals(1, after.waits() - before.waits());
+        Assertions.assertEquals(0, after.hits() - before.hits());
+    }
+
+    private static BindingKey keyOf(final String methodName) {
+        return new BindingKey(
+                SampleV.class,
+                MethodReflections.find(SampleV.class, methodName),
+                IntSupplier.class,
+                null,
+                null,
+                null,
+                DynamicMethodFactory.javaVersion,
+                DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+    }
+}
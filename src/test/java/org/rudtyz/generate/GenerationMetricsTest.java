@@ -0,0 +1,56 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleV;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.function.IntSupplier;
+
+public class GenerationMetricsTest {
+    private final GenerationMetrics metrics = DynamicMethodFactory.getGenerationMetrics();
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    public void generate_and_define() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final GenerationMetrics.Snapshot before = metrics.snapshot();
+        try (GenerationScope scope = new GenerationScope()) {
+            scope.generateClass(SampleV.class, myInt, IntSupplier.class);
+        }
+        final GenerationMetrics.Snapshot after = metrics.snapshot();
+
+        Assertions.assertEquals(1, after.classesGenerated() - before.classesGenerated());
+        Assertions.assertEquals(1, after.classesDefined() - before.classesDefined());
+        Assertions.assertTrue(after.bytecodeBytes() > before.bytecodeBytes());
+        Assertions.assertTrue(after.maxClassBytes() > 0);
+        Assertions.assertTrue(after.asmNanos() > before.asmNanos());
+        Assertions.assertTrue(after.averageClassBytes() > 0);
+    }
+
+    @Test
+    public void mbean() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(GenerationMetrics.OBJECT_NAME);
+        Assertions.assertTrue(metrics.registerMBean());
+        try {
+            Assertions.assertFalse(metrics.registerMBean());
+            final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+            DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+            Assertions.assertTrue((Long) server.getAttribute(name, "ClassesGenerated") > 0);
+            Assertions.assertNotNull(server.getAttribute(name, "CacheHits"));
+        } finally {
+            Assertions.assertTrue(metrics.unregisterMBean());
+        }
+        Assertions.assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,95 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleI;
+import org.rudtyz.generate.obj0.SampleV;
+import org.rudtyz.generate.obj1.MyContext;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+public class GenerationScopeTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    public void scope_generate() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Method myString = MethodReflections.find(SampleV.class, "myString");
+        try (GenerationScope scope = new GenerationScope()) {
+            final Class<? extends IntSupplier> a = scope.generateClass(SampleV.class, myInt, IntSupplier.class);
+            final Class<? extends IntSupplier> b = scope.generateClass(SampleV.class, myInt, IntSupplier.class);
+            final Class<? extends Supplier> c = scope.generateClass(SampleV.class, myString, Supplier.class);
+
+            Assertions.assertSame(a, b);
+            Assertions.assertNotSame(DynamicMethodFactory.DynamicClassLoader.INSTANCE, a.getClassLoader());
+            Assertions.assertSame(a.getClassLoader(), c.getClassLoader());
+            Assertions.assertEquals(2, scope.getClassCount());
+            Assertions.assertTrue(scope.getByteCount() > 0);
+
+            final IntSupplier o = MethodReflections.newInstance(a, new SampleV());
+            Assertions.assertEquals(42, o.getAsInt());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void generation_inside_generation() {
+        final Method staticMyIntToLong = MethodReflections.find(SampleI.class, "staticMyIntToLong");
+        final Method myString = MethodReflections.find(SampleV.class, "myString");
+        try (GenerationScope scope = new GenerationScope()) {
+            final List<Class<?>> inner = new ArrayList<>();
+            final Class<?> outer = scope.generateClass(SampleI.class, staticMyIntToLong, ToLongFunction.class, MyContext.class, null,
+                    (contextClass, callMethod, parameter, parameterIndex) -> {
+                        inner.add(scope.generateClass(SampleV.class, myString, Supplier.class));
+                        return contextClass.getMethod("getInt");
+                    });
+
+            Assertions.assertFalse(inner.isEmpty());
+            Assertions.assertSame(inner.get(0), scope.generateClass(SampleV.class, myString, Supplier.class));
+            Assertions.assertEquals(2, scope.getClassCount());
+            final ToLongFunction<MyContext> o = MethodReflections.newInstance(outer);
+            Assertions.assertEquals(42, o.applyAsLong(new MyContext()));
+        }
+    }
+
+    @Test
+    public void closed_scope() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final GenerationScope scope = new GenerationScope();
+        scope.close();
+
+        Assertions.assertTrue(scope.isClosed());
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> scope.generateClass(SampleV.class, myInt, IntSupplier.class));
+    }
+
+    @Test
+    public void close_unload() throws Exception {
+        final WeakReference<ClassLoader> ref = generateAndClose();
+        for (int i = 0; i < 20 && ref.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertNull(ref.get());
+    }
+
+    private static WeakReference<ClassLoader> generateAndClose() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        try (GenerationScope scope = new GenerationScope()) {
+            final Class<?> c = scope.generateClass(SampleV.class, myInt, IntSupplier.class);
+            return new WeakReference<>(c.getClassLoader());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleV;
+import org.rudtyz.generate.obj1.MyContext;
+import org.rudtyz.generate.obj1.SampleWithContext;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+public class HiddenClassDefinerTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.hidden());
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+    }
+
+    @Test
+    public void hidden_i() {
+        final IntSupplier o = MethodReflections.generateInstance(
+                new SampleV(),
+                "myInt",
+                IntSupplier.class);
+
+        Assertions.assertTrue(o.getClass().isHidden());
+        Assertions.assertEquals(42, o.getAsInt());
+    }
+
+    @Test
+    public void hidden_strong_context() {
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.hiddenStrong());
+        final Consumer<MyContext> o = MethodReflections.generateInstance(
+                new SampleWithContext(),
+                "context",
+                Consumer.class,
+                MyContext.class,
+                null);
+
+        Assertions.assertTrue(o.getClass().isHidden());
+        o.accept(new MyContext());
+    }
+
+    @Test
+    public void hidden_unload() throws Exception {
+        final WeakReference<Class<?>> ref = generateUnreachable();
+        for (int i = 0; i < 20 && ref.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertNull(ref.get());
+    }
+
+    private static WeakReference<Class<?>> generateUnreachable() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Class<?> generateClass = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        final IntSupplier o = MethodReflections.newInstance(generateClass, new SampleV());
+        Assertions.assertEquals(42, o.getAsInt());
+        return new WeakReference<>(generateClass);
+    }
+}
@@ -0,0 +1,149 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntSupplier;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+public class InvokerBackendTest {
+
+    public static class Calc {
+        private final int base;
+
+        public Calc(final int base) {
+            this.base = base;
+        }
+
+        public int base() {
+            return base;
+        }
+
+        public long plus(final long a, final Long b) {
+            return base + a + b;
+        }
+
+        public int length(final String s) {
+            return base + s.length();
+        }
+
+        public String text() {
+            return "calc" + base;
+        }
+
+        public static int fortyFive() {
+            return 45;
+        }
+
+        public int other(final Calc other) {
+            return base + other.base;
+        }
+    }
+
+    private static final List<InvokerBackend> backends = List.of(
+            InvokerBackend.asm(),
+            InvokerBackend.lambdaMetafactory(),
+            InvokerBackend.methodHandle(),
+            InvokerBackend.automatic());
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.setInvokerBackend(InvokerBackend.asm());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void same_result_every_backend() throws Exception {
+        for (final InvokerBackend backend : backends) {
+            DynamicMethodFactory.setInvokerBackend(backend);
+            final String message = backend.toString();
+
+            final InvokerFactory<Calc, IntSupplier> base = DynamicMethodFactory.generateFactory(
+                    Calc.class, Calc.class.getMethod("base"), IntSupplier.class);
+            Assertions.assertEquals(1, base.create(new Calc(1)).getAsInt(), message);
+            Assertions.assertEquals(2, base.create(new Calc(2)).getAsInt(), message);
+
+            final InvokerFactory<Calc, LongBinaryOperator> plus = DynamicMethodFactory.generateFactory(
+                    Calc.class, Calc.class.getMethod("plus", long.class, Long.class), LongBinaryOperator.class);
+            Assertions.assertEquals(15, plus.create(new Calc(10)).applyAsLong(2, 3), message);
+
+            final InvokerFactory<Calc, ToIntFunction> length = DynamicMethodFactory.generateFactory(
+                    Calc.class, Calc.class.getMethod("length", String.class), ToIntFunction.class);
+            Assertions.assertEquals(13, length.create(new Calc(10)).applyAsInt("abc"), message);
+
+            final InvokerFactory<Calc, Supplier> text = DynamicMethodFactory.generateFactory(
+                    Calc.class, Calc.class.getMethod("text"), Supplier.class);
+            Assertions.assertEquals("calc7", text.create(new Calc(7)).get(), message);
+
+            final InvokerFactory<Calc, IntSupplier> fortyFive = DynamicMethodFactory.generateFactory(
+                    Calc.class, Calc.class.getMethod("fortyFive"), IntSupplier.class);
+            Assertions.assertSame(fortyFive.create(null), fortyFive.create(new Calc(1)), message);
+            Assertions.assertEquals(45, fortyFive.create(null).getAsInt(), message);
+        }
+    }
+
+    @Test
+    public void direct_binding_rejects() {
+        for (final InvokerBackend backend : List.of(InvokerBackend.lambdaMetafactory(), InvokerBackend.methodHandle())) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> backend.factory(
+                    new BindingSpec(
+                            Calc.class,
+                            Calc.class.getMethod("other", Calc.class),
+                            IntSupplier.class,
+                            Calc.class,
+                            null,
+                            null)), backend.toString());
+
+            // applyAsInt(int, int) -> length(String), argument count differs
+            Assertions.assertThrows(IllegalArgumentException.class, () -> backend.factory(
+                    BindingSpec.of(Calc.class, Calc.class.getMethod("length", String.class), IntBinaryOperator.class)));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void automatic_by_shape() throws Exception {
+        DynamicMethodFactory.setInvokerBackend(InvokerBackend.automatic());
+
+        final InvokerFactory<Calc, IntSupplier> direct = DynamicMethodFactory.generateFactory(
+                Calc.class, Calc.class.getMethod("base"), IntSupplier.class);
+        Assertions.assertTrue(direct.create(new Calc(1)).getClass().isHidden());
+        Assertions.assertFalse(direct.create(new Calc(1)) instanceof InvokerFactory);
+
+        final InvokerFactory<Calc, Function> context = DynamicMethodFactory.generateFactory(
+                Calc.class,
+                Calc.class.getMethod("other", Calc.class),
+                Function.class,
+                Calc.class,
+                null,
+                null);
+        final Function<Calc, Object> f = context.create(new Calc(1));
+        Assertions.assertFalse(f.getClass().isHidden());
+        Assertions.assertEquals(3, f.apply(new Calc(2)));
+    }
+
+    @Test
+    public void automatic_metrics_asm() throws Exception {
+        DynamicMethodFactory.setInvokerBackend(InvokerBackend.automatic());
+        DynamicMethodFactory.setInvokerMetrics(true);
+        try {
+            final InvokerFactory<Calc, IntSupplier> direct = DynamicMethodFactory.generateFactory(
+                    Calc.class, Calc.class.getMethod("base"), IntSupplier.class);
+            Assertions.assertFalse(direct.create(new Calc(1)).getClass().isHidden());
+        } finally {
+            DynamicMethodFactory.setInvokerMetrics(false);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleV;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+public class InvokerFactoryTest {
+
+    public static class Holder {
+        private final String value;
+
+        public Holder(final String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+    }
+
+    public interface Creator {
+        Object create(Object o);
+    }
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void instance_create() throws Exception {
+        final InvokerFactory<Holder, Supplier> factory = DynamicMethodFactory.generateFactory(
+                Holder.class,
+                Holder.class.getMethod("value"),
+                Supplier.class);
+
+        final Supplier<String> a = factory.create(new Holder("a"));
+        final Supplier<String> b = factory.create(new Holder("b"));
+        Assertions.assertNotSame(a, b);
+        Assertions.assertEquals("a", a.get());
+        Assertions.assertEquals("b", b.get());
+        Assertions.assertNotSame(factory.getClass(), a.getClass());
+        Assertions.assertFalse(factory instanceof Supplier);
+
+        Assertions.assertSame(factory, DynamicMethodFactory.generateFactory(
+                Holder.class,
+                Holder.class.getMethod("value"),
+                Supplier.class));
+    }
+
+    @Test
+    public void static_singleton() throws Exception {
+        final InvokerFactory<SampleV, IntSupplier> factory = DynamicMethodFactory.generateFactory(
+                SampleV.class,
+                SampleV.class.getMethod("staticMyInt"),
+                IntSupplier.class);
+
+        final IntSupplier a = factory.create(null);
+        final IntSupplier b = factory.create(new SampleV());
+        Assertions.assertSame(a, b);
+        Assertions.assertNotSame(factory, a);
+        Assertions.assertEquals(45, a.getAsInt());
+    }
+
+    @Test
+    public void plain_class_not_factory() throws Exception {
+        final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(
+                SampleV.class,
+                SampleV.class.getMethod("staticMyInt"),
+                IntSupplier.class);
+        Assertions.assertFalse(InvokerFactory.class.isAssignableFrom(c));
+    }
+
+    @Test
+    public void create_name_of_interface() throws Exception {
+        final InvokerFactory<Holder, Creator> factory = DynamicMethodFactory.generateFactory(
+                Holder.class,
+                Holder.class.getMethod("value"),
+                Creator.class);
+
+        final Creator c = factory.create(new Holder("a"));
+        Assertions.assertEquals("a", c.create(null));
+    }
+
+    @Test
+    public void hidden_class_factory() throws Exception {
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.hidden());
+        try {
+            final InvokerFactory<Holder, Supplier> factory = DynamicMethodFactory.generateFactory(
+                    Holder.class,
+                    Holder.class.getMethod("value"),
+                    Supplier.class);
+
+            final Supplier<?> a = factory.create(new Holder("a"));
+            Assertions.assertTrue(a.getClass().isHidden());
+            Assertions.assertEquals("a", a.get());
+        } finally {
+            DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+        }
+    }
+}
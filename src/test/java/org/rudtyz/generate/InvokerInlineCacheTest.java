@@ -0,0 +1,81 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj1.SampleShape;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+public class InvokerInlineCacheTest {
+
+    private static final Method area;
+
+    static {
+        try {
+            area = SampleShape.class.getMethod("area", int.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+        ReceiverTypeProfile.of(SampleShape.class, area).reset();
+    }
+
+    private static IntUnaryOperator create(final List<Class<?>> receiverClasses, final SampleShape shape) throws Exception {
+        return DynamicMethodFactory.generateInlineCacheClass(SampleShape.class, area, IntUnaryOperator.class, receiverClasses)
+                .getConstructor(SampleShape.class)
+                .newInstance(shape);
+    }
+
+    @Test
+    public void call_each_receiver_class() throws Exception {
+        final List<Class<?>> receiverClasses = List.of(SampleShape.Square.class, SampleShape.Rectangle.class);
+        Assertions.assertEquals(9, create(receiverClasses, new SampleShape.Square()).applyAsInt(3));
+        Assertions.assertEquals(18, create(receiverClasses, new SampleShape.Rectangle()).applyAsInt(3));
+        Assertions.assertEquals(4, create(receiverClasses, new SampleShape.Triangle()).applyAsInt(3));
+
+        final Map<Class<?>, Long> counts = ReceiverTypeProfile.of(SampleShape.class, area).counts();
+        Assertions.assertEquals(Map.of(SampleShape.Triangle.class, 1L), counts);
+    }
+
+    @Test
+    public void rebuild_from_profile() throws Exception {
+        final ReceiverTypeProfile profile = ReceiverTypeProfile.of(SampleShape.class, area);
+        final IntUnaryOperator square = create(List.of(), new SampleShape.Square());
+        final IntUnaryOperator triangle = create(List.of(), new SampleShape.Triangle());
+        for (int i = 0; i < 10; ++i) {
+            square.applyAsInt(i);
+        }
+        triangle.applyAsInt(1);
+
+        final List<Class<?>> hot = profile.hotClasses(4);
+        Assertions.assertEquals(List.of(SampleShape.Square.class, SampleShape.Triangle.class), hot);
+        Assertions.assertEquals(List.of(SampleShape.Square.class), profile.hotClasses(1));
+
+        profile.reset();
+        Assertions.assertEquals(25, create(hot, new SampleShape.Square()).applyAsInt(5));
+        Assertions.assertEquals(12, create(hot, new SampleShape.Triangle()).applyAsInt(5));
+        Assertions.assertEquals(50, create(hot, new SampleShape.Rectangle()).applyAsInt(5));
+        Assertions.assertEquals(Map.of(SampleShape.Rectangle.class, 1L), profile.counts());
+    }
+
+    @Test
+    public void invalid_receiver_class() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateInlineCacheClass(
+                        SampleShape.class, area, IntUnaryOperator.class, List.of(String.class)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateInlineCacheClass(
+                        SampleShape.class, area, IntUnaryOperator.class, null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateInlineCacheClass(
+                        Math.class, Math.class.getMethod("abs", int.class), IntUnaryOperator.class, List.of()));
+    }
+}
@@ -0,0 +1,103 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleM;
+import org.rudtyz.generate.obj0.SampleV;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+import java.util.function.LongUnaryOperator;
+
+public class InvokerMetricsTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+        DynamicMethodFactory.setInvokerMetrics(true);
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.setInvokerMetrics(false);
+    }
+
+    @Test
+    public void calls_and_latency() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Class<? extends IntSupplier> c = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        final IntSupplier o = MethodReflections.newInstance(c, new SampleV());
+        for (int i = 0; i < 3; ++i) {
+            Assertions.assertEquals(42, o.getAsInt());
+        }
+
+        final InvokerMetrics.Snapshot s = InvokerMetrics.of(c.getName()).snapshot();
+        Assertions.assertEquals(SampleV.class.getName() + ".myInt", s.target());
+        Assertions.assertEquals(3, s.calls());
+        Assertions.assertEquals(0, s.errors());
+        Assertions.assertEquals(3, s.latency().count());
+        Assertions.assertTrue(s.latency().percentile(50) >= 0);
+        Assertions.assertTrue(InvokerMetrics.snapshots().stream().anyMatch(m -> m.className().equals(c.getName())));
+    }
+
+    @Test
+    public void errors() {
+        final Method fail = MethodReflections.find(SampleM.class, "fail");
+        final Class<? extends LongUnaryOperator> c = DynamicMethodFactory.generateClass(SampleM.class, fail, LongUnaryOperator.class);
+        final LongUnaryOperator o = MethodReflections.newInstance(c, new SampleM());
+
+        final IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, () -> o.applyAsLong(7));
+        Assertions.assertEquals("fail 7", e.getMessage());
+
+        final InvokerMetrics.Snapshot s = InvokerMetrics.of(c.getName()).snapshot();
+        Assertions.assertEquals(1, s.calls());
+        Assertions.assertEquals(1, s.errors());
+        Assertions.assertEquals(1, s.latency().count());
+    }
+
+    @Test
+    public void scope_close_unregisters() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Class<? extends IntSupplier> c;
+        try (GenerationScope scope = new GenerationScope()) {
+            c = scope.generateClass(SampleV.class, myInt, IntSupplier.class);
+            final IntSupplier o = MethodReflections.newInstance(c, new SampleV());
+            Assertions.assertEquals(42, o.getAsInt());
+            Assertions.assertEquals(1, InvokerMetrics.of(c).snapshot().calls());
+        }
+
+        Assertions.assertNull(InvokerMetrics.of(c));
+        Assertions.assertTrue(InvokerMetrics.all().stream().noneMatch(m -> m.getClassName().equals(c.getName())));
+    }
+
+    @Test
+    public void off_no_instrumentation() {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Class<?> on = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+        DynamicMethodFactory.setInvokerMetrics(false);
+        final Class<?> off = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+
+        Assertions.assertNotSame(on, off);
+        Assertions.assertTrue(Arrays.stream(off.getDeclaredFields()).noneMatch(f -> Modifier.isStatic(f.getModifiers())));
+        Assertions.assertNull(InvokerMetrics.of(off.getName()));
+    }
+
+    @Test
+    public void histogram_percentile() {
+        final LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 99; ++i) {
+            h.record(100);
+        }
+        h.record(1_000_000);
+
+        final LatencyHistogram.Snapshot s = h.snapshot();
+        Assertions.assertEquals(100, s.count());
+        Assertions.assertEquals(127, s.percentile(50));
+        Assertions.assertEquals(127, s.percentile(99));
+        Assertions.assertEquals((1L << 20) - 1, s.percentile(100));
+    }
+}
@@ -0,0 +1,84 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj4.SampleHandler;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.function.IntUnaryOperator;
+import java.util.function.UnaryOperator;
+
+public class LookupClassDefinerTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void nestmate_private_method() throws Exception {
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.nestmate(MethodHandles.lookup()));
+
+        final Method handle = SampleHandler.class.getDeclaredMethod("handle", int.class);
+        final Class<? extends IntUnaryOperator> c = DynamicMethodFactory.generateClass(SampleHandler.class, handle, IntUnaryOperator.class);
+        Assertions.assertTrue(c.isHidden());
+        Assertions.assertSame(SampleHandler.class.getNestHost(), c.getNestHost());
+
+        final IntUnaryOperator o = c.getConstructor(SampleHandler.class).newInstance(new SampleHandler());
+        Assertions.assertEquals(3, o.applyAsInt(3));
+        Assertions.assertEquals(7, o.applyAsInt(4));
+
+        final Method echo = SampleHandler.class.getDeclaredMethod("echo", String.class);
+        final UnaryOperator<String> e = (UnaryOperator<String>) DynamicMethodFactory.generateClass(SampleHandler.class, echo, UnaryOperator.class)
+                .getConstructor()
+                .newInstance();
+        Assertions.assertEquals("abab", e.apply("ab"));
+    }
+
+    @Test
+    public void same_package_class() throws Exception {
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.samePackage(MethodHandles.lookup()));
+
+        final Object handler = SampleHandler.newPackageHandler();
+        final Class<?> handlerClass = handler.getClass();
+        final Method handle = handlerClass.getDeclaredMethod("handle", int.class);
+        final Class<? extends IntUnaryOperator> c = DynamicMethodFactory.generateClass(handlerClass, handle, IntUnaryOperator.class);
+        Assertions.assertFalse(c.isHidden());
+        Assertions.assertEquals(handlerClass.getPackageName(), c.getPackageName());
+        Assertions.assertSame(handlerClass.getClassLoader(), c.getClassLoader());
+
+        final IntUnaryOperator o = c.getConstructor(handlerClass).newInstance(handler);
+        Assertions.assertEquals(10, o.applyAsInt(5));
+    }
+
+    @Test
+    public void same_package_private_method_fails() throws Exception {
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.samePackage(MethodHandles.lookup()));
+
+        final Method handle = SampleHandler.class.getDeclaredMethod("handle", int.class);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DynamicMethodFactory.generateClass(SampleHandler.class, handle, IntUnaryOperator.class));
+    }
+
+    @Test
+    public void equal_lookups_share_class() throws Exception {
+        final Method handle = SampleHandler.class.getDeclaredMethod("handle", int.class);
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.nestmate(MethodHandles.lookup()));
+        final Class<?> a = DynamicMethodFactory.generateClass(SampleHandler.class, handle, IntUnaryOperator.class);
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.nestmate(MethodHandles.lookup()));
+        final Class<?> b = DynamicMethodFactory.generateClass(SampleHandler.class, handle, IntUnaryOperator.class);
+
+        Assertions.assertEquals(ClassDefiner.nestmate(MethodHandles.lookup()), ClassDefiner.nestmate(MethodHandles.lookup()));
+        Assertions.assertNotEquals(ClassDefiner.nestmate(MethodHandles.lookup()), ClassDefiner.samePackage(MethodHandles.lookup()));
+        Assertions.assertSame(a, b);
+    }
+}
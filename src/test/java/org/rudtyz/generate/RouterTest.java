@@ -0,0 +1,98 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj1.MyContext;
+import org.rudtyz.generate.obj1.SampleRouter;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RouterTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+    }
+
+    @Test
+    public void route() {
+        final Map<String, Method> routes = new LinkedHashMap<>();
+        routes.put("login", MethodReflections.find(SampleRouter.class, "login"));
+        routes.put("quit", MethodReflections.find(SampleRouter.class, "quit"));
+        routes.put("count", MethodReflections.find(SampleRouter.class, "count"));
+        routes.put("version", MethodReflections.find(SampleRouter.class, "version"));
+        // "Aa".hashCode() == "BB".hashCode()
+        routes.put("Aa", MethodReflections.find(SampleRouter.class, "echo"));
+        routes.put("BB", MethodReflections.find(SampleRouter.class, "echo"));
+
+        final ParameterDispatcher dispatcher = (contextClass, callMethod, parameter, parameterIndex) ->
+                MethodReflections.find(contextClass, "getInt");
+        final Class<? extends Router<MyContext>> c = DynamicMethodFactory.generateRouter(
+                SampleRouter.class,
+                routes,
+                MyContext.class,
+                dispatcher);
+
+        final SampleRouter sample = new SampleRouter();
+        final Router<MyContext> router = MethodReflections.newInstance(c, sample);
+        final MyContext context = new MyContext();
+
+        Assertions.assertEquals("login", router.route("login", context));
+        Assertions.assertNull(router.route("quit", context));
+        Assertions.assertEquals(1, sample.quitCount);
+        Assertions.assertEquals(43, router.route("count", context));
+        Assertions.assertEquals(7L, router.route("version", context));
+        Assertions.assertEquals("Aa", router.route("Aa", context));
+        Assertions.assertEquals("BB", router.route("BB", context));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> router.route("Ab", context));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> router.route("missing", context));
+    }
+
+    @Test
+    public void static_route() throws Exception {
+        final Class<? extends Router<Object>> c = DynamicMethodFactory.generateRouter(
+                SampleRouter.class,
+                Map.of("version", MethodReflections.find(SampleRouter.class, "version")));
+
+        final Router<Object> router = c.getConstructor().newInstance();
+        Assertions.assertEquals(7L, router.route("version", null));
+    }
+
+    @Test
+    public void key_parameter() {
+        final Map<String, Method> routes = new LinkedHashMap<>();
+        routes.put("keyed", MethodReflections.find(SampleRouter.class, "keyed"));
+        routes.put("keyAndContext", MethodReflections.find(SampleRouter.class, "keyAndContext"));
+        final Class<? extends Router<MyContext>> c = DynamicMethodFactory.generateRouter(
+                SampleRouter.class,
+                routes,
+                MyContext.class,
+                null);
+
+        final Router<MyContext> router = MethodReflections.newInstance(c, new SampleRouter());
+        Assertions.assertEquals("keyed", router.route("keyed", new MyContext()));
+        Assertions.assertEquals("keyAndContext42", router.route("keyAndContext", new MyContext()));
+    }
+
+    @Test
+    public void null_key() {
+        final Class<? extends Router<Object>> c = DynamicMethodFactory.generateRouter(
+                SampleRouter.class,
+                Map.of("version", MethodReflections.find(SampleRouter.class, "version")));
+
+        final Router<Object> router = MethodReflections.newInstance(c);
+        final IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> router.route(null, null));
+        Assertions.assertEquals("route key is null", e.getMessage());
+    }
+
+    @Test
+    public void not_a_method_of_call_object() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DynamicMethodFactory.generateRouter(
+                SampleRouter.class,
+                Map.of("getInt", MethodReflections.find(MyContext.class, "getInt"))));
+    }
+}
@@ -0,0 +1,59 @@
+package org.rudtyz.generate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rudtyz.generate.obj0.SampleV;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntSupplier;
+
+public class ShardedClassDefinerTest {
+
+    @BeforeEach
+    public void before() {
+        DynamicMethodFactory.setGenerateClassJavaVersion(21);
+        DynamicMethodFactory.getGeneratedClassCache().setEnabled(false);
+        DynamicMethodFactory.setClassDefiner(ClassDefiner.sharded(4));
+    }
+
+    @AfterEach
+    public void after() {
+        DynamicMethodFactory.setClassDefiner(DynamicMethodFactory.DynamicClassLoader.INSTANCE);
+        DynamicMethodFactory.getGeneratedClassCache().setEnabled(true);
+    }
+
+    @Test
+    public void concurrent_define() throws Exception {
+        final Method myInt = MethodReflections.find(SampleV.class, "myInt");
+        final Set<ClassLoader> loaders = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; ++i) {
+                futures.add(executor.submit(() -> {
+                    final Class<?> c = DynamicMethodFactory.generateClass(SampleV.class, myInt, IntSupplier.class);
+                    final IntSupplier o = MethodReflections.newInstance(c, new SampleV());
+                    Assertions.assertEquals(42, o.getAsInt());
+                    loaders.add(c.getClassLoader());
+                }));
+            }
+            for (final Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertTrue(loaders.size() > 1);
+        Assertions.assertTrue(loaders.size() <= 4);
+    }
+}
@@ -0,0 +1,60 @@
+package org.rudtyz.generate.obj0;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SampleA {
+    private volatile Thread lastThread;
+    private final AtomicInteger findCount = new AtomicInteger();
+
+    public String find(long id) {
+        System.out.println("find: " + id);
+        lastThread = Thread.currentThread();
+        findCount.incrementAndGet();
+        return "user" + id;
+    }
+
+    public void touch() {
+        System.out.println("touch");
+        lastThread = Thread.currentThread();
+    }
+
+    public long fail(long id) {
+        System.out.println("fail: " + id);
+        throw new IllegalStateException("fail " + id);
+    }
+
+    public static int version() {
+        System.out.println("version");
+        return 2;
+    }
+
+    public CompletableFuture<String> findAsync(long id) {
+        System.out.println("findAsync: " + id);
+        return CompletableFuture.completedFuture("user" + id);
+    }
+
+    public CompletionStage<Integer> countAsync() {
+        System.out.println("countAsync");
+        return CompletableFuture.completedStage(3);
+    }
+
+    public CompletableFuture<Long> failAsync() {
+        System.out.println("failAsync");
+        return CompletableFuture.failedFuture(new IllegalStateException("failAsync"));
+    }
+
+    public CompletableFuture<String> never() {
+        System.out.println("never");
+        return new CompletableFuture<>();
+    }
+
+    public Thread getLastThread() {
+        return lastThread;
+    }
+
+    public int getFindCount() {
+        return findCount.get();
+    }
+}
@@ -0,0 +1,32 @@
+package org.rudtyz.generate.obj0;
+
+public class SampleM {
+    public String find(long id) {
+        System.out.println("find: " + id);
+        return "user" + id;
+    }
+
+    public int count() {
+        System.out.println("count");
+        return 3;
+    }
+
+    public int total() {
+        System.out.println("total");
+        return 7;
+    }
+
+    public void clear() {
+        System.out.println("clear");
+    }
+
+    public long fail(long id) {
+        System.out.println("fail: " + id);
+        throw new IllegalStateException("fail " + id);
+    }
+
+    public static String version() {
+        System.out.println("version");
+        return "1.0";
+    }
+}
@@ -0,0 +1,30 @@
+package org.rudtyz.generate.obj0;
+
+public class SampleN {
+    public String last;
+
+    public String handle(String request, long deadline, int retry) {
+        System.out.println("handle: " + request + " " + deadline + " " + retry);
+        return request + ":" + deadline + ":" + retry;
+    }
+
+    public long sum(int a, long b, double c, int d) {
+        System.out.println("sum: " + a + " " + b + " " + c + " " + d);
+        return a + b + (long) c + d;
+    }
+
+    public String swap(int count, String name) {
+        System.out.println("swap: " + count + " " + name);
+        return name + count;
+    }
+
+    public String user(String request, int user) {
+        System.out.println("user: " + request + " " + user);
+        return request + user;
+    }
+
+    public void put(String key, int value) {
+        System.out.println("put: " + key + " " + value);
+        last = key + "=" + value;
+    }
+}
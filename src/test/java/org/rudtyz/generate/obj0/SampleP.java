@@ -0,0 +1,33 @@
+package org.rudtyz.generate.obj0;
+
+public class SampleP {
+    public long myLong(long a) {
+        System.out.println("myLong: " + a);
+        return a;
+    }
+
+    public int myInteger(Integer a) {
+        System.out.println("myInteger: " + a);
+        return a;
+    }
+
+    public Integer myBoxed() {
+        System.out.println("myBoxed");
+        return 42;
+    }
+
+    public Object myNumber() {
+        System.out.println("myNumber");
+        return 42;
+    }
+
+    public double myDouble(int a) {
+        System.out.println("myDouble: " + a);
+        return a;
+    }
+
+    public String myString(String s) {
+        System.out.println("myString: " + s);
+        return s;
+    }
+}
@@ -0,0 +1,11 @@
+package org.rudtyz.generate.obj1;
+
+public class CountingContext extends MyContext {
+    public int getIntCount;
+
+    @Override
+    public int getInt() {
+        ++getIntCount;
+        return super.getInt();
+    }
+}
@@ -0,0 +1,29 @@
+package org.rudtyz.generate.obj1;
+
+public class SampleBulk {
+    private long sum;
+
+    public void add(String s) {
+        sum += s.length();
+    }
+
+    public int length(String s) {
+        return s.length();
+    }
+
+    public String upper(String s) {
+        return s.toUpperCase();
+    }
+
+    public void context(MyContext context, int a) {
+        sum += a;
+    }
+
+    public void add(int a) {
+        sum += a;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+}
@@ -0,0 +1,43 @@
+package org.rudtyz.generate.obj1;
+
+import java.util.Objects;
+
+public class SampleRouter {
+    public int quitCount;
+
+    public String login(MyContext context) {
+        Objects.requireNonNull(context);
+        System.out.println("login");
+        return "login";
+    }
+
+    public void quit() {
+        System.out.println("quit");
+        ++quitCount;
+    }
+
+    public int count(int a) {
+        System.out.println("count: " + a);
+        return a + 1;
+    }
+
+    public String echo(String key) {
+        System.out.println("echo: " + key);
+        return key;
+    }
+
+    public Object keyed(Object key) {
+        System.out.println("keyed: " + key);
+        return key;
+    }
+
+    public String keyAndContext(String key, MyContext context) {
+        System.out.println("keyAndContext: " + key);
+        return key + context.getInt();
+    }
+
+    public static long version() {
+        System.out.println("version");
+        return 7L;
+    }
+}
@@ -0,0 +1,27 @@
+package org.rudtyz.generate.obj1;
+
+public abstract class SampleShape {
+
+    public abstract int area(int scale);
+
+    public static class Square extends SampleShape {
+        @Override
+        public int area(int scale) {
+            return scale * scale;
+        }
+    }
+
+    public static class Rectangle extends SampleShape {
+        @Override
+        public int area(int scale) {
+            return 2 * scale * scale;
+        }
+    }
+
+    public static class Triangle extends SampleShape {
+        @Override
+        public int area(int scale) {
+            return scale * scale / 2;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.rudtyz.generate.obj1;
+
+import java.util.Objects;
+
+public class SampleWide {
+    public String wide(int a, String s, int b, MyContext context, String t, long c) {
+        Objects.requireNonNull(context);
+        System.out.println("wide: " + a + " " + s + " " + b + " " + t + " " + c);
+        return a + s + b + t + c;
+    }
+}
@@ -0,0 +1,35 @@
+package org.rudtyz.generate.obj3;
+
+import org.rudtyz.generate.ParameterDispatcher;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * every parameter from the same no argument getter of the context
+ */
+public class AotDispatcher implements ParameterDispatcher {
+    private final String getter;
+
+    public AotDispatcher() {
+        this("getInt");
+    }
+
+    public AotDispatcher(final String getter) {
+        this.getter = getter;
+    }
+
+    @Override
+    public Method parameterDispatch(
+            final Class<?> contextClass,
+            final Method callMethod,
+            final Parameter parameter,
+            final int parameterIndex) throws NoSuchMethodException {
+        return contextClass.getMethod(getter);
+    }
+
+    @Override
+    public String stableId() {
+        return getter;
+    }
+}
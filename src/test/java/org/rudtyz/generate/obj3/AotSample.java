@@ -0,0 +1,26 @@
+package org.rudtyz.generate.obj3;
+
+import org.rudtyz.generate.DynamicBinding;
+import org.rudtyz.generate.obj1.MyContext;
+
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+public class AotSample {
+    @DynamicBinding(interfaceClass = IntSupplier.class)
+    public int aotInt() {
+        System.out.println("aotInt");
+        return 42;
+    }
+
+    @DynamicBinding(interfaceClass = Consumer.class, contextClass = MyContext.class)
+    public void aotContext(MyContext context) {
+        System.out.println("aotContext");
+    }
+
+    @DynamicBinding(interfaceClass = ToIntFunction.class, contextClass = MyContext.class, parameterDispatcher = AotDispatcher.class)
+    public int aotDispatch(int value) {
+        return value;
+    }
+}
@@ -0,0 +1,5 @@
+package org.rudtyz.generate.obj4;
+
+public class SampleBase {
+    public long id;
+}
@@ -0,0 +1,16 @@
+package org.rudtyz.generate.obj4;
+
+public class SampleBean extends SampleBase {
+    public static int created;
+
+    public int age;
+    public String name;
+    public double score;
+    public Integer level;
+    public final String kind = "bean";
+    private int secret;
+
+    public int getSecret() {
+        return secret;
+    }
+}
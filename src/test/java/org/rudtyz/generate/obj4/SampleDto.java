@@ -0,0 +1,40 @@
+package org.rudtyz.generate.obj4;
+
+public class SampleDto {
+    private int age;
+    private String name;
+    private boolean active;
+    private Integer level;
+    private String memo;
+
+    public SampleDto() {
+    }
+
+    public SampleDto(int age, String name, boolean active, Integer level, String memo) {
+        this.age = age;
+        this.name = name;
+        this.active = active;
+        this.level = level;
+        this.memo = memo;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Integer getLevel() {
+        return level;
+    }
+
+    public String getMemo() {
+        return memo;
+    }
+}
@@ -0,0 +1,27 @@
+package org.rudtyz.generate.obj4;
+
+public class SampleHandler {
+    private int count;
+
+    private int handle(int a) {
+        count += a;
+        return count;
+    }
+
+    private static String echo(String s) {
+        return s + s;
+    }
+
+    /**
+     * package private class of this package
+     */
+    public static Object newPackageHandler() {
+        return new PackageHandler();
+    }
+}
+
+class PackageHandler {
+    int handle(int a) {
+        return a * 2;
+    }
+}
@@ -0,0 +1,37 @@
+package org.rudtyz.generate.obj4;
+
+public class SamplePoint {
+    private final int x;
+    private final long y;
+    private final String label;
+
+    public SamplePoint() {
+        this(0, 0, "origin");
+    }
+
+    public SamplePoint(int x, long y, String label) {
+        this.x = x;
+        this.y = y;
+        this.label = label;
+    }
+
+    public SamplePoint(String label) {
+        this(0, 0, label);
+    }
+
+    public static SamplePoint of(int x, long y) {
+        return new SamplePoint(x, y, "of");
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public long getY() {
+        return y;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
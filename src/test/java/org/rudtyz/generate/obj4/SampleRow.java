@@ -0,0 +1,15 @@
+package org.rudtyz.generate.obj4;
+
+public class SampleRow {
+    public int getX() {
+        return 3;
+    }
+
+    public long getY() {
+        return 4;
+    }
+
+    public String getLabel() {
+        return "row";
+    }
+}
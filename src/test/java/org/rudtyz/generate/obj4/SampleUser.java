@@ -0,0 +1,54 @@
+package org.rudtyz.generate.obj4;
+
+public class SampleUser {
+    private long age;
+    private String name;
+    private boolean active;
+    private int level;
+    private String email = "none";
+
+    public long getAge() {
+        return age;
+    }
+
+    public void setAge(long age) {
+        this.age = age;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SampleUser setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public void setLevel(String level) {
+        this.level = Integer.parseInt(level);
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+}
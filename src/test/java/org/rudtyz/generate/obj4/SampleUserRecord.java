@@ -0,0 +1,4 @@
+package org.rudtyz.generate.obj4;
+
+public record SampleUserRecord(String name, long age, Integer level, String email) {
+}